@@ -1,9 +1,22 @@
 package com.project.taskmanager;
 
 import org.springframework.boot.SpringApplication;
-import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationExcludeFilter;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
 
-@SpringBootApplication
+//@SpringBootApplication spelled out, so the reactive variant (its own application, built with -Preactive)
+//is never scanned into the servlet one and R2DBC stays off even when it is on the classpath
+@SpringBootConfiguration
+@EnableAutoConfiguration(exclude = R2dbcAutoConfiguration.class)
+@ComponentScan(excludeFilters = {
+        @ComponentScan.Filter(type = FilterType.CUSTOM, classes = TypeExcludeFilter.class),
+        @ComponentScan.Filter(type = FilterType.CUSTOM, classes = AutoConfigurationExcludeFilter.class),
+        @ComponentScan.Filter(type = FilterType.REGEX, pattern = "com\\.project\\.taskmanager\\.reactive\\..*")})
 public class TaskManagerApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,172 @@
+package com.project.taskmanager.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.taskmanager.dto.TaskResponse;
+import com.project.taskmanager.enums.Status;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+//Read-through cache of mapped task list pages, bounded and expired by Caffeine so concurrent reads never queue
+//on a shared lock. Every entry remembers the version of the user and/or status it was built from; task writes bump those versions (every user's or every status's when the write does not know which),
+//so a page is rebuilt on the first read after a write that could have changed it.
+//Versions are bumped after commit and read before the query runs, so a page built from data that a write has
+//since replaced carries an old version and is never served again.
+@Component
+public class TaskPageCache implements MeterBinder {
+
+    //userId and status are the filters the page depends on; null means the page spans all users or all statuses
+    public record Key(String endpoint, Integer userId, Status status, String filter, Pageable pageable) {
+    }
+
+    private final boolean enabled;
+
+    //versions only ever grow, so their sum changes whenever any of them does
+    private final AtomicLong allVersion = new AtomicLong();
+    private final AtomicLong everyUserVersion = new AtomicLong();
+    private final AtomicLong everyStatusVersion = new AtomicLong();
+    private final Map<Integer, AtomicLong> userVersions = new ConcurrentHashMap<>();
+    private final Map<Status, AtomicLong> statusVersions = new EnumMap<>(Status.class);
+
+    private final Cache<Key, CachedPage> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public TaskPageCache(@Value("${task.page-cache.enabled:true}") boolean enabled,
+                         @Value("${task.page-cache.max-size:1000}") int maxSize,
+                         @Value("${task.page-cache.ttl:60s}") Duration ttl) {
+        this.enabled = enabled;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        for (Status status : Status.values()) {
+            statusVersions.put(status, new AtomicLong());
+        }
+    }
+
+    public Page<TaskResponse> get(Key key, Supplier<Page<TaskResponse>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        long version = version(key);
+        CachedPage cached = entries.getIfPresent(key);
+        if (cached != null && cached.version == version) {
+            hits.increment();
+            return cached.page;
+        }
+        misses.increment();
+        Page<TaskResponse> page = loader.get();
+        entries.put(key, new CachedPage(page, version));
+        return page;
+    }
+
+    //the cached page if it is still current, else null; never loads, so callers can fall back to something cheaper
+    public Page<TaskResponse> getIfCurrent(Key key) {
+        if (!enabled) {
+            return null;
+        }
+        CachedPage cached = entries.getIfPresent(key);
+        return cached != null && cached.version == version(key) ? cached.page : null;
+    }
+
+    //call from every task write; null userId or status means the write may have touched any of them
+    public void tasksChanged(Integer userId, Status status) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(userId, status);
+                }
+            });
+        } else {
+            bump(userId, status);
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long size() {
+        return entries.estimatedSize();
+    }
+
+    //runs pending evictions now instead of on a later cache operation; for tests
+    void cleanUp() {
+        entries.cleanUp();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("task.page.cache.requests", this, TaskPageCache::getHitCount)
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("task.page.cache.requests", this, TaskPageCache::getMissCount)
+                .tag("result", "miss").register(registry);
+        Gauge.builder("task.page.cache.size", this, TaskPageCache::size)
+                .register(registry);
+    }
+
+    private void bump(Integer userId, Status status) {
+        allVersion.incrementAndGet();
+        if (userId != null) {
+            userVersion(userId).incrementAndGet();
+        } else {
+            everyUserVersion.incrementAndGet();
+        }
+        if (status != null) {
+            statusVersions.get(status).incrementAndGet();
+        } else {
+            everyStatusVersion.incrementAndGet();
+        }
+    }
+
+    private long version(Key key) {
+        if (key.userId() == null && key.status() == null) {
+            return allVersion.get();
+        }
+        long version = 0;
+        if (key.userId() != null) {
+            version += everyUserVersion.get() + userVersion(key.userId()).get();
+        }
+        if (key.status() != null) {
+            version += everyStatusVersion.get() + statusVersions.get(key.status()).get();
+        }
+        return version;
+    }
+
+    private AtomicLong userVersion(Integer userId) {
+        return userVersions.computeIfAbsent(userId, id -> new AtomicLong());
+    }
+
+    private static class CachedPage {
+        private final Page<TaskResponse> page;
+        private final long version;
+
+        private CachedPage(Page<TaskResponse> page, long version) {
+            this.page = page;
+            this.version = version;
+        }
+    }
+}
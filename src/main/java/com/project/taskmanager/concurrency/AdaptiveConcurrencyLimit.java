@@ -0,0 +1,129 @@
+package com.project.taskmanager.concurrency;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+//Gradient-style limit on in-flight requests. A short and a long moving average of latency are compared: while
+//recent latency stays within TOLERANCE of the baseline the limit grows by about sqrt(limit) per sample, and once
+//requests start queueing (on threads or connections) the ratio drops below 1 and the limit shrinks with it.
+//Requests over the limit are turned away at once instead of queueing behind the ones already waiting.
+public class AdaptiveConcurrencyLimit {
+
+    //how far recent latency may rise above the baseline before the limit shrinks
+    private static final double TOLERANCE = 1.5;
+    //share of each new estimate taken into the limit, to ride out single slow requests
+    private static final double SMOOTHING = 0.2;
+    //applied on failures, which say nothing about latency but usually mean a timeout further down
+    private static final double BACKOFF = 0.9;
+    private static final int SHORT_WINDOW = 10;
+    private static final int LONG_WINDOW = 600;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile int limit;
+
+    //guarded by this
+    private double estimatedLimit;
+    private double shortRtt;
+    private double longRtt;
+    private long samples;
+
+    public AdaptiveConcurrencyLimit(String name, int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limit " + name + " needs 1 <= min <= initial <= max.");
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    //returns null, and counts a rejection, if the limit is reached
+    public Permit tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(current + 1);
+            }
+        }
+    }
+
+    synchronized void onSample(long rttNanos, int inFlightAtStart, boolean succeeded) {
+        if (!succeeded) {
+            estimatedLimit = Math.max(minLimit, estimatedLimit * BACKOFF);
+            limit = (int) estimatedLimit;
+            return;
+        }
+        samples++;
+        if (samples == 1) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+        } else {
+            shortRtt += (rttNanos - shortRtt) / SHORT_WINDOW;
+            longRtt += (rttNanos - longRtt) / Math.min(samples, LONG_WINDOW);
+        }
+        //the baseline follows a sustained overload upwards; pull it back once latency has dropped again
+        if (longRtt > 2 * shortRtt) {
+            longRtt *= 0.95;
+        }
+        //a lane using under half its limit is not what is holding latency up, and says nothing about more load
+        if (inFlightAtStart < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        double next = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit * (1 - SMOOTHING) + next * SMOOTHING));
+        limit = (int) estimatedLimit;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    //one admitted request; exactly one of release/ignore frees its slot, later calls do nothing
+    public final class Permit {
+        private final int inFlightAtStart;
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private Permit(int inFlightAtStart) {
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        public void release(boolean succeeded) {
+            if (done.compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+                onSample(System.nanoTime() - startNanos, inFlightAtStart, succeeded);
+            }
+        }
+
+        //frees the slot without a sample, for requests whose duration is not a sign of load (long streams)
+        public void ignore() {
+            if (done.compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+}
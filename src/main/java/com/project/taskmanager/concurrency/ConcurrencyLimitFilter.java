@@ -0,0 +1,175 @@
+package com.project.taskmanager.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.taskmanager.enums.TrafficClass;
+import com.project.taskmanager.exception.ErrorResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+//Load shedding: admits at most an adaptive number of concurrent API requests per lane and answers the rest with
+//503 and Retry-After straight away, instead of letting them queue on Tomcat and Hikari until they all time out.
+//Reads and writes have separate limits, so a run of bulk writes cannot crowd out cheap GETs, and the admin
+//list/search scans (TrafficClass.ADMIN_SCAN) have a third, small one, so they can only ever hold a few request threads.
+@Slf4j
+@Component
+//ahead of the Spring Security chain, so a shed request costs no token check or user lookup in JwtAuthenticationFilter
+@Order(ConcurrencyLimitFilter.ORDER)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter implements MeterBinder {
+
+    public static final int ORDER = SecurityProperties.DEFAULT_FILTER_ORDER - 10;
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final boolean enabled;
+    private final AdaptiveConcurrencyLimit readLimit;
+    private final AdaptiveConcurrencyLimit writeLimit;
+    private final AdaptiveConcurrencyLimit adminScanLimit;
+    private final String retryAfterSeconds;
+    private final ObjectMapper objectMapper;
+
+    public ConcurrencyLimitFilter(@Value("${concurrency-limit.enabled:true}") boolean enabled,
+                                  @Value("${concurrency-limit.min-limit:4}") int minLimit,
+                                  @Value("${concurrency-limit.read.initial-limit:100}") int readInitialLimit,
+                                  @Value("${concurrency-limit.read.max-limit:400}") int readMaxLimit,
+                                  @Value("${concurrency-limit.write.initial-limit:20}") int writeInitialLimit,
+                                  @Value("${concurrency-limit.write.max-limit:100}") int writeMaxLimit,
+                                  @Value("${concurrency-limit.admin-scan.initial-limit:4}") int adminScanInitialLimit,
+                                  @Value("${concurrency-limit.admin-scan.max-limit:8}") int adminScanMaxLimit,
+                                  @Value("${concurrency-limit.retry-after:1s}") Duration retryAfter,
+                                  ObjectMapper objectMapper) {
+        this.enabled = enabled;
+        this.readLimit = new AdaptiveConcurrencyLimit("read", readInitialLimit, minLimit, readMaxLimit);
+        this.writeLimit = new AdaptiveConcurrencyLimit("write", writeInitialLimit, minLimit, writeMaxLimit);
+        this.adminScanLimit = new AdaptiveConcurrencyLimit("admin-scan", adminScanInitialLimit,
+                Math.min(minLimit, adminScanInitialLimit), adminScanMaxLimit);
+        this.retryAfterSeconds = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+        this.objectMapper = objectMapper;
+    }
+
+    //health checks must answer under load, and docs and static resources are not worth limiting
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !enabled || !path.startsWith("/api/") || path.equals("/api/health");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        AdaptiveConcurrencyLimit limit = laneFor(request);
+        AdaptiveConcurrencyLimit.Permit permit = limit.tryAcquire();
+        if (permit == null) {
+            shed(request, response, limit);
+            return;
+        }
+        boolean completed = false;
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+            if (request.isAsyncStarted()) {
+                //streaming exports keep their slot until they finish, but their duration is not a latency sample
+                request.getAsyncContext().addListener(new PermitReleasingListener(permit));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                permit.release(completed && response.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
+        }
+    }
+
+    private AdaptiveConcurrencyLimit laneFor(HttpServletRequest request) {
+        if (TrafficClassContext.current() == TrafficClass.ADMIN_SCAN) {
+            return adminScanLimit;
+        }
+        return READ_METHODS.contains(request.getMethod()) ? readLimit : writeLimit;
+    }
+
+    private void shed(HttpServletRequest request, HttpServletResponse response, AdaptiveConcurrencyLimit limit) throws IOException {
+        log.debug("Shed {} {}: {} limit of {} reached", request.getMethod(), request.getRequestURI(), limit.getName(), limit.getLimit());
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                List.of("Too many concurrent requests, retry later."),
+                request.getRequestURI()
+        );
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    AdaptiveConcurrencyLimit getReadLimit() {
+        return readLimit;
+    }
+
+    AdaptiveConcurrencyLimit getWriteLimit() {
+        return writeLimit;
+    }
+
+    AdaptiveConcurrencyLimit getAdminScanLimit() {
+        return adminScanLimit;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (AdaptiveConcurrencyLimit limit : List.of(readLimit, writeLimit, adminScanLimit)) {
+            Gauge.builder("http.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                    .tag("lane", limit.getName()).register(registry);
+            Gauge.builder("http.concurrency.in-flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                    .tag("lane", limit.getName()).register(registry);
+            FunctionCounter.builder("http.concurrency.rejected", limit, AdaptiveConcurrencyLimit::getRejectedCount)
+                    .tag("lane", limit.getName()).register(registry);
+        }
+    }
+
+    private static class PermitReleasingListener implements AsyncListener {
+        private final AdaptiveConcurrencyLimit.Permit permit;
+
+        private PermitReleasingListener(AdaptiveConcurrencyLimit.Permit permit) {
+            this.permit = permit;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permit.ignore();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            permit.ignore();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            permit.ignore();
+        }
+
+        //listeners are dropped when the request goes async again
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
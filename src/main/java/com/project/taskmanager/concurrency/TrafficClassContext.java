@@ -0,0 +1,25 @@
+package com.project.taskmanager.concurrency;
+
+import com.project.taskmanager.enums.TrafficClass;
+
+//traffic class of the request on the current thread, set by TrafficClassFilter; anything else is USER traffic
+public final class TrafficClassContext {
+
+    private static final ThreadLocal<TrafficClass> CURRENT = new ThreadLocal<>();
+
+    private TrafficClassContext() {
+    }
+
+    public static TrafficClass current() {
+        TrafficClass trafficClass = CURRENT.get();
+        return trafficClass != null ? trafficClass : TrafficClass.USER;
+    }
+
+    public static void set(TrafficClass trafficClass) {
+        CURRENT.set(trafficClass);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
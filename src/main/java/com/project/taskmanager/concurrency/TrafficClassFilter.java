@@ -0,0 +1,54 @@
+package com.project.taskmanager.concurrency;
+
+import com.project.taskmanager.enums.TrafficClass;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+//Tags each request with its traffic class for the rest of the request: ConcurrencyLimitFilter picks the lane from
+//it and TrafficClassRoutingDataSource the connection pool. Routed by endpoint, since it runs before authentication;
+//requests without a bearer token stay USER traffic, so anonymous clients cannot take the few admin-scan slots.
+@Component
+@Order(ConcurrencyLimitFilter.ORDER - 1)
+public class TrafficClassFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    //the ADMIN-only listings that scan the whole table, in all their paging modes: GET /api/tasks (but not
+    //a multi-get by ids), GET /api/tasks/status/{status} and GET /api/tasks/search
+    static TrafficClass classify(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod()) || !hasBearerToken(request)) {
+            return TrafficClass.USER;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.equals("/api/tasks") && request.getParameter("ids") == null) {
+            return TrafficClass.ADMIN_SCAN;
+        }
+        if (path.startsWith("/api/tasks/status/") || path.equals("/api/tasks/search")) {
+            return TrafficClass.ADMIN_SCAN;
+        }
+        return TrafficClass.USER;
+    }
+
+    private static boolean hasBearerToken(HttpServletRequest request) {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        return authorization != null && authorization.startsWith(BEARER_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        TrafficClassContext.set(classify(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TrafficClassContext.clear();
+        }
+    }
+}
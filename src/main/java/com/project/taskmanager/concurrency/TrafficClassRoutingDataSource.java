@@ -0,0 +1,13 @@
+package com.project.taskmanager.concurrency;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+//hands out connections from the pool of the current request's traffic class; the choice is made when a
+//transaction (or a plain getConnection) starts, which happens on the request thread
+public class TrafficClassRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TrafficClassContext.current();
+    }
+}
@@ -0,0 +1,54 @@
+package com.project.taskmanager.config;
+
+import com.project.taskmanager.concurrency.TrafficClassRoutingDataSource;
+import com.project.taskmanager.enums.TrafficClass;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+//Connection bulkheads: the admin list/search scans get a small pool of their own, so however many of them run,
+//user requests never wait for a connection behind them. Both pools point at the same database; the routing
+//DataSource everything else is wired to picks one per request (see TrafficClassFilter).
+@Configuration
+@ConditionalOnProperty(name = "task.admin-lane.enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourceConfig {
+
+    //configured from spring.datasource.* exactly like Boot's own pool
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource userDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("user");
+        return dataSource;
+    }
+
+    //same settings as the user pool apart from its name and size
+    @Bean
+    public HikariDataSource adminDataSource(HikariDataSource userDataSource,
+                                            @Value("${task.admin-lane.pool-size:4}") int poolSize) {
+        HikariDataSource dataSource = new HikariDataSource();
+        userDataSource.copyStateTo(dataSource);
+        dataSource.setPoolName("admin");
+        dataSource.setMaximumPoolSize(poolSize);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource userDataSource, HikariDataSource adminDataSource) {
+        TrafficClassRoutingDataSource dataSource = new TrafficClassRoutingDataSource();
+        dataSource.setTargetDataSources(Map.of(
+                TrafficClass.USER, userDataSource,
+                TrafficClass.ADMIN_SCAN, adminDataSource));
+        dataSource.setDefaultTargetDataSource(userDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,31 @@
+package com.project.taskmanager.config;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+import javax.sql.DataSource;
+
+//Postgres schema changes that ddl-auto cannot make (id default, generated search column, GIN indexes) as versioned
+//Flyway migrations in db/migration, so each runs once per database instead of on every start of every replica.
+//The tables themselves still come from ddl-auto, so Flyway runs after the EntityManagerFactory instead of before it
+//like Boot's auto-configuration (spring.flyway.enabled=false); its lock keeps replicas from migrating at once.
+@Configuration
+@ConditionalOnProperty(name = "task.schema-migrations.enabled", havingValue = "true")
+public class SchemaMigrationConfig {
+
+    @Bean(initMethod = "migrate")
+    @DependsOn("entityManagerFactory")
+    public Flyway schemaMigrations(DataSource dataSource) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                //databases from before the migrations already hold Hibernate's tables; the migrations still
+                //run there and skip what the old data.sql already created
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load();
+    }
+}
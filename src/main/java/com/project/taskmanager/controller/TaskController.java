@@ -1,51 +1,148 @@
 package com.project.taskmanager.controller;
 
+import com.project.taskmanager.dto.BatchCreateResponse;
+import com.project.taskmanager.dto.BulkUpdateRequest;
+import com.project.taskmanager.dto.BulkUpdateResponse;
+import com.project.taskmanager.dto.CursorPage;
+import com.project.taskmanager.dto.ImportReport;
+import com.project.taskmanager.dto.SlicePage;
+import com.project.taskmanager.dto.TaskLookupResult;
+import com.project.taskmanager.dto.TaskPatchRequest;
 import com.project.taskmanager.dto.TaskRequest;
 import com.project.taskmanager.dto.TaskResponse;
+import com.project.taskmanager.dto.TaskSuggestion;
 import com.project.taskmanager.enums.Status;
+import com.project.taskmanager.enums.TaskFileFormat;
+import com.project.taskmanager.enums.TotalMode;
+import com.project.taskmanager.service.TaskExportService;
+import com.project.taskmanager.service.TaskImportService;
 import com.project.taskmanager.service.TaskService;
+import com.project.taskmanager.utils.ETagUtils;
+import com.project.taskmanager.utils.SecurityUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/tasks")
 public class TaskController{
     private final TaskService taskService;
+    private final TaskExportService taskExportService;
+    private final TaskImportService taskImportService;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskExportService taskExportService,
+                          TaskImportService taskImportService) {
         this.taskService = taskService;
+        this.taskExportService = taskExportService;
+        this.taskImportService = taskImportService;
+    }
+
+    //A matching If-None-Match is answered with 304 from the current tag alone (taken from TaskPageCache when the page
+    //is cached, else from the version query); otherwise the page is loaded and tagged from its own ids and versions,
+    //which is the same tag.
+    private static ResponseEntity<Page<TaskResponse>> conditionalPage(String ifNoneMatch, Supplier<String> currentETag,
+                                                                      Supplier<Page<TaskResponse>> loader) {
+        if (ifNoneMatch != null) {
+            String etag = currentETag.get();
+            if (ETagUtils.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+        Page<TaskResponse> page = loader.get();
+        return ResponseEntity.ok().eTag(ETagUtils.forPage(page)).body(page);
     }
 
     @Operation(
             summary = "Get a task by ID",
-            description = "Retrieves a single task by its unique identifier.",
+            description = "Retrieves a single task by its unique identifier. Sends a strong ETag and answers a matching If-None-Match with 304.",
             security = @SecurityRequirement(name = "bearerAuth")
     )
-    @PreAuthorize("@taskServiceImpl.isTaskOwner(#id, principal.username) or hasRole('ADMIN')")
+    //ownership is enforced inside the task query itself, see SecurityUtils.currentOwnerScope
+    @PreAuthorize("isAuthenticated()")
     @GetMapping("{id}")
-    public TaskResponse getTask(
-            @Parameter(description = "The unique identifier of the task") @PathVariable Integer id) {
-        return taskService.getTask(id);
+    public ResponseEntity<TaskResponse> getTask(
+            @Parameter(description = "The unique identifier of the task") @PathVariable Integer id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Integer ownerId = SecurityUtils.currentOwnerScope();
+        if (ifNoneMatch != null) {
+            String etag = taskService.getTaskETag(id, ownerId);
+            if (ETagUtils.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+        TaskResponse task = taskService.getTask(id, ownerId);
+        return ResponseEntity.ok().eTag(ETagUtils.forTask(task.getId(), task.getVersion())).body(task);
     }
 
     @Operation(
             summary = "Get all tasks",
-            description = "Retrieves a paginated list of all tasks with sorting options.",
+            description = "Retrieves a paginated list of all tasks with sorting options. Sends a strong ETag; a matching If-None-Match gets 304.",
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping()
-    public Page<TaskResponse> getTasks(
+    public ResponseEntity<Page<TaskResponse>> getTasks(
+            @Parameter(description = "Page number (zero-indexed)") @RequestParam(defaultValue = "0") Integer page,
+            @Parameter(description = "Number of tasks per page") @RequestParam(defaultValue = "10") Integer numTasks,
+            @Parameter(description = "Sort criteria in format: property,(asc|desc)") @RequestParam(defaultValue = "id,asc") String sort,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        return conditionalPage(ifNoneMatch, () -> taskService.getTaskPageETag(page,numTasks,sort,null,null),
+                () -> taskService.getTasks(page,numTasks,sort));
+    }
+
+    @Operation(
+            summary = "Get tasks by id list",
+            description = "Fetches up to 1000 tasks by id in one query. Results follow the request order; ids that do not exist or belong to another user are reported per item.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping(params = "ids")
+    public List<TaskLookupResult> getTasksByIds(
+            @Parameter(description = "Comma-separated task ids", example = "3,1,2") @RequestParam List<Integer> ids) {
+        return taskService.getTasksByIds(ids, SecurityUtils.currentOwnerScope());
+    }
+
+    @Operation(
+            summary = "Get all tasks without a total count",
+            description = "Retrieves a page of all tasks without running COUNT(*); reports hasNext and optionally an estimated total.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(params = {"total", "!cursor"})
+    public SlicePage<TaskResponse> sliceTasks(
             @Parameter(description = "Page number (zero-indexed)") @RequestParam(defaultValue = "0") Integer page,
             @Parameter(description = "Number of tasks per page") @RequestParam(defaultValue = "10") Integer numTasks,
-            @Parameter(description = "Sort criteria in format: property,(asc|desc)") @RequestParam(defaultValue = "id,asc") String sort){
-        return taskService.getTasks(page,numTasks,sort);
+            @Parameter(description = "Sort criteria in format: property,(asc|desc)") @RequestParam(defaultValue = "id,asc") String sort,
+            @Parameter(description = "NONE to skip the total, ESTIMATE for a cheap approximate total") @RequestParam TotalMode total){
+        return taskService.sliceTasks(page,numTasks,sort,total);
+    }
+
+    @Operation(
+            summary = "Get all tasks by cursor",
+            description = "Retrieves all tasks with keyset pagination, so every page is as fast as the first.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(params = "cursor")
+    public CursorPage<TaskResponse> scrollTasks(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page; empty for the first page") @RequestParam String cursor,
+            @Parameter(description = "Number of tasks per page") @RequestParam(defaultValue = "10") Integer numTasks,
+            @Parameter(description = "Sort criteria in format: property,(asc|desc); ignored when a cursor is given") @RequestParam(defaultValue = "id,asc") String sort){
+        return taskService.scrollTasks(cursor,numTasks,sort);
     }
 
     @Operation(
@@ -53,12 +150,13 @@ public class TaskController{
             description = "Deletes a task by its unique identifier.",
             security = @SecurityRequirement(name = "bearerAuth")
     )
-    @PreAuthorize("@taskServiceImpl.isTaskOwner(#id, principal.username) or hasRole('ADMIN')")
+    //ownership is enforced inside the task query itself, see SecurityUtils.currentOwnerScope
+    @PreAuthorize("isAuthenticated()")
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteTask(
             @Parameter(description = "The unique identifier of the task to delete") @PathVariable Integer id) {
-        taskService.deleteTaskById(id);
+        taskService.deleteTaskById(id, SecurityUtils.currentOwnerScope());
     }
 
     @Operation(
@@ -75,63 +173,252 @@ public class TaskController{
         return taskService.addTask(taskRequest, userId);
     }
 
+    @Operation(
+            summary = "Create tasks in bulk",
+            description = "Creates up to 1000 tasks for a user in one request. Each item is validated on its own and reported in request order; valid items are created even when others are rejected.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("@userServiceImpl.isUser(#userId, principal.username) or hasRole('ADMIN')")
+    @PostMapping("/user/{userId}/batch")
+    public BatchCreateResponse addTasks(
+            @Parameter(description = "The unique identifier of the user to assign the tasks to") @PathVariable Integer userId,
+            @Parameter(description = "Tasks to create") @RequestBody List<TaskRequest> taskRequests) {
+        return taskService.addTasks(taskRequests, userId);
+    }
+
+    @Operation(
+            summary = "Import tasks from a stream",
+            description = "Reads an NDJSON or CSV body (header with title, description, priority and status) record by record and creates valid tasks in batches of 500, each in its own transaction. "
+                    + "The report lists rejected records and a checkpoint; if a batch fails, resend the same body with resumeAfter set to that checkpoint.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("@userServiceImpl.isUser(#userId, principal.username) or hasRole('ADMIN')")
+    @PostMapping("/user/{userId}/import")
+    public ImportReport importTasks(
+            @Parameter(description = "The unique identifier of the user to assign the tasks to") @PathVariable Integer userId,
+            @Parameter(description = "NDJSON or CSV") @RequestParam(defaultValue = "NDJSON") TaskFileFormat format,
+            @Parameter(description = "Checkpoint from an earlier report; records up to it are skipped") @RequestParam(defaultValue = "0") long resumeAfter,
+            InputStream body) {
+        return taskImportService.importTasks(userId, format, body, resumeAfter);
+    }
+
+    @Operation(
+            summary = "Update tasks in bulk",
+            description = "Sets status and/or priority on every task selected by ids or by a filter, in a single UPDATE. Non-admins only ever affect their own tasks.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("isAuthenticated()")
+    @PatchMapping("/bulk")
+    public BulkUpdateResponse bulkUpdateTasks(
+            @Parameter(description = "Tasks to select and the values to set") @RequestBody BulkUpdateRequest bulkUpdateRequest) {
+        return taskService.bulkUpdateTasks(bulkUpdateRequest, SecurityUtils.currentOwnerScope());
+    }
+
     @Operation(
             summary = "Update a task",
-            description = "Updates an existing task with new information.",
+            description = "Updates an existing task with new information. With If-Match set to the task's ETag the update only applies if nobody changed the task since, otherwise 412. The response carries the new ETag.",
             security = @SecurityRequirement(name = "bearerAuth")
     )
-    @PreAuthorize("@taskServiceImpl.isTaskOwner(#id, principal.username) or hasRole('ADMIN')")
+    //ownership is enforced inside the task query itself, see SecurityUtils.currentOwnerScope
+    @PreAuthorize("isAuthenticated()")
     @PutMapping("/{id}")
-    public TaskResponse updateTask(
+    public ResponseEntity<TaskResponse> updateTask(
+            @Parameter(description = "The unique identifier of the task to update") @PathVariable Integer id,
+            @Parameter(description = "Updated task data") @RequestBody @Valid TaskRequest taskRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TaskResponse task = taskService.updateTask(taskRequest, id, SecurityUtils.currentOwnerScope(),
+                ETagUtils.expectedTaskVersion(ifMatch, id));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (task.getVersion() != null) {
+            response.eTag(ETagUtils.forTask(id, task.getVersion()));
+        }
+        return response.body(task);
+    }
+
+    @Operation(
+            summary = "Partially update a task",
+            description = "Changes only the fields sent, in a single UPDATE without reading the task first. Omitted fields keep their values. Honours If-Match like PUT and returns the new ETag.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("isAuthenticated()")
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchTask(
             @Parameter(description = "The unique identifier of the task to update") @PathVariable Integer id,
-            @Parameter(description = "Updated task data") @RequestBody @Valid TaskRequest taskRequest) {
-        return taskService.updateTask(taskRequest,id);
+            @Parameter(description = "Fields to change") @RequestBody @Valid TaskPatchRequest taskPatchRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long version = taskService.patchTask(taskPatchRequest, id, SecurityUtils.currentOwnerScope(),
+                ETagUtils.expectedTaskVersion(ifMatch, id));
+        ResponseEntity.HeadersBuilder<?> response = ResponseEntity.noContent();
+        if (version != null) {
+            response.eTag(ETagUtils.forTask(id, version));
+        }
+        return response.build();
     }
 
     @Operation(
             summary = "Get tasks by user ID",
-            description = "Retrieves a paginated list of tasks assigned to a specific user.",
+            description = "Retrieves a paginated list of tasks assigned to a specific user. Sends a strong ETag; a matching If-None-Match gets 304.",
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @PreAuthorize("@userServiceImpl.isUser(#userId, principal.username) or hasRole('ADMIN')")
     @GetMapping("/user/{userId}")
-    public Page<TaskResponse> getTasksByUserId(
+    public ResponseEntity<Page<TaskResponse>> getTasksByUserId(
             @Parameter(description = "Page number (zero-indexed)") @RequestParam(defaultValue = "0") Integer page,
             @Parameter(description = "Number of tasks per page") @RequestParam(defaultValue = "10") Integer numTasks,
             @Parameter(description = "Sort criteria in format: property,(asc|desc)") @RequestParam(defaultValue = "id,asc") String sort,
+            @Parameter(description = "The unique identifier of the user") @PathVariable Integer userId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditionalPage(ifNoneMatch, () -> taskService.getTaskPageETag(page,numTasks,sort,userId,null),
+                () -> taskService.getTasksByUserId(page,numTasks,sort,userId));
+    }
+
+    @Operation(
+            summary = "Export a user's tasks",
+            description = "Streams every task of the user as NDJSON (one JSON object per line) or CSV, ordered by id, without paging.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("@userServiceImpl.isUser(#userId, principal.username) or hasRole('ADMIN')")
+    @GetMapping("/user/{userId}/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @Parameter(description = "The unique identifier of the user") @PathVariable Integer userId,
+            @Parameter(description = "NDJSON or CSV") @RequestParam(defaultValue = "NDJSON") TaskFileFormat format) {
+        StreamingResponseBody body = taskExportService.exportTasks(userId, format);
+        boolean csv = format == TaskFileFormat.CSV;
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"tasks-" + userId + (csv ? ".csv" : ".ndjson") + "\"")
+                .body(body);
+    }
+
+    @Operation(
+            summary = "Get tasks by user ID without a total count",
+            description = "Retrieves a page of a user's tasks without running COUNT(*); reports hasNext and optionally an estimated total.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("@userServiceImpl.isUser(#userId, principal.username) or hasRole('ADMIN')")
+    @GetMapping(value = "/user/{userId}", params = {"total", "!cursor"})
+    public SlicePage<TaskResponse> sliceTasksByUserId(
+            @Parameter(description = "Page number (zero-indexed)") @RequestParam(defaultValue = "0") Integer page,
+            @Parameter(description = "Number of tasks per page") @RequestParam(defaultValue = "10") Integer numTasks,
+            @Parameter(description = "Sort criteria in format: property,(asc|desc)") @RequestParam(defaultValue = "id,asc") String sort,
+            @Parameter(description = "NONE to skip the total, ESTIMATE for a cheap approximate total") @RequestParam TotalMode total,
+            @Parameter(description = "The unique identifier of the user") @PathVariable Integer userId) {
+        return taskService.sliceTasksByUserId(page,numTasks,sort,userId,total);
+    }
+
+    @Operation(
+            summary = "Get tasks by user ID by cursor",
+            description = "Retrieves tasks assigned to a specific user with keyset pagination.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("@userServiceImpl.isUser(#userId, principal.username) or hasRole('ADMIN')")
+    @GetMapping(value = "/user/{userId}", params = "cursor")
+    public CursorPage<TaskResponse> scrollTasksByUserId(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page; empty for the first page") @RequestParam String cursor,
+            @Parameter(description = "Number of tasks per page") @RequestParam(defaultValue = "10") Integer numTasks,
+            @Parameter(description = "Sort criteria in format: property,(asc|desc); ignored when a cursor is given") @RequestParam(defaultValue = "id,asc") String sort,
             @Parameter(description = "The unique identifier of the user") @PathVariable Integer userId) {
-        return taskService.getTasksByUserId(page,numTasks,sort,userId);
+        return taskService.scrollTasksByUserId(cursor,numTasks,sort,userId);
     }
 
     @Operation(
             summary = "Get tasks by status",
-            description = "Retrieves a paginated list of tasks filtered by their status.",
+            description = "Retrieves a paginated list of tasks filtered by their status. Sends a strong ETag; a matching If-None-Match gets 304.",
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/status/{status}")
-    public Page<TaskResponse> getTasksByStatus(
+    public ResponseEntity<Page<TaskResponse>> getTasksByStatus(
+            @Parameter(description = "Page number (zero-indexed)") @RequestParam(defaultValue = "0") Integer page,
+            @Parameter(description = "Number of tasks per page") @RequestParam(defaultValue = "10") Integer numTasks,
+            @Parameter(description = "Sort criteria in format: property,(asc|desc)") @RequestParam(defaultValue = "id,asc") String sort,
+            @Parameter(description = "The status to filter tasks by") @PathVariable Status status,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditionalPage(ifNoneMatch, () -> taskService.getTaskPageETag(page,numTasks,sort,null,status),
+                () -> taskService.getTasksByStatus(page,numTasks,sort,status));
+    }
+
+    @Operation(
+            summary = "Get tasks by status without a total count",
+            description = "Retrieves a page of tasks filtered by status without running COUNT(*); reports hasNext and optionally an estimated total.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value = "/status/{status}", params = {"total", "!cursor"})
+    public SlicePage<TaskResponse> sliceTasksByStatus(
             @Parameter(description = "Page number (zero-indexed)") @RequestParam(defaultValue = "0") Integer page,
             @Parameter(description = "Number of tasks per page") @RequestParam(defaultValue = "10") Integer numTasks,
             @Parameter(description = "Sort criteria in format: property,(asc|desc)") @RequestParam(defaultValue = "id,asc") String sort,
+            @Parameter(description = "NONE to skip the total, ESTIMATE for a cheap approximate total") @RequestParam TotalMode total,
             @Parameter(description = "The status to filter tasks by") @PathVariable Status status) {
-        return taskService.getTasksByStatus(page,numTasks,sort,status);
+        return taskService.sliceTasksByStatus(page,numTasks,sort,status,total);
+    }
+
+    @Operation(
+            summary = "Get tasks by status by cursor",
+            description = "Retrieves tasks filtered by their status with keyset pagination.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value = "/status/{status}", params = "cursor")
+    public CursorPage<TaskResponse> scrollTasksByStatus(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page; empty for the first page") @RequestParam String cursor,
+            @Parameter(description = "Number of tasks per page") @RequestParam(defaultValue = "10") Integer numTasks,
+            @Parameter(description = "Sort criteria in format: property,(asc|desc); ignored when a cursor is given") @RequestParam(defaultValue = "id,asc") String sort,
+            @Parameter(description = "The status to filter tasks by") @PathVariable Status status) {
+        return taskService.scrollTasksByStatus(cursor,numTasks,sort,status);
     }
 
     @Operation(
             summary = "Get tasks by user ID and status",
-            description = "Retrieves a paginated list of tasks for a specific user filtered by status.",
+            description = "Retrieves a paginated list of tasks for a specific user filtered by status. Sends a strong ETag; a matching If-None-Match gets 304.",
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @PreAuthorize("@userServiceImpl.isUser(#userId, principal.username) or hasRole('ADMIN')")
     @GetMapping("/user/{userId}/status/{status}")
-    public Page<TaskResponse> getTasksByUserIdAndStatus(
+    public ResponseEntity<Page<TaskResponse>> getTasksByUserIdAndStatus(
             @Parameter(description = "Page number (zero-indexed)") @RequestParam(defaultValue = "0") Integer page,
             @Parameter(description = "Number of tasks per page") @RequestParam(defaultValue = "10") Integer numTasks,
             @Parameter(description = "Sort criteria in format: property,(asc|desc)") @RequestParam(defaultValue = "id,asc") String sort,
             @Parameter(description = "The unique identifier of the user") @PathVariable Integer userId,
+            @Parameter(description = "The status to filter tasks by") @PathVariable Status status,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditionalPage(ifNoneMatch, () -> taskService.getTaskPageETag(page,numTasks,sort,userId,status),
+                () -> taskService.getTasksByUserIdAndStatus(page,numTasks,sort,userId, status));
+    }
+
+    @Operation(
+            summary = "Get tasks by user ID and status without a total count",
+            description = "Retrieves a page of a user's tasks filtered by status without running COUNT(*); reports hasNext and optionally an estimated total.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("@userServiceImpl.isUser(#userId, principal.username) or hasRole('ADMIN')")
+    @GetMapping(value = "/user/{userId}/status/{status}", params = {"total", "!cursor"})
+    public SlicePage<TaskResponse> sliceTasksByUserIdAndStatus(
+            @Parameter(description = "Page number (zero-indexed)") @RequestParam(defaultValue = "0") Integer page,
+            @Parameter(description = "Number of tasks per page") @RequestParam(defaultValue = "10") Integer numTasks,
+            @Parameter(description = "Sort criteria in format: property,(asc|desc)") @RequestParam(defaultValue = "id,asc") String sort,
+            @Parameter(description = "NONE to skip the total, ESTIMATE for a cheap approximate total") @RequestParam TotalMode total,
+            @Parameter(description = "The unique identifier of the user") @PathVariable Integer userId,
+            @Parameter(description = "The status to filter tasks by") @PathVariable Status status) {
+        return taskService.sliceTasksByUserIdAndStatus(page,numTasks,sort,userId,status,total);
+    }
+
+    @Operation(
+            summary = "Get tasks by user ID and status by cursor",
+            description = "Retrieves tasks for a specific user filtered by status with keyset pagination.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("@userServiceImpl.isUser(#userId, principal.username) or hasRole('ADMIN')")
+    @GetMapping(value = "/user/{userId}/status/{status}", params = "cursor")
+    public CursorPage<TaskResponse> scrollTasksByUserIdAndStatus(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page; empty for the first page") @RequestParam String cursor,
+            @Parameter(description = "Number of tasks per page") @RequestParam(defaultValue = "10") Integer numTasks,
+            @Parameter(description = "Sort criteria in format: property,(asc|desc); ignored when a cursor is given") @RequestParam(defaultValue = "id,asc") String sort,
+            @Parameter(description = "The unique identifier of the user") @PathVariable Integer userId,
             @Parameter(description = "The status to filter tasks by") @PathVariable Status status) {
-        return taskService.getTasksByUserIdAndStatus(page,numTasks,sort,userId, status);
+        return taskService.scrollTasksByUserIdAndStatus(cursor,numTasks,sort,userId,status);
     }
 
     @Operation(
@@ -149,5 +436,64 @@ public class TaskController{
         return taskService.getTasksByTitle(page,numTasks,sort,title);
     }
 
+    @Operation(
+            summary = "Search tasks",
+            description = "Ranked search over task titles and descriptions; title matches rank above description matches. "
+                    + "On Postgres only the task.search.max-candidates best matches are returned, and the total counts those.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value = "/search", params = {"q", "!cursor", "!total"})
+    public Page<TaskResponse> searchTasks(
+            @Parameter(description = "Page number (zero-indexed)") @RequestParam(defaultValue = "0") Integer page,
+            @Parameter(description = "Number of tasks per page") @RequestParam(defaultValue = "10") Integer numTasks,
+            @Parameter(description = "Words to search for; the last word also matches as a prefix") @RequestParam String q) {
+        return taskService.searchTasks(page,numTasks,q);
+    }
+
+    @Operation(
+            summary = "Suggest task titles",
+            description = "Completes a prefix against the caller's own task titles, matching the start of any word; highest priority and newest first.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/suggest")
+    public List<TaskSuggestion> suggestTitles(
+            @Parameter(description = "Start of a word in the title") @RequestParam String prefix,
+            @Parameter(description = "Maximum number of suggestions (1-20)") @RequestParam(defaultValue = "10") Integer limit) {
+        return taskService.suggestTitles(SecurityUtils.currentUserId(), prefix, limit);
+    }
+
+    @Operation(
+            summary = "Search tasks by title without a total count",
+            description = "Retrieves a page of tasks matching the title search term without running COUNT(*); reports hasNext and optionally an estimated total.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value = "/search", params = {"total", "!cursor"})
+    public SlicePage<TaskResponse> sliceTasksByTitle(
+            @Parameter(description = "Page number (zero-indexed)") @RequestParam(defaultValue = "0") Integer page,
+            @Parameter(description = "Number of tasks per page") @RequestParam(defaultValue = "10") Integer numTasks,
+            @Parameter(description = "Sort criteria in format: property,(asc|desc)") @RequestParam(defaultValue = "id,asc") String sort,
+            @Parameter(description = "NONE to skip the total, ESTIMATE for a cheap approximate total") @RequestParam TotalMode total,
+            @Parameter(description = "The title search term to filter tasks by") @RequestParam String title) {
+        return taskService.sliceTasksByTitle(page,numTasks,sort,title,total);
+    }
+
+    @Operation(
+            summary = "Search tasks by title by cursor",
+            description = "Retrieves tasks that match the specified title search term with keyset pagination.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value = "/search", params = "cursor")
+    public CursorPage<TaskResponse> scrollTasksByTitle(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page; empty for the first page") @RequestParam String cursor,
+            @Parameter(description = "Number of tasks per page") @RequestParam(defaultValue = "10") Integer numTasks,
+            @Parameter(description = "Sort criteria in format: property,(asc|desc); ignored when a cursor is given") @RequestParam(defaultValue = "id,asc") String sort,
+            @Parameter(description = "The title search term to filter tasks by") @RequestParam String title) {
+        return taskService.scrollTasksByTitle(cursor,numTasks,sort,title);
+    }
+
 
 }
@@ -1,14 +1,18 @@
 package com.project.taskmanager.controller;
 
+import com.project.taskmanager.dto.UserDeletionStatus;
 import com.project.taskmanager.dto.UserRequest;
 import com.project.taskmanager.dto.UserResponse;
+import com.project.taskmanager.service.UserDeletionService;
 import com.project.taskmanager.service.UserService;
+import com.project.taskmanager.utils.ETagUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,21 +21,26 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final UserService userService;
+    private final UserDeletionService userDeletionService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserDeletionService userDeletionService) {
         this.userService = userService;
+        this.userDeletionService = userDeletionService;
     }
 
     @Operation(
             summary = "Get a user by ID",
-            description = "Retrieves a single user by their unique identifier.",
+            description = "Retrieves a single user by their unique identifier. Sends a strong ETag; a matching If-None-Match gets 304.",
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @PreAuthorize("@userServiceImpl.isUser(#id, principal.username) or hasRole('ADMIN')")
     @GetMapping("/{id}")
-    public UserResponse getUser(
+    public ResponseEntity<UserResponse> getUser(
             @Parameter(description = "The unique identifier of the user") @PathVariable Integer id) {
-        return userService.getUser(id);
+        //users come from the second-level cache, so the user itself is as cheap as a version check;
+        //ResponseEntity compares the tag with If-None-Match and sends 304 when it matches
+        UserResponse user = userService.getUser(id);
+        return ResponseEntity.ok().eTag(ETagUtils.forUser(user.getId(), user.getVersion())).body(user);
     }
 
     @Operation(
@@ -61,6 +70,31 @@ public class UserController {
         userService.deleteUserById(id);
     }
 
+    @Operation(
+            summary = "Delete a user in the background",
+            description = "Starts deleting a user and all of their tasks on a background thread and returns a job to poll for progress.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping(value = "/{id}", params = "async=true")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public UserDeletionStatus deleteUserAsync(
+            @Parameter(description = "The unique identifier of the user to delete") @PathVariable Integer id){
+        return userDeletionService.startUserDeletion(id);
+    }
+
+    @Operation(
+            summary = "Get user deletion progress",
+            description = "Reports the state and progress of a background user deletion.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/deletions/{jobId}")
+    public UserDeletionStatus getDeletionStatus(
+            @Parameter(description = "Job id returned when the deletion was started") @PathVariable String jobId){
+        return userDeletionService.getDeletionStatus(jobId);
+    }
+
     @Operation(
             summary = "Update a user",
             description = "Updates an existing user with new information.",
@@ -0,0 +1,18 @@
+package com.project.taskmanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BatchCreateResponse {
+    @Schema(description = "Number of tasks created", example = "998")
+    private int created;
+    @Schema(description = "Number of items rejected", example = "2")
+    private int failed;
+    @Schema(description = "One result per submitted item, in request order")
+    private List<BatchItemResult> results;
+}
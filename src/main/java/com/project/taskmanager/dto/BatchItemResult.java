@@ -0,0 +1,18 @@
+package com.project.taskmanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BatchItemResult {
+    @Schema(description = "Position of the item in the request (zero-indexed)", example = "0")
+    private int index;
+    @Schema(description = "The created task; null when the item was rejected")
+    private TaskResponse task;
+    @Schema(description = "Why the item was rejected; null when it was created", example = "[\"title: Title is required\"]")
+    private List<String> errors;
+}
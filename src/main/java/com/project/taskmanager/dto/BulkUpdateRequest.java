@@ -0,0 +1,20 @@
+package com.project.taskmanager.dto;
+
+import com.project.taskmanager.enums.Priority;
+import com.project.taskmanager.enums.Status;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkUpdateRequest {
+    @Schema(description = "Ids of the tasks to update; use either ids or filter", example = "[1, 2, 3]")
+    private List<Integer> ids;
+    @Schema(description = "Selects the tasks to update; use either ids or filter")
+    private TaskFilter filter;
+    @Schema(description = "New status for every selected task; omit to leave it unchanged", example = "COMPLETED")
+    private Status status;
+    @Schema(description = "New priority for every selected task; omit to leave it unchanged", example = "LOW")
+    private Priority priority;
+}
@@ -0,0 +1,12 @@
+package com.project.taskmanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BulkUpdateResponse {
+    @Schema(description = "Number of tasks the update matched", example = "42")
+    private int affected;
+}
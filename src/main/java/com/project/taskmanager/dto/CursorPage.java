@@ -0,0 +1,19 @@
+package com.project.taskmanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+    @Schema(description = "The items on this page")
+    private List<T> content;
+    @Schema(description = "Opaque cursor to pass as the cursor parameter to fetch the next page, null on the last page",
+            example = "eyJzb3J0IjoiaWQsYXNjIiwia2V5cyI6eyJpZCI6MTB9fQ")
+    private String nextCursor;
+    @Schema(description = "Whether another page follows this one", example = "true")
+    private boolean hasNext;
+}
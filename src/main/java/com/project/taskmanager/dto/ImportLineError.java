@@ -0,0 +1,16 @@
+package com.project.taskmanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ImportLineError {
+    @Schema(description = "Record number: the line for NDJSON, the data row (header excluded) for CSV; starts at 1", example = "42")
+    private long record;
+    @Schema(description = "Why the record was rejected", example = "[\"title: Title is required\"]")
+    private List<String> errors;
+}
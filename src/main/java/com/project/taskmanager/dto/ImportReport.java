@@ -0,0 +1,35 @@
+package com.project.taskmanager.dto;
+
+import com.project.taskmanager.enums.JobState;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ImportReport {
+    @Schema(description = "COMPLETED when the whole body was read; FAILED when a batch could not be written or the body was malformed", example = "COMPLETED")
+    private JobState state;
+    @Schema(description = "Records read from the body, including skipped ones", example = "1000000")
+    private long recordsRead;
+    @Schema(description = "Tasks created by this request", example = "999980")
+    private long imported;
+    @Schema(description = "Records rejected by validation", example = "20")
+    private long rejected;
+    @Schema(description = "Records skipped because they were at or before resumeAfter", example = "0")
+    private long skipped;
+    @Schema(description = "Every record up to and including this one has been handled; send it as resumeAfter to continue after a failure", example = "1000000")
+    private long checkpoint;
+    @Schema(description = "Time spent on the import in milliseconds", example = "41250")
+    private long elapsedMillis;
+    @Schema(description = "Tasks created per second", example = "24242")
+    private long tasksPerSecond;
+    @Schema(description = "Rejected records, capped at the first 1000")
+    private List<ImportLineError> errors;
+    @Schema(description = "True when more records were rejected than are listed", example = "false")
+    private boolean errorsTruncated;
+    @Schema(description = "Why the import stopped; null unless state is FAILED")
+    private String error;
+}
@@ -0,0 +1,23 @@
+package com.project.taskmanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class SlicePage<T> {
+    @Schema(description = "The items on this page")
+    private List<T> content;
+    @Schema(description = "Page number (zero-indexed)", example = "0")
+    private int page;
+    @Schema(description = "Requested number of items per page", example = "10")
+    private int size;
+    @Schema(description = "Whether another page follows this one", example = "true")
+    private boolean hasNext;
+    @Schema(description = "Planner estimate of the total number of matching items; null when not requested or not available",
+            example = "125000")
+    private Long approximateTotal;
+}
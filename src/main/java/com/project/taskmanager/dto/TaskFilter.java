@@ -0,0 +1,26 @@
+package com.project.taskmanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.project.taskmanager.enums.Priority;
+import com.project.taskmanager.enums.Status;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskFilter {
+    @Schema(description = "Only tasks of this user", example = "1")
+    private Integer userId;
+    @Schema(description = "Only tasks with this status", example = "IN_PROGRESS")
+    private Status status;
+    @Schema(description = "Only tasks with this priority", example = "HIGH")
+    private Priority priority;
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return userId == null && status == null && priority == null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.project.taskmanager.dto;
+
+import com.project.taskmanager.enums.LookupStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TaskLookupResult {
+    @Schema(description = "The requested task id", example = "1")
+    private Integer id;
+    @Schema(description = "FOUND, or why the task is not returned", example = "FOUND")
+    private LookupStatus status;
+    @Schema(description = "The task; null unless status is FOUND")
+    private TaskResponse task;
+}
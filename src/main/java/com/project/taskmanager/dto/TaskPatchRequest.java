@@ -0,0 +1,25 @@
+package com.project.taskmanager.dto;
+
+import com.project.taskmanager.enums.Priority;
+import com.project.taskmanager.enums.Status;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+//Every field is optional; only the ones sent are written.
+@Data
+public class TaskPatchRequest {
+    @Schema(description = "New title of the task", example = "Complete Docs")
+    @Pattern(regexp = ".*\\S.*", message = "Title must not be blank")
+    @Size(max = 20, message = "Title must be at most 20 characters")
+    private String title;
+    @Schema(description = "New description of the task", example = "Write the API reference")
+    @Pattern(regexp = "(?s).*\\S.*", message = "Description must not be blank")
+    @Size(max = 255, message = "Description must be at most 255 characters")
+    private String description;
+    @Schema(description = "New priority of the task", example = "HIGH")
+    private Priority priority;
+    @Schema(description = "New status of the task", example = "COMPLETED")
+    private Status status;
+}
@@ -1,5 +1,6 @@
 package com.project.taskmanager.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.project.taskmanager.enums.Priority;
 import com.project.taskmanager.enums.Status;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -17,4 +18,7 @@ public class TaskResponse {
     private Priority priority;
     @Schema(description = "Current status of the task", example = "IN_PROGRESS")
     private Status status;
+    @Schema(description = "Version of the task, bumped on every change; the ETag is derived from it", example = "3")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long version;
 }
@@ -0,0 +1,17 @@
+package com.project.taskmanager.dto;
+
+import com.project.taskmanager.enums.Priority;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TaskSuggestion {
+    @Schema(description = "Unique identifier of the task", example = "1")
+    private Integer id;
+    @Schema(description = "Title of the task", example = "Finish report")
+    private String title;
+    @Schema(description = "Priority level of the task", example = "HIGH")
+    private Priority priority;
+}
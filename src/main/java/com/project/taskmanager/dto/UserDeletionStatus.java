@@ -0,0 +1,23 @@
+package com.project.taskmanager.dto;
+
+import com.project.taskmanager.enums.JobState;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class UserDeletionStatus {
+    @Schema(description = "Identifier to poll the deletion with", example = "3f2c1a9e-5b7d-4e0f-9a61-2d8c4b7e1f05")
+    private String jobId;
+    @Schema(description = "The user being deleted", example = "1")
+    private Integer userId;
+    @Schema(description = "State of the deletion", example = "RUNNING")
+    private JobState state;
+    @Schema(description = "Tasks the user had when the deletion started", example = "50000")
+    private long tasksTotal;
+    @Schema(description = "Tasks deleted so far", example = "12000")
+    private long tasksDeleted;
+    @Schema(description = "Why the deletion failed; null unless state is FAILED")
+    private String error;
+}
@@ -1,5 +1,6 @@
 package com.project.taskmanager.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 
@@ -11,4 +12,7 @@ public class UserResponse {
     private String username;
     @Schema(description = "The email address of the user", example = "johndoe@example.com")
     private String email;
+    @Schema(description = "Version of the user, bumped on every change; the ETag is derived from it", example = "3")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long version;
 }
@@ -0,0 +1,7 @@
+package com.project.taskmanager.enums;
+
+public enum JobState {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
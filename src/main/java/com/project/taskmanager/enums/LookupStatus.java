@@ -0,0 +1,7 @@
+package com.project.taskmanager.enums;
+
+public enum LookupStatus {
+    FOUND,
+    NOT_FOUND,
+    FORBIDDEN
+}
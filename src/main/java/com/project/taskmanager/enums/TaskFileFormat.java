@@ -0,0 +1,6 @@
+package com.project.taskmanager.enums;
+
+public enum TaskFileFormat {
+    NDJSON,
+    CSV
+}
@@ -0,0 +1,6 @@
+package com.project.taskmanager.enums;
+
+//how a count-free page reports the total number of tasks
+public enum TotalMode {
+    NONE, ESTIMATE
+}
@@ -0,0 +1,6 @@
+package com.project.taskmanager.enums;
+
+//which bulkhead a request runs in; ADMIN_SCAN is the admin list/search endpoints that read across all users
+public enum TrafficClass {
+    USER, ADMIN_SCAN
+}
@@ -0,0 +1,49 @@
+package com.project.taskmanager.event;
+
+import com.project.taskmanager.enums.Priority;
+import com.project.taskmanager.model.Task;
+import com.project.taskmanager.repository.TaskIndexView;
+import lombok.Getter;
+
+//Published by TaskServiceImpl on every task write so in-memory indexes can follow the table.
+@Getter
+public class TaskChangedEvent {
+
+    public enum Type {
+        SAVED, DELETED
+    }
+
+    private final Type type;
+    private final Integer taskId;
+    private final String title;
+    private final String description;
+    private final Priority priority;
+    //null when the write did not touch or know the owner
+    private final Integer userId;
+
+    private TaskChangedEvent(Type type, Integer taskId, String title, String description, Priority priority, Integer userId) {
+        this.type = type;
+        this.taskId = taskId;
+        this.title = title;
+        this.description = description;
+        this.priority = priority;
+        this.userId = userId;
+    }
+
+    public static TaskChangedEvent saved(Task task) {
+        Integer userId = task.getUser() != null ? task.getUser().getId() : null;
+        return new TaskChangedEvent(Type.SAVED, task.getId(), task.getTitle(), task.getDescription(), task.getPriority(), userId);
+    }
+
+    public static TaskChangedEvent saved(Integer taskId, String title, String description, Priority priority) {
+        return new TaskChangedEvent(Type.SAVED, taskId, title, description, priority, null);
+    }
+
+    public static TaskChangedEvent saved(TaskIndexView view) {
+        return new TaskChangedEvent(Type.SAVED, view.getId(), view.getTitle(), view.getDescription(), view.getPriority(), view.getUserId());
+    }
+
+    public static TaskChangedEvent deleted(Integer taskId) {
+        return new TaskChangedEvent(Type.DELETED, taskId, null, null, null, null);
+    }
+}
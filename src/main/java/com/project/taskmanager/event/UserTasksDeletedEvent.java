@@ -0,0 +1,20 @@
+package com.project.taskmanager.event;
+
+import lombok.Getter;
+
+import java.util.List;
+
+//Published by UserDeletionServiceImpl once per deleted chunk, instead of a TaskChangedEvent per task, so in-memory
+//indexes drop a deleted user's tasks in bulk. Every task of the user goes, so an index may drop the whole user at once.
+@Getter
+public class UserTasksDeletedEvent {
+
+    private final Integer userId;
+    //ascending
+    private final List<Integer> taskIds;
+
+    public UserTasksDeletedEvent(Integer userId, List<Integer> taskIds) {
+        this.userId = userId;
+        this.taskIds = taskIds.stream().sorted().toList();
+    }
+}
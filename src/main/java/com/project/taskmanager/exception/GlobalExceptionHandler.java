@@ -45,6 +45,17 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
 
+    @ExceptionHandler(TaskVersionConflictException.class)
+    public ResponseEntity<ErrorResponse> handleTaskVersionConflict(TaskVersionConflictException exception, HttpServletRequest request){
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.PRECONDITION_FAILED.value(),
+                List.of(exception.getMessage()),
+                request.getRequestURI()
+        );
+        log.info("Task version conflict: {}", exception.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorResponse);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleMethodArgumentNotValid(MethodArgumentNotValidException exception, HttpServletRequest request) {
         List<FieldError> fieldErrors = exception.getBindingResult().getFieldErrors();
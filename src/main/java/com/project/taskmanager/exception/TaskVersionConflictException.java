@@ -0,0 +1,7 @@
+package com.project.taskmanager.exception;
+
+public class TaskVersionConflictException extends RuntimeException {
+    public TaskVersionConflictException(String message) {
+        super(message);
+    }
+}
@@ -4,13 +4,25 @@ import com.project.taskmanager.enums.Priority;
 import com.project.taskmanager.enums.Status;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 @Data
 @Entity
-@Table(name = "tasks")
+//every index ends in id so list queries can filter, sort and break ties from the index alone
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_user_status_id", columnList = "user_id, status, id"),
+        @Index(name = "idx_tasks_status_id", columnList = "status, id"),
+        @Index(name = "idx_tasks_user_id", columnList = "user_id, id"),
+        @Index(name = "idx_tasks_title_id", columnList = "title, id"),
+        @Index(name = "idx_tasks_priority_id", columnList = "priority, id")
+})
+//not in the second-level cache: tasks are read through JPQL queries, which bypass it, and the bulk UPDATE/DELETEs
+//in TaskRepository would clear the whole region on every write anyway
 public class Task {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    //sequence ids are handed out in blocks before the insert, so Hibernate can batch inserts (IDENTITY rules that out)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Integer id;
     private String title;
     private String description;
@@ -24,4 +36,11 @@ public class Task {
     @ManyToOne(fetch = FetchType.LAZY) //only load tasks when needed
     @JoinColumn(name = "user_id")
     private User user;
+
+    //bumped on every write, including the bulk UPDATEs in TaskRepository; ETags are built from it.
+    //The default backfills existing rows when the column is added and covers plain SQL inserts (data.sql)
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
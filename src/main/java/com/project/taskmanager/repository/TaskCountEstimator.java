@@ -0,0 +1,88 @@
+package com.project.taskmanager.repository;
+
+import com.project.taskmanager.enums.Status;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+//Approximate task counts from Postgres planner statistics, for pages that skip the exact COUNT(*).
+//Other databases get null, meaning no estimate is available.
+@Slf4j
+@Repository
+public class TaskCountEstimator {
+
+    //top plan node, e.g. "Seq Scan on tasks  (cost=0.00..1.05 rows=5 width=4)"
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+    private final EntityManager entityManager;
+    private final DataSource dataSource;
+    private boolean postgres;
+
+    public TaskCountEstimator(EntityManager entityManager, DataSource dataSource) {
+        this.entityManager = entityManager;
+        this.dataSource = dataSource;
+    }
+
+    @PostConstruct
+    void detectDatabase() {
+        try (Connection connection = dataSource.getConnection()) {
+            postgres = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            log.warn("Could not detect database, task count estimates disabled: {}", e.getMessage());
+        }
+    }
+
+    public Long estimateAll() {
+        if (!postgres) {
+            return null;
+        }
+        //maintained by autovacuum/ANALYZE, -1 until the table has been analyzed
+        Number reltuples = (Number) entityManager
+                .createNativeQuery("SELECT reltuples FROM pg_class WHERE oid = 'tasks'::regclass")
+                .getSingleResult();
+        return reltuples.longValue() < 0 ? null : reltuples.longValue();
+    }
+
+    public Long estimateByUserId(Integer userId) {
+        return estimate("user_id = ?1", userId);
+    }
+
+    public Long estimateByStatus(Status status) {
+        return estimate("status = ?1", status.name());
+    }
+
+    public Long estimateByUserIdAndStatus(Integer userId, Status status) {
+        return estimate("user_id = ?1 AND status = ?2", userId, status.name());
+    }
+
+    public Long estimateByTitle(String title) {
+        return estimate("lower(title) LIKE ?1", "%" + title.toLowerCase() + "%");
+    }
+
+    //row estimate of the planner for the filter, without executing it
+    private Long estimate(String where, Object... params) {
+        if (!postgres) {
+            return null;
+        }
+        Query query = entityManager.createNativeQuery("EXPLAIN SELECT 1 FROM tasks WHERE " + where);
+        for (int i = 0; i < params.length; i++) {
+            query.setParameter(i + 1, params[i]);
+        }
+        List<?> plan = query.getResultList();
+        return plan.isEmpty() ? null : parsePlanRows(String.valueOf(plan.get(0)));
+    }
+
+    static Long parsePlanRows(String planLine) {
+        Matcher matcher = PLAN_ROWS.matcher(planLine);
+        return matcher.find() ? Long.valueOf(matcher.group(1)) : null;
+    }
+}
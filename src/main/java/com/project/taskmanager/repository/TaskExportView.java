@@ -0,0 +1,13 @@
+package com.project.taskmanager.repository;
+
+import com.project.taskmanager.enums.Priority;
+import com.project.taskmanager.enums.Status;
+
+//The exported columns of a task, read without loading Task entities into the persistence context.
+public interface TaskExportView {
+    Integer getId();
+    String getTitle();
+    String getDescription();
+    Priority getPriority();
+    Status getStatus();
+}
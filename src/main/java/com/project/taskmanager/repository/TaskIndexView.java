@@ -0,0 +1,12 @@
+package com.project.taskmanager.repository;
+
+import com.project.taskmanager.enums.Priority;
+
+//The columns in-memory indexes need, read without loading Task entities into the persistence context.
+public interface TaskIndexView {
+    Integer getId();
+    String getTitle();
+    String getDescription();
+    Priority getPriority();
+    Integer getUserId();
+}
@@ -0,0 +1,12 @@
+package com.project.taskmanager.repository;
+
+import com.project.taskmanager.enums.Priority;
+import com.project.taskmanager.enums.Status;
+
+//Partial updates whose SET clause depends on which fields were sent, so they cannot be a fixed @Query.
+public interface TaskPatchRepository {
+
+    //UPDATE of only the non-null columns, scoped and version-checked like updateByIdAndOwner; returns the number of rows updated
+    int patchByIdAndOwner(Integer id, Integer ownerId, String title, String description, Priority priority, Status status,
+                          Long expectedVersion);
+}
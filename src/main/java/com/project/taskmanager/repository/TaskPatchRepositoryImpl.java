@@ -0,0 +1,61 @@
+package com.project.taskmanager.repository;
+
+import com.project.taskmanager.enums.Priority;
+import com.project.taskmanager.enums.Status;
+import com.project.taskmanager.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TaskPatchRepositoryImpl implements TaskPatchRepository {
+
+    private final EntityManager entityManager;
+
+    public TaskPatchRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public int patchByIdAndOwner(Integer id, Integer ownerId, String title, String description, Priority priority, Status status,
+                                 Long expectedVersion) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Task> update = builder.createCriteriaUpdate(Task.class);
+        Root<Task> task = update.from(Task.class);
+        boolean changed = false;
+        if (title != null) {
+            update.set(task.<String>get("title"), title);
+            changed = true;
+        }
+        if (description != null) {
+            update.set(task.<String>get("description"), description);
+            changed = true;
+        }
+        if (priority != null) {
+            update.set(task.<Priority>get("priority"), priority);
+            changed = true;
+        }
+        if (status != null) {
+            update.set(task.<Status>get("status"), status);
+            changed = true;
+        }
+        if (!changed) {
+            throw new IllegalArgumentException("Nothing to update.");
+        }
+        update.set(task.<Long>get("version"), builder.sum(task.<Long>get("version"), 1L));
+        List<Predicate> where = new ArrayList<>();
+        where.add(builder.equal(task.get("id"), id));
+        if (ownerId != null) {
+            where.add(builder.equal(task.get("user").get("id"), ownerId));
+        }
+        if (expectedVersion != null) {
+            where.add(builder.equal(task.get("version"), expectedVersion));
+        }
+        update.where(where.toArray(new Predicate[0]));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+}
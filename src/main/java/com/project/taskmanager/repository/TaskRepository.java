@@ -1,15 +1,135 @@
 package com.project.taskmanager.repository;
 
+import com.project.taskmanager.enums.Priority;
 import com.project.taskmanager.enums.Status;
 import com.project.taskmanager.model.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 //Spring generates SQL and persistence logic automatically.
-public interface TaskRepository extends JpaRepository<Task, Integer> {
+public interface TaskRepository extends JpaRepository<Task, Integer>, TaskPatchRepository {
+
+    String INDEX_VIEW = "select t.id as id, t.title as title, t.description as description, t.priority as priority, " +
+            "t.user.id as userId from Task t";
+    //null filter values match everything
+    String BULK_FILTER = "(:ownerId is null or t.user.id = :ownerId) and (:userId is null or t.user.id = :userId) " +
+            "and (:status is null or t.status = :status) and (:priority is null or t.priority = :priority)";
     Page<Task> findByUserId(Integer userId, Pageable pageable);
     Page<Task> findByStatus(Status status, Pageable pageable);
     Page<Task> findByUserIdAndStatus(Integer userId, Status status, Pageable pageable);
     Page<Task> findByTitleContainingIgnoreCase(String keyword, Pageable pageable);
+
+    //slices fetch one extra row to know if a next page exists, instead of running a COUNT(*)
+    Slice<Task> findSliceBy(Pageable pageable);
+    Slice<Task> findSliceByUserId(Integer userId, Pageable pageable);
+    Slice<Task> findSliceByStatus(Status status, Pageable pageable);
+    Slice<Task> findSliceByUserIdAndStatus(Integer userId, Status status, Pageable pageable);
+    Slice<Task> findSliceByTitleContainingIgnoreCase(String keyword, Pageable pageable);
+
+    //keyset scrolling: seeks past the last row's sort key and id instead of skipping an offset
+    Window<Task> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+    Window<Task> findByUserId(Integer userId, ScrollPosition position, Sort sort, Limit limit);
+    Window<Task> findByStatus(Status status, ScrollPosition position, Sort sort, Limit limit);
+    Window<Task> findByUserIdAndStatus(Integer userId, Status status, ScrollPosition position, Sort sort, Limit limit);
+    Window<Task> findByTitleContainingIgnoreCase(String keyword, ScrollPosition position, Sort sort, Limit limit);
+
+    Page<Task> findByIdIn(Collection<Integer> ids, Pageable pageable);
+
+    @Query("select t.id as id, t.title as title, t.description as description, t.priority as priority, " +
+            "t.status as status from Task t where t.id in :ids")
+    List<TaskSortView> findSortViewsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    //id and version only, same filters and paging as the list queries above; enough to answer If-None-Match
+    Page<TaskVersionView> findVersionsBy(Pageable pageable);
+    Page<TaskVersionView> findVersionsByUserId(Integer userId, Pageable pageable);
+    Page<TaskVersionView> findVersionsByStatus(Status status, Pageable pageable);
+    Page<TaskVersionView> findVersionsByUserIdAndStatus(Integer userId, Status status, Pageable pageable);
+
+    @Query("select t.version from Task t where t.id = :id and (:ownerId is null or t.user.id = :ownerId)")
+    Optional<Long> findVersionByIdAndOwner(@Param("id") Integer id, @Param("ownerId") Integer ownerId);
+
+    //streamed in fetch-size batches, must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(INDEX_VIEW)
+    Stream<TaskIndexView> streamIndexViews();
+
+    //owner-scoped access: a null ownerId drops the owner predicate (admin access)
+    @Query("select t from Task t where t.id = :id and (:ownerId is null or t.user.id = :ownerId)")
+    Optional<Task> findByIdAndOwner(@Param("id") Integer id, @Param("ownerId") Integer ownerId);
+
+    @Query("select t from Task t where t.id in :ids and (:ownerId is null or t.user.id = :ownerId)")
+    List<Task> findAllByIdInAndOwner(@Param("ids") Collection<Integer> ids, @Param("ownerId") Integer ownerId);
+
+    @Query("select t.id from Task t where t.id in :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
+    @Modifying
+    @Query("update Task t set t.title = :title, t.description = :description, t.priority = :priority, t.status = :status, " +
+            "t.version = t.version + 1 where t.id = :id and (:ownerId is null or t.user.id = :ownerId) " +
+            "and (:expectedVersion is null or t.version = :expectedVersion)")
+    int updateByIdAndOwner(@Param("id") Integer id, @Param("ownerId") Integer ownerId,
+                           @Param("title") String title, @Param("description") String description,
+                           @Param("priority") Priority priority, @Param("status") Status status,
+                           @Param("expectedVersion") Long expectedVersion);
+
+    @Modifying
+    @Query("delete from Task t where t.id = :id and (:ownerId is null or t.user.id = :ownerId)")
+    int deleteByIdAndOwner(@Param("id") Integer id, @Param("ownerId") Integer ownerId);
+
+    //bulk updates: a null new value leaves the column as it is; the version moves either way
+    @Modifying
+    @Query("update Task t set t.status = coalesce(:newStatus, t.status), t.priority = coalesce(:newPriority, t.priority), " +
+            "t.version = t.version + 1 where t.id in :ids and (:ownerId is null or t.user.id = :ownerId)")
+    int bulkUpdateByIds(@Param("ids") Collection<Integer> ids, @Param("ownerId") Integer ownerId,
+                        @Param("newStatus") Status newStatus, @Param("newPriority") Priority newPriority);
+
+    @Modifying
+    @Query("update Task t set t.status = coalesce(:newStatus, t.status), t.priority = coalesce(:newPriority, t.priority), " +
+            "t.version = t.version + 1 where " + BULK_FILTER)
+    int bulkUpdateByFilter(@Param("ownerId") Integer ownerId, @Param("userId") Integer userId,
+                           @Param("status") Status status, @Param("priority") Priority priority,
+                           @Param("newStatus") Status newStatus, @Param("newPriority") Priority newPriority);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(INDEX_VIEW + " where t.id in :ids and (:ownerId is null or t.user.id = :ownerId)")
+    Stream<TaskIndexView> streamIndexViewsByIds(@Param("ids") Collection<Integer> ids, @Param("ownerId") Integer ownerId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(INDEX_VIEW + " where " + BULK_FILTER)
+    Stream<TaskIndexView> streamIndexViewsByFilter(@Param("ownerId") Integer ownerId, @Param("userId") Integer userId,
+                                                   @Param("status") Status status, @Param("priority") Priority priority);
+
+    //set-based deletes, used to remove a user's tasks in chunks without loading them
+    long countByUserId(Integer userId);
+
+    @Query("select t.id from Task t where t.user.id = :userId order by t.id")
+    List<Integer> findIdsByUserId(@Param("userId") Integer userId, Limit limit);
+
+    @Modifying
+    @Query("delete from Task t where t.id in :ids")
+    int deleteAllByIds(@Param("ids") Collection<Integer> ids);
+
+    //forward-only cursor over one user's tasks for exports, fetched in batches; consume inside a transaction and close
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select t.id as id, t.title as title, t.description as description, t.priority as priority, " +
+            "t.status as status from Task t where t.user.id = :userId order by t.id")
+    Stream<TaskExportView> streamExportViewsByUserId(@Param("userId") Integer userId);
 }
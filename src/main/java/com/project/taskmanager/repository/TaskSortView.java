@@ -0,0 +1,13 @@
+package com.project.taskmanager.repository;
+
+import com.project.taskmanager.enums.Priority;
+import com.project.taskmanager.enums.Status;
+
+//the sortable columns of a task, for ordering index matches without loading the tasks
+public interface TaskSortView {
+    Integer getId();
+    String getTitle();
+    String getDescription();
+    Priority getPriority();
+    Status getStatus();
+}
@@ -0,0 +1,7 @@
+package com.project.taskmanager.repository;
+
+//just enough of a task to tell whether a page of tasks has changed
+public interface TaskVersionView {
+    Integer getId();
+    Long getVersion();
+}
@@ -1,11 +1,24 @@
 package com.project.taskmanager.repository;
 
 import com.project.taskmanager.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 //Spring generates SQL and persistence logic automatically.
 public interface UserRepository extends JpaRepository<User, Integer> {
     Boolean existsByUsername(String username);
     Boolean existsByEmail(String email);
+    //login and token checks look users up by name; the result is dropped as soon as the users table changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     User findByUsername(String username);
-}
\ No newline at end of file
+
+    //DELETE ... WHERE without loading the user, which would also load every task for orphan removal
+    @Modifying
+    @Query("delete from User u where u.id = :id")
+    int deleteDirectlyById(@Param("id") Integer id);
+}
@@ -0,0 +1,25 @@
+package com.project.taskmanager.search;
+
+import com.project.taskmanager.model.Task;
+import com.project.taskmanager.repository.TaskRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+//Case-insensitive substring match run by the database.
+@Component
+@ConditionalOnProperty(name = "task.search.title-backend", havingValue = "database", matchIfMissing = true)
+public class DatabaseTaskTitleSearch implements TaskTitleSearch {
+
+    private final TaskRepository taskRepository;
+
+    public DatabaseTaskTitleSearch(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    @Override
+    public Page<Task> findByTitle(String title, Pageable pageable) {
+        return taskRepository.findByTitleContainingIgnoreCase(title, pageable);
+    }
+}
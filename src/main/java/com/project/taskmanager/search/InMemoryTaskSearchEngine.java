@@ -0,0 +1,41 @@
+package com.project.taskmanager.search;
+
+import com.project.taskmanager.model.Task;
+import com.project.taskmanager.repository.TaskRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+//Ranked search served from the in-JVM TaskTextIndex, for databases without full-text search (H2).
+@Component
+@ConditionalOnProperty(name = "task.search.engine", havingValue = "memory", matchIfMissing = true)
+public class InMemoryTaskSearchEngine implements TaskSearchEngine {
+
+    private final TaskTextIndex taskTextIndex;
+    private final TaskRepository taskRepository;
+
+    public InMemoryTaskSearchEngine(TaskTextIndex taskTextIndex, TaskRepository taskRepository) {
+        this.taskTextIndex = taskTextIndex;
+        this.taskRepository = taskRepository;
+    }
+
+    @Override
+    public Page<Task> search(String query, Pageable pageable) {
+        List<Integer> ranked = taskTextIndex.rank(query);
+        int from = (int) Math.min(pageable.getOffset(), ranked.size());
+        int to = Math.min(from + pageable.getPageSize(), ranked.size());
+        List<Integer> pageIds = ranked.subList(from, to);
+
+        //one IN query for the page, then restore the ranked order
+        Map<Integer, Task> tasksById = taskRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        List<Task> tasks = pageIds.stream().map(tasksById::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(tasks, pageable, ranked.size());
+    }
+}
@@ -0,0 +1,104 @@
+package com.project.taskmanager.search;
+
+import com.project.taskmanager.model.Task;
+import com.project.taskmanager.repository.TaskRepository;
+import com.project.taskmanager.repository.TaskSortView;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+//Title lookups answered from the TaskTextIndex instead of a '%title%' scan.
+//Matches whole words, with the last one as a prefix, rather than arbitrary substrings.
+@Component
+@ConditionalOnProperty(name = "task.search.title-backend", havingValue = "index")
+public class IndexedTaskTitleSearch implements TaskTitleSearch {
+
+    //most matching ids bound into one IN list, well under Postgres's 32767 bind parameters
+    static final int MAX_IDS_PER_QUERY = 1000;
+
+    //enums are stored by name, so they sort by name like the database would
+    private static final Map<String, Function<TaskSortView, Comparable<?>>> SORT_KEYS = Map.of(
+            "id", TaskSortView::getId,
+            "title", TaskSortView::getTitle,
+            "description", TaskSortView::getDescription,
+            "priority", view -> view.getPriority() == null ? null : view.getPriority().name(),
+            "status", view -> view.getStatus() == null ? null : view.getStatus().name());
+
+    private final TaskTextIndex taskTextIndex;
+    private final TaskRepository taskRepository;
+
+    public IndexedTaskTitleSearch(TaskTextIndex taskTextIndex, TaskRepository taskRepository) {
+        this.taskTextIndex = taskTextIndex;
+        this.taskRepository = taskRepository;
+    }
+
+    @Override
+    public Page<Task> findByTitle(String title, Pageable pageable) {
+        int[] ids = taskTextIndex.matchTitle(title);
+        if (ids.length == 0) {
+            return Page.empty(pageable);
+        }
+        Sort.Order idOrder = pageable.getSort().getOrderFor("id");
+        List<Integer> pageIds;
+        if (idOrder != null && pageable.getSort().stream().count() == 1) {
+            //the index already holds ids in order, so only the requested page is loaded
+            int from = (int) Math.min(pageable.getOffset(), ids.length);
+            int to = Math.min(from + pageable.getPageSize(), ids.length);
+            pageIds = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                pageIds.add(idOrder.isAscending() ? ids[i] : ids[ids.length - 1 - i]);
+            }
+        } else {
+            pageIds = sortedPage(ids, pageable);
+        }
+        Map<Integer, Task> tasksById = taskRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        List<Task> tasks = pageIds.stream().map(tasksById::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(tasks, pageable, ids.length);
+    }
+
+    //other sort keys are not in the index: their columns are read for every match, MAX_IDS_PER_QUERY ids at a time,
+    //and sorted here, so any number of matches keeps the index's word semantics
+    private List<Integer> sortedPage(int[] ids, Pageable pageable) {
+        List<TaskSortView> views = new ArrayList<>(ids.length);
+        for (int from = 0; from < ids.length; from += MAX_IDS_PER_QUERY) {
+            List<Integer> chunk = Arrays.stream(ids, from, Math.min(from + MAX_IDS_PER_QUERY, ids.length)).boxed().toList();
+            views.addAll(taskRepository.findSortViewsByIdIn(chunk));
+        }
+        views.sort(comparator(pageable.getSort()));
+        int from = (int) Math.min(pageable.getOffset(), views.size());
+        int to = Math.min(from + pageable.getPageSize(), views.size());
+        return views.subList(from, to).stream().map(TaskSortView::getId).toList();
+    }
+
+    //id breaks ties, so pages never overlap
+    private static Comparator<TaskSortView> comparator(Sort sort) {
+        Comparator<TaskSortView> comparator = (left, right) -> 0;
+        for (Sort.Order order : sort) {
+            Function<TaskSortView, Comparable<?>> key = SORT_KEYS.get(order.getProperty());
+            if (key == null) {
+                throw new IllegalArgumentException("Cannot sort by " + order.getProperty() + ".");
+            }
+            comparator = comparator.thenComparing((left, right) ->
+                    compare(key.apply(left), key.apply(right), order.isAscending()));
+        }
+        return comparator.thenComparing(TaskSortView::getId);
+    }
+
+    //nulls last ascending and first descending, like Postgres
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compare(Comparable left, Comparable right, boolean ascending) {
+        if (left == null || right == null) {
+            return left == right ? 0 : (left == null) == ascending ? 1 : -1;
+        }
+        int result = left.compareTo(right);
+        return ascending ? result : -result;
+    }
+}
@@ -0,0 +1,66 @@
+package com.project.taskmanager.search;
+
+import com.project.taskmanager.model.Task;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+//Full-text search (tsvector) for whole words plus trigram matching (pg_trgm) for fragments and typos.
+//Both predicates are served by the GIN indexes created in db/migration.
+@Component
+@ConditionalOnProperty(name = "task.search.engine", havingValue = "postgres")
+public class PostgresTaskSearchEngine implements TaskSearchEngine {
+
+    //search_vector is the stored generated column from V2__task_search_indexes.sql: title weighted A, description B
+    private static final String MATCHES = "(t.search_vector @@ plainto_tsquery('simple', :query)" +
+            " OR t.title ILIKE :pattern OR t.description ILIKE :pattern)";
+    //title hits outrank description hits, then closer trigram similarity, then newer tasks; id makes it a total order
+    private static final String RANKING = " ORDER BY rank DESC, similarity DESC, id DESC";
+    //the maxCandidates best matches, always the same ones: ranking reads the stored column, and only these rows
+    //are fetched, sorted by the outer query and counted
+    private static final String CANDIDATES = "SELECT t.id, ts_rank(t.search_vector, plainto_tsquery('simple', :query)) AS rank," +
+            " similarity(t.title, :query) AS similarity FROM tasks t WHERE " + MATCHES + RANKING + " LIMIT :candidates";
+
+    private final EntityManager entityManager;
+    private final int maxCandidates;
+
+    public PostgresTaskSearchEngine(EntityManager entityManager,
+                                    @Value("${task.search.max-candidates:1000}") int maxCandidates) {
+        this.entityManager = entityManager;
+        this.maxCandidates = maxCandidates;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Page<Task> search(String query, Pageable pageable) {
+        String pattern = "%" + escapeLike(query) + "%";
+        List<Task> tasks = entityManager.createNativeQuery(
+                        "SELECT t.* FROM (" + CANDIDATES + ") c JOIN tasks t ON t.id = c.id" +
+                        " ORDER BY c.rank DESC, c.similarity DESC, c.id DESC" +
+                        " LIMIT :limit OFFSET :offset", Task.class)
+                .setParameter("query", query)
+                .setParameter("pattern", pattern)
+                .setParameter("candidates", maxCandidates)
+                .setParameter("limit", pageable.getPageSize())
+                .setParameter("offset", pageable.getOffset())
+                .getResultList();
+        //a short page already gives the total; otherwise count the candidates, which stops at maxCandidates, so the
+        //total is the number of results that can actually be paged through
+        return PageableExecutionUtils.getPage(tasks, pageable, () -> ((Number) entityManager.createNativeQuery(
+                        "SELECT count(*) FROM (SELECT 1 FROM tasks t WHERE " + MATCHES + " LIMIT :candidates) c")
+                .setParameter("query", query)
+                .setParameter("pattern", pattern)
+                .setParameter("candidates", maxCandidates)
+                .getSingleResult()).longValue());
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
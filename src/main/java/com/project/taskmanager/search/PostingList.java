@@ -0,0 +1,222 @@
+package com.project.taskmanager.search;
+
+import java.util.Arrays;
+
+//Sorted set of task ids stored as varint-encoded gaps, so dense lists cost about one byte per id.
+//Ids usually arrive in increasing order and are appended in place; anything else re-encodes the list.
+final class PostingList {
+
+    private byte[] data = new byte[4];
+    private int length;
+    private int size;
+    private int last;
+
+    void add(int id) {
+        if (size == 0 || id > last) {
+            append(id - (size == 0 ? 0 : last));
+            last = id;
+            size++;
+            return;
+        }
+        int[] ids = toArray();
+        int index = Arrays.binarySearch(ids, id);
+        if (index >= 0) {
+            return;
+        }
+        int insertAt = -index - 1;
+        int[] updated = new int[ids.length + 1];
+        System.arraycopy(ids, 0, updated, 0, insertAt);
+        updated[insertAt] = id;
+        System.arraycopy(ids, insertAt, updated, insertAt + 1, ids.length - insertAt);
+        encode(updated);
+    }
+
+    void remove(int id) {
+        if (size == 0 || id > last) {
+            return;
+        }
+        int[] ids = toArray();
+        int index = Arrays.binarySearch(ids, id);
+        if (index < 0) {
+            return;
+        }
+        int[] updated = new int[ids.length - 1];
+        System.arraycopy(ids, 0, updated, 0, index);
+        System.arraycopy(ids, index + 1, updated, index, ids.length - index - 1);
+        encode(updated);
+    }
+
+    //drops every id of a sorted array with one decode and one re-encode, however many there are
+    void removeAll(int[] sortedIds) {
+        if (size == 0 || sortedIds.length == 0) {
+            return;
+        }
+        int[] ids = toArray();
+        int[] kept = new int[ids.length];
+        int i = 0, j = 0, n = 0;
+        while (i < ids.length) {
+            if (j == sortedIds.length || ids[i] < sortedIds[j]) {
+                kept[n++] = ids[i++];
+            } else if (ids[i] > sortedIds[j]) {
+                j++;
+            } else {
+                i++;
+                j++;
+            }
+        }
+        if (n < ids.length) {
+            encode(Arrays.copyOf(kept, n));
+        }
+    }
+
+    int[] toArray() {
+        int[] ids = new int[size];
+        int position = 0;
+        int previous = 0;
+        for (int i = 0; i < size; i++) {
+            int gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                gap |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            previous += gap;
+            ids[i] = previous;
+        }
+        return ids;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int byteSize() {
+        return data.length;
+    }
+
+    private void encode(int[] ids) {
+        data = new byte[Math.max(4, ids.length + 4)];
+        length = 0;
+        size = 0;
+        last = 0;
+        for (int id : ids) {
+            append(id - last);
+            last = id;
+            size++;
+        }
+    }
+
+    private void append(int gap) {
+        //a varint needs at most 5 bytes
+        if (length + 5 > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 3 / 2, length + 5));
+        }
+        while ((gap & ~0x7F) != 0) {
+            data[length++] = (byte) ((gap & 0x7F) | 0x80);
+            gap >>>= 7;
+        }
+        data[length++] = (byte) gap;
+    }
+
+    //sorted intersection of two sorted id arrays
+    static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    //sorted union of two sorted id arrays
+    static int[] union(int[] a, int[] b) {
+        int[] result = new int[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length || j < b.length) {
+            if (j == b.length || (i < a.length && a[i] < b[j])) {
+                result[n++] = a[i++];
+            } else if (i == a.length || b[j] < a[i]) {
+                result[n++] = b[j++];
+            } else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    //sorted union of any number of sorted id arrays in a single k-way merge: every id is copied once, where
+    //folding union() over them re-copies the growing result for each list
+    static int[] unionAll(int[][] lists) {
+        int total = 0;
+        for (int[] list : lists) {
+            total += list.length;
+        }
+        int[] result = new int[total];
+        int[] positions = new int[lists.length];
+        //min-heap of the non-exhausted lists, ordered by their next id
+        int[] heap = new int[lists.length];
+        int heapSize = 0;
+        for (int l = 0; l < lists.length; l++) {
+            if (lists[l].length > 0) {
+                heap[heapSize++] = l;
+            }
+        }
+        for (int i = heapSize / 2 - 1; i >= 0; i--) {
+            siftDown(heap, heapSize, i, lists, positions);
+        }
+        int n = 0;
+        while (heapSize > 0) {
+            int l = heap[0];
+            int id = lists[l][positions[l]++];
+            if (n == 0 || result[n - 1] != id) {
+                result[n++] = id;
+            }
+            if (positions[l] == lists[l].length) {
+                heap[0] = heap[--heapSize];
+            }
+            siftDown(heap, heapSize, 0, lists, positions);
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private static void siftDown(int[] heap, int size, int i, int[][] lists, int[] positions) {
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && head(heap[left], lists, positions) < head(heap[smallest], lists, positions)) {
+                smallest = left;
+            }
+            if (right < size && head(heap[right], lists, positions) < head(heap[smallest], lists, positions)) {
+                smallest = right;
+            }
+            if (smallest == i) {
+                return;
+            }
+            int swap = heap[i];
+            heap[i] = heap[smallest];
+            heap[smallest] = swap;
+            i = smallest;
+        }
+    }
+
+    private static int head(int list, int[][] lists, int[] positions) {
+        return lists[list][positions[list]];
+    }
+}
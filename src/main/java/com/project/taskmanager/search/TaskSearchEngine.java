@@ -0,0 +1,12 @@
+package com.project.taskmanager.search;
+
+import com.project.taskmanager.model.Task;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+//Ranked search over task titles and descriptions. The implementation is picked with task.search.engine.
+public interface TaskSearchEngine {
+
+    //best matches first; the pageable's sort is ignored
+    Page<Task> search(String query, Pageable pageable);
+}
@@ -0,0 +1,296 @@
+package com.project.taskmanager.search;
+
+import com.project.taskmanager.event.TaskChangedEvent;
+import com.project.taskmanager.event.UserTasksDeletedEvent;
+import com.project.taskmanager.repository.TaskIndexView;
+import com.project.taskmanager.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+//In-JVM inverted index over task titles and descriptions, with one compressed posting list per token and field.
+//Built from a streamed scan when the application starts and kept current from TaskChangedEvents (and
+//UserTasksDeletedEvents) after each commit.
+@Slf4j
+@Component
+@ConditionalOnExpression("'${task.search.engine:memory}' == 'memory' or '${task.search.title-backend:database}' == 'index'")
+public class TaskTextIndex {
+
+    static final int TITLE_WEIGHT = 2;
+    static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final class Term {
+        private final PostingList title = new PostingList();
+        private final PostingList description = new PostingList();
+
+        private boolean isEmpty() {
+            return title.isEmpty() && description.isEmpty();
+        }
+    }
+
+    private final TaskRepository taskRepository;
+
+    //sorted so the last query token can be matched as a prefix
+    private final NavigableMap<String, Term> terms = new TreeMap<>();
+    //tokens of each indexed task, needed to take it out again; the strings are the dictionary keys
+    private final Map<Integer, String[]> tokensByTask = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public TaskTextIndex(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try (Stream<TaskIndexView> tasks = taskRepository.streamIndexViews()) {
+            terms.clear();
+            tokensByTask.clear();
+            tasks.forEach(task -> add(task.getId(), task.getTitle(), task.getDescription()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed {} tasks for search: {} terms, {} posting bytes", size(), termCount(), postingBytes());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.getTaskId());
+            if (event.getType() == TaskChangedEvent.Type.SAVED) {
+                add(event.getTaskId(), event.getTitle(), event.getDescription());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //a deleted user's chunk: every posting list it touches is rewritten once, not once per task
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserTasksDeleted(UserTasksDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            removeAll(event.getTaskIds());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //ids of tasks containing every query token (the last one as a prefix), best score first, newest first on ties
+    public List<Integer> rank(String query) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        int[] ids = null;
+        int[] scores = null;
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < tokens.size(); i++) {
+                boolean prefix = i == tokens.size() - 1;
+                int[] titleIds = matches(tokens.get(i), prefix, true);
+                int[] descriptionIds = matches(tokens.get(i), prefix, false);
+                int[] tokenIds = PostingList.union(titleIds, descriptionIds);
+                if (tokenIds.length == 0) {
+                    return List.of();
+                }
+                int[] tokenScores = new int[tokenIds.length];
+                for (int j = 0; j < tokenIds.length; j++) {
+                    tokenScores[j] = Arrays.binarySearch(titleIds, tokenIds[j]) >= 0 ? TITLE_WEIGHT : DESCRIPTION_WEIGHT;
+                }
+                if (ids == null) {
+                    ids = tokenIds;
+                    scores = tokenScores;
+                } else {
+                    int[][] combined = combine(ids, scores, tokenIds, tokenScores);
+                    ids = combined[0];
+                    scores = combined[1];
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        //score in the high bits and id in the low bits, so one primitive sort orders by both
+        long[] keys = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            keys[i] = ((long) scores[i] << 32) | ids[i];
+        }
+        Arrays.sort(keys);
+        List<Integer> ranked = new ArrayList<>(keys.length);
+        for (int i = keys.length - 1; i >= 0; i--) {
+            ranked.add((int) keys[i]);
+        }
+        return ranked;
+    }
+
+    //ascending ids of tasks whose title contains every query token (the last one as a prefix)
+    public int[] matchTitle(String query) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return new int[0];
+        }
+        lock.readLock().lock();
+        try {
+            int[] ids = null;
+            for (int i = 0; i < tokens.size(); i++) {
+                int[] tokenIds = matches(tokens.get(i), i == tokens.size() - 1, true);
+                ids = ids == null ? tokenIds : PostingList.intersect(ids, tokenIds);
+                if (ids.length == 0) {
+                    break;
+                }
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return tokensByTask.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int termCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long postingBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (Term term : terms.values()) {
+                bytes += term.title.byteSize() + term.description.byteSize();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int[] matches(String token, boolean prefix, boolean title) {
+        if (!prefix) {
+            Term term = terms.get(token);
+            return term == null ? new int[0] : (title ? term.title : term.description).toArray();
+        }
+        //short prefixes expand to many terms, so their lists are merged in one pass
+        return PostingList.unionAll(terms.subMap(token, true, token + Character.MAX_VALUE, false).values().stream()
+                .map(term -> (title ? term.title : term.description).toArray())
+                .toArray(int[][]::new));
+    }
+
+    //ids present in both lists, with their scores added up
+    private static int[][] combine(int[] ids, int[] scores, int[] otherIds, int[] otherScores) {
+        int n = Math.min(ids.length, otherIds.length);
+        int[] combinedIds = new int[n];
+        int[] combinedScores = new int[n];
+        int i = 0, j = 0, k = 0;
+        while (i < ids.length && j < otherIds.length) {
+            if (ids[i] < otherIds[j]) {
+                i++;
+            } else if (ids[i] > otherIds[j]) {
+                j++;
+            } else {
+                combinedIds[k] = ids[i];
+                combinedScores[k++] = scores[i++] + otherScores[j++];
+            }
+        }
+        return new int[][]{Arrays.copyOf(combinedIds, k), Arrays.copyOf(combinedScores, k)};
+    }
+
+    private void add(Integer taskId, String title, String description) {
+        Set<String> titleTokens = new HashSet<>(tokenize(title));
+        Set<String> descriptionTokens = new HashSet<>(tokenize(description));
+        //a token found in the title is only posted there, since the title weight wins anyway
+        descriptionTokens.removeAll(titleTokens);
+        String[] tokens = new String[titleTokens.size() + descriptionTokens.size()];
+        int i = 0;
+        for (String token : titleTokens) {
+            tokens[i++] = post(token, taskId, true);
+        }
+        for (String token : descriptionTokens) {
+            tokens[i++] = post(token, taskId, false);
+        }
+        tokensByTask.put(taskId, tokens);
+    }
+
+    private String post(String token, int taskId, boolean title) {
+        Map.Entry<String, Term> entry = terms.ceilingEntry(token);
+        Term term;
+        if (entry != null && entry.getKey().equals(token)) {
+            token = entry.getKey();
+            term = entry.getValue();
+        } else {
+            term = new Term();
+            terms.put(token, term);
+        }
+        (title ? term.title : term.description).add(taskId);
+        return token;
+    }
+
+    private void remove(Integer taskId) {
+        String[] tokens = tokensByTask.remove(taskId);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            Term term = terms.get(token);
+            term.title.remove(taskId);
+            term.description.remove(taskId);
+            if (term.isEmpty()) {
+                terms.remove(token);
+            }
+        }
+    }
+
+    //taskIds ascending, so the ids gathered per token are too
+    private void removeAll(List<Integer> taskIds) {
+        Map<String, List<Integer>> idsByToken = new HashMap<>();
+        for (Integer taskId : taskIds) {
+            String[] tokens = tokensByTask.remove(taskId);
+            if (tokens != null) {
+                for (String token : tokens) {
+                    idsByToken.computeIfAbsent(token, t -> new ArrayList<>()).add(taskId);
+                }
+            }
+        }
+        idsByToken.forEach((token, ids) -> {
+            int[] sortedIds = ids.stream().mapToInt(Integer::intValue).toArray();
+            Term term = terms.get(token);
+            term.title.removeAll(sortedIds);
+            term.description.removeAll(sortedIds);
+            if (term.isEmpty()) {
+                terms.remove(token);
+            }
+        });
+    }
+
+    //lower-cased runs of letters and digits
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+}
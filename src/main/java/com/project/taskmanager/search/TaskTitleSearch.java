@@ -0,0 +1,11 @@
+package com.project.taskmanager.search;
+
+import com.project.taskmanager.model.Task;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+//Backend for title lookups in task listings. The implementation is picked with task.search.title-backend.
+public interface TaskTitleSearch {
+
+    Page<Task> findByTitle(String title, Pageable pageable);
+}
@@ -0,0 +1,332 @@
+package com.project.taskmanager.search;
+
+import com.project.taskmanager.dto.TaskSuggestion;
+import com.project.taskmanager.enums.Priority;
+import com.project.taskmanager.event.TaskChangedEvent;
+import com.project.taskmanager.event.UserTasksDeletedEvent;
+import com.project.taskmanager.repository.TaskIndexView;
+import com.project.taskmanager.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+//Per-user trie over the words of task titles for autocomplete, so "rep" completes "Finish report". Keys are single
+//words cut to MAX_WORD_LENGTH, so the trie grows with a user's vocabulary rather than with title length.
+//Each node caches the best MAX_SUGGESTIONS tasks below it, so a one-word lookup is a walk down the prefix and a copy;
+//a longer prefix takes the tasks holding its first word and checks the rest against their titles.
+//Off unless task.suggest.enabled is set, and capped per user and in total, since it holds titles in memory.
+@Slf4j
+@Component
+public class TaskTitleSuggester {
+
+    public static final int MAX_SUGGESTIONS = 20;
+    static final int MAX_WORD_LENGTH = 32;
+
+    private record Entry(int taskId, int userId, String title, Priority priority) {
+    }
+
+    //higher priority first, then newer tasks
+    private static final Comparator<Entry> RANKING = Comparator.comparing(Entry::priority, Comparator.reverseOrder())
+            .thenComparing(Entry::taskId, Comparator.reverseOrder());
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private static final class Node {
+        //children kept as parallel arrays sorted by character, far smaller than a map per node
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        //tasks whose key ends at this node
+        private Entry[] here = NO_ENTRIES;
+        //best entries of this subtree
+        private Entry[] top = NO_ENTRIES;
+
+        private Node child(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node addChild(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newKeys[insertAt] = key;
+            newChildren[insertAt] = new Node();
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[insertAt];
+        }
+
+        private void removeChild(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index < 0) {
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        private boolean isEmpty() {
+            return here.length == 0 && children.length == 0;
+        }
+
+        //children's caches are already their best entries, so merging them with this node's own is enough
+        private void refreshTop() {
+            List<Entry> candidates = new ArrayList<>(here.length + children.length * MAX_SUGGESTIONS);
+            Collections.addAll(candidates, here);
+            for (Node child : children) {
+                Collections.addAll(candidates, child.top);
+            }
+            candidates.sort(RANKING);
+            List<Entry> best = new ArrayList<>(Math.min(candidates.size(), MAX_SUGGESTIONS));
+            Set<Integer> seen = new HashSet<>();
+            for (Entry entry : candidates) {
+                //a title with a repeated word reaches the same subtree twice
+                if (seen.add(entry.taskId())) {
+                    best.add(entry);
+                    if (best.size() == MAX_SUGGESTIONS) {
+                        break;
+                    }
+                }
+            }
+            top = best.toArray(NO_ENTRIES);
+        }
+    }
+
+    private final TaskRepository taskRepository;
+    private final boolean enabled;
+    private final int maxTasksPerUser;
+    private final int maxTasks;
+
+    private final Map<Integer, Node> rootsByUser = new HashMap<>();
+    private final Map<Integer, Entry> entriesByTask = new HashMap<>();
+    private final Map<Integer, Integer> taskCountsByUser = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    //tasks left out because a cap was reached
+    private long skipped;
+
+    public TaskTitleSuggester(TaskRepository taskRepository,
+                              @Value("${task.suggest.enabled:false}") boolean enabled,
+                              @Value("${task.suggest.max-tasks-per-user:10000}") int maxTasksPerUser,
+                              @Value("${task.suggest.max-tasks:1000000}") int maxTasks) {
+        this.taskRepository = taskRepository;
+        this.enabled = enabled;
+        this.maxTasksPerUser = maxTasksPerUser;
+        this.maxTasks = maxTasks;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try (Stream<TaskIndexView> tasks = taskRepository.streamIndexViews()) {
+            rootsByUser.clear();
+            entriesByTask.clear();
+            taskCountsByUser.clear();
+            skipped = 0;
+            tasks.forEach(task -> add(new Entry(task.getId(), task.getUserId(), task.getTitle(), task.getPriority())));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed {} task titles for suggestions, {} left out by the size caps", entriesByTask.size(), skipped);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Entry previous = remove(event.getTaskId());
+            if (event.getType() == TaskChangedEvent.Type.DELETED) {
+                return;
+            }
+            //updates do not carry the owner, which never changes
+            Integer userId = event.getUserId() != null ? event.getUserId() : previous != null ? previous.userId() : null;
+            if (userId != null && event.getTitle() != null && event.getPriority() != null) {
+                add(new Entry(event.getTaskId(), userId, event.getTitle(), event.getPriority()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //the user is going away with all of their tasks, so their whole trie is dropped with the first chunk;
+    //later chunks only clear what is left of their entries
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserTasksDeleted(UserTasksDeletedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            rootsByUser.remove(event.getUserId());
+            taskCountsByUser.remove(event.getUserId());
+            event.getTaskIds().forEach(entriesByTask::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //up to limit of the user's task titles with a word starting with the prefix, best first
+    public List<TaskSuggestion> suggest(Integer userId, String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || !Character.isLetterOrDigit(normalized.charAt(0))) {
+            return List.of();
+        }
+        int firstWordEnd = 0;
+        while (firstWordEnd < normalized.length() && Character.isLetterOrDigit(normalized.charAt(firstWordEnd))) {
+            firstWordEnd++;
+        }
+        String firstWord = normalized.substring(0, Math.min(firstWordEnd, MAX_WORD_LENGTH));
+        lock.readLock().lock();
+        try {
+            Node node = rootsByUser.get(userId);
+            for (int i = 0; node != null && i < firstWord.length(); i++) {
+                node = node.child(firstWord.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            Entry[] entries = node.top;
+            if (firstWordEnd != normalized.length() || firstWordEnd > MAX_WORD_LENGTH) {
+                //the first word is complete (or cut), so every candidate is a task holding exactly that key
+                entries = Arrays.stream(node.here)
+                        .filter(entry -> startsWordWith(normalize(entry.title()), normalized))
+                        .sorted(RANKING)
+                        .toArray(Entry[]::new);
+            }
+            int count = Math.min(limit, entries.length);
+            List<TaskSuggestion> suggestions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Entry entry = entries[i];
+                suggestions.add(new TaskSuggestion(entry.taskId(), entry.title(), entry.priority()));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean startsWordWith(String title, String prefix) {
+        for (int i = title.indexOf(prefix); i >= 0; i = title.indexOf(prefix, i + 1)) {
+            if (i == 0 || !Character.isLetterOrDigit(title.charAt(i - 1))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void add(Entry entry) {
+        if (entry.title() == null) {
+            return;
+        }
+        int userTasks = taskCountsByUser.getOrDefault(entry.userId(), 0);
+        if (userTasks >= maxTasksPerUser || entriesByTask.size() >= maxTasks) {
+            skipped++;
+            return;
+        }
+        taskCountsByUser.put(entry.userId(), userTasks + 1);
+        entriesByTask.put(entry.taskId(), entry);
+        Node root = rootsByUser.computeIfAbsent(entry.userId(), id -> new Node());
+        for (String key : keys(entry.title())) {
+            Node[] path = new Node[key.length() + 1];
+            path[0] = root;
+            for (int i = 0; i < key.length(); i++) {
+                path[i + 1] = path[i].addChild(key.charAt(i));
+            }
+            Node last = path[key.length()];
+            last.here = Arrays.copyOf(last.here, last.here.length + 1);
+            last.here[last.here.length - 1] = entry;
+            for (int i = path.length - 1; i >= 0; i--) {
+                path[i].refreshTop();
+            }
+        }
+    }
+
+    private Entry remove(Integer taskId) {
+        Entry entry = entriesByTask.remove(taskId);
+        if (entry == null) {
+            return null;
+        }
+        taskCountsByUser.computeIfPresent(entry.userId(), (id, count) -> count > 1 ? count - 1 : null);
+        Node root = rootsByUser.get(entry.userId());
+        if (root == null) {
+            //the user's trie already went with a UserTasksDeletedEvent
+            return entry;
+        }
+        for (String key : keys(entry.title())) {
+            Node[] path = new Node[key.length() + 1];
+            path[0] = root;
+            for (int i = 0; i < key.length() && path[i] != null; i++) {
+                path[i + 1] = path[i].child(key.charAt(i));
+            }
+            Node last = path[key.length()];
+            if (last == null) {
+                continue;
+            }
+            last.here = Arrays.stream(last.here).filter(e -> e.taskId() != taskId).toArray(Entry[]::new);
+            for (int i = path.length - 1; i >= 0; i--) {
+                if (i > 0 && path[i].isEmpty()) {
+                    path[i - 1].removeChild(key.charAt(i - 1));
+                } else {
+                    path[i].refreshTop();
+                }
+            }
+        }
+        if (root.isEmpty()) {
+            rootsByUser.remove(entry.userId());
+        }
+        return entry;
+    }
+
+    //the distinct words of the title, each cut to MAX_WORD_LENGTH
+    static Set<String> keys(String title) {
+        String normalized = normalize(title);
+        Set<String> keys = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                keys.add(normalized.substring(start, Math.min(i, start + MAX_WORD_LENGTH)));
+                start = -1;
+            }
+        }
+        return keys;
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
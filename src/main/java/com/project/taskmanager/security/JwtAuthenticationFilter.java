@@ -5,6 +5,7 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,32 +20,84 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtProvider jwtProvider;
     private final ApiUserDetailsService userDetailsService;
+    private final TokenRevocationRegistry revocationRegistry;
+    private final VerifiedTokenCache tokenCache;
+    private final boolean statelessPrincipal;
 
-    public JwtAuthenticationFilter(JwtProvider jwtProvider, ApiUserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtProvider jwtProvider, ApiUserDetailsService userDetailsService,
+                                   TokenRevocationRegistry revocationRegistry, VerifiedTokenCache tokenCache,
+                                   @Value("${jwt.stateless-principal:false}") boolean statelessPrincipal) {
         this.jwtProvider = jwtProvider;
         this.userDetailsService = userDetailsService;
+        this.revocationRegistry = revocationRegistry;
+        this.tokenCache = tokenCache;
+        this.statelessPrincipal = statelessPrincipal;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String authHeader = request.getHeader("Authorization");
 
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+        //check user isn't already logged in
+        if (authHeader != null && authHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
             String token = authHeader.substring(7);
-            String username = jwtProvider.getUsernameFromToken(token);
-            //check user isn't already logged in
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                if (jwtProvider.validateToken(token, userDetails)) {
-                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities());
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                }
+            UserDetails userDetails = authenticate(token);
+            if (userDetails != null) {
+                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                        userDetails,
+                        null,
+                        userDetails.getAuthorities());
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         }
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    //returns the principal for a valid token, or null if the token must not authenticate the request
+    private UserDetails authenticate(String token) {
+        //a token seen before skips both signature verification and the user lookup
+        UserDetails cached = tokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        //single parse: signature, expiry and every claim the filter needs
+        VerifiedToken verifiedToken = jwtProvider.verifyToken(token);
+        if (verifiedToken == null) {
+            return null;
+        }
+        UserDetails userDetails = loadUserDetails(verifiedToken);
+        if (!verifiedToken.getUsername().equals(userDetails.getUsername()) || isRevoked(verifiedToken, userDetails)) {
+            return null;
+        }
+        if (userDetails instanceof ApiUserDetails apiUserDetails) {
+            tokenCache.put(token, apiUserDetails, verifiedToken.getExpiration());
+            //the user may have been revoked between the check above and the put
+            if (isRevoked(verifiedToken, userDetails)) {
+                tokenCache.evictUser(apiUserDetails.getId());
+                return null;
+            }
+        }
+        return userDetails;
+    }
+
+    private UserDetails loadUserDetails(VerifiedToken verifiedToken) {
+        if (statelessPrincipal) {
+            //trust the signed id/role claims instead of hitting the database
+            UserDetails userDetails = verifiedToken.toUserDetails();
+            if (userDetails != null) {
+                return userDetails;
+            }
+        }
+        //stateless mode off, or an older token without id/role claims
+        return userDetailsService.loadUserByUsername(verifiedToken.getUsername());
+    }
+
+    private boolean isRevoked(VerifiedToken verifiedToken, UserDetails userDetails) {
+        if (userDetails instanceof ApiUserDetails apiUserDetails) {
+            return revocationRegistry.isRevoked(apiUserDetails.getId(), verifiedToken);
+        }
+        return false;
+    }
+}
@@ -14,6 +14,11 @@ import java.util.Date;
 @Component
 public class JwtProvider {
 
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLE_CLAIM = "role";
+    //iat is truncated to seconds; revocation checks need the exact issue time
+    static final String ISSUED_AT_MS_CLAIM = "iat_ms";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
@@ -22,52 +27,55 @@ public class JwtProvider {
 
     private Key key;
 
+    //immutable and thread-safe, so one instance is shared by every request
+    private JwtParser parser;
+
     @PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
     }
 
-    // Generate JWT token for a user
+    // Generate JWT token for a user, embedding id and role so the principal can be rebuilt without a DB lookup
     public String generateToken(UserDetails userDetails) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expirationMs);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(key, SignatureAlgorithm.HS256)
-                .compact();
+                .claim(ISSUED_AT_MS_CLAIM, now.getTime())
+                .setExpiration(expiryDate);
+        if (userDetails instanceof ApiUserDetails apiUserDetails) {
+            builder.claim(USER_ID_CLAIM, apiUserDetails.getId())
+                    .claim(ROLE_CLAIM, apiUserDetails.getRole().name());
+        }
+        return builder.signWith(key, SignatureAlgorithm.HS256).compact();
+    }
+
+    // Verify signature and expiry once and return all claims, null if the token is invalid or expired
+    public VerifiedToken verifyToken(String token) {
+        try {
+            return new VerifiedToken(parser.parseClaimsJws(token).getBody());
+        } catch (JwtException | IllegalArgumentException e) {
+            // Invalid token
+            return null;
+        }
     }
 
     // Extract username from token
     public String getUsernameFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
+        return parser.parseClaimsJws(token)
                 .getBody()
                 .getSubject();
     }
 
-    private boolean isTokenExpired(String token) {
-        Date expiration = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getExpiration();
-        return expiration.before(new Date());
-    }
-
     public boolean validateToken(String token, UserDetails userDetails) {
-        try {
-            String username = getUsernameFromToken(token);
-            return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
-        } catch (JwtException | IllegalArgumentException e) {
-            // Invalid token
-            return false;
-        }
+        //parsing already rejects expired tokens, so one parse covers signature, expiry and subject
+        VerifiedToken verifiedToken = verifyToken(token);
+        return verifiedToken != null && verifiedToken.getUsername().equals(userDetails.getUsername());
     }
 
     // For testing only
@@ -0,0 +1,47 @@
+package com.project.taskmanager.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//Tracks users whose tokens must no longer be trusted (role changed, renamed or deleted).
+//Any token issued before the revocation time is rejected until it would have expired anyway.
+//Revocations live in this instance only: with several instances, jwt.stateless-principal must stay off (see application-prod.properties).
+@Component
+public class TokenRevocationRegistry {
+
+    private final Map<Integer, Long> revokedAt = new ConcurrentHashMap<>();
+    private final long expirationMs;
+
+    public TokenRevocationRegistry(@Value("${jwt.expiration-ms}") long expirationMs) {
+        this.expirationMs = expirationMs;
+    }
+
+    public void revokeUser(Integer userId) {
+        long now = System.currentTimeMillis();
+        revokedAt.put(userId, now);
+        //every token issued before now - expirationMs has expired already, so older entries are useless
+        revokedAt.values().removeIf(time -> time < now - expirationMs);
+    }
+
+    public boolean isRevoked(Integer userId, VerifiedToken verifiedToken) {
+        if (userId == null) {
+            return false;
+        }
+        Long revokedTime = revokedAt.get(userId);
+        if (revokedTime == null) {
+            return false;
+        }
+        Long issuedAtMillis = verifiedToken.getIssuedAtMillis();
+        if (issuedAtMillis != null) {
+            //a login right after the revocation (e.g. following a rename) must get a working token
+            return issuedAtMillis < revokedTime;
+        }
+        //older tokens only carry iat, with second precision, so one from the revocation's second is rejected too
+        Date issuedAt = verifiedToken.getIssuedAt();
+        return issuedAt == null || issuedAt.getTime() <= revokedTime;
+    }
+}
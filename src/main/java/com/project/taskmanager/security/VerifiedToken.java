@@ -0,0 +1,56 @@
+package com.project.taskmanager.security;
+
+import com.project.taskmanager.enums.Role;
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+//Claims of a token whose signature and expiry have already been checked, so callers never parse it again.
+public class VerifiedToken {
+
+    private final Claims claims;
+
+    VerifiedToken(Claims claims) {
+        this.claims = claims;
+    }
+
+    public String getUsername() {
+        return claims.getSubject();
+    }
+
+    public Date getIssuedAt() {
+        return claims.getIssuedAt();
+    }
+
+    //millisecond issue time, null for tokens issued before the claim existed
+    public Long getIssuedAtMillis() {
+        return claims.get(JwtProvider.ISSUED_AT_MS_CLAIM, Long.class);
+    }
+
+    public Date getExpiration() {
+        return claims.getExpiration();
+    }
+
+    public Integer getUserId() {
+        return claims.get(JwtProvider.USER_ID_CLAIM, Integer.class);
+    }
+
+    public Role getRole() {
+        String role = claims.get(JwtProvider.ROLE_CLAIM, String.class);
+        return role != null ? Role.valueOf(role) : null;
+    }
+
+    public <T> T getClaim(String name, Class<T> type) {
+        return claims.get(name, type);
+    }
+
+    // Build the principal from the signed claims, returns null for tokens issued without id/role claims
+    public ApiUserDetails toUserDetails() {
+        Integer userId = getUserId();
+        Role role = getRole();
+        if (userId == null || role == null) {
+            return null;
+        }
+        return new ApiUserDetails(userId, getUsername(), null, role);
+    }
+}
@@ -0,0 +1,169 @@
+package com.project.taskmanager.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+//Bounded cache of tokens that already passed verification, keyed by a SHA-256 digest of the token so raw
+//bearer tokens are never held in memory. Entries expire with the token itself, so a hit skips both the
+//signature check and the user lookup. Caffeine keeps reads lock-free, since every authenticated request lands here.
+//A hit also skips the revocation check, and other instances never evict here, so jwt.cache.max-ttl bounds how long
+//a changed role, username or deleted user can still be served.
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+    private final boolean enabled;
+    private final long maxTtlMs;
+
+    private final Cache<String, CachedPrincipal> entries;
+    //lets all cached tokens of a user be dropped when the user changes; kept in step by the removal listener
+    private final Map<Integer, Map<String, CachedPrincipal>> keysByUser = new ConcurrentHashMap<>();
+
+    public VerifiedTokenCache(@Value("${jwt.cache.enabled:true}") boolean enabled,
+                              @Value("${jwt.cache.max-size:10000}") int maxSize,
+                              @Value("${jwt.cache.max-ttl:60s}") Duration maxTtl) {
+        this.enabled = enabled;
+        this.maxTtlMs = maxTtl.toMillis();
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .removalListener((String key, CachedPrincipal cached, RemovalCause cause) -> {
+                    if (key != null && cached != null) {
+                        removeUserKey(key, cached);
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    public ApiUserDetails get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        CachedPrincipal cached = entries.getIfPresent(digest(token));
+        return cached != null ? cached.userDetails : null;
+    }
+
+    public void put(String token, ApiUserDetails userDetails, Date expiration) {
+        long now = System.currentTimeMillis();
+        if (!enabled || expiration == null || expiration.getTime() <= now) {
+            return;
+        }
+        String key = digest(token);
+        //the password hash is not needed to authorize requests, so it is not kept
+        ApiUserDetails principal = new ApiUserDetails(userDetails.getId(), userDetails.getUsername(), null, userDetails.getRole());
+        CachedPrincipal cached = new CachedPrincipal(principal, Math.min(expiration.getTime(), now + maxTtlMs));
+        //indexed first, so evictUser can never miss an entry that is already in the cache
+        keysByUser.compute(principal.getId(), (id, keys) -> {
+            Map<String, CachedPrincipal> userKeys = keys != null ? keys : new ConcurrentHashMap<>();
+            userKeys.put(key, cached);
+            return userKeys;
+        });
+        entries.put(key, cached);
+    }
+
+    public void evictUser(Integer userId) {
+        Map<String, CachedPrincipal> keys = keysByUser.remove(userId);
+        if (keys != null) {
+            entries.invalidateAll(keys.keySet());
+        }
+    }
+
+    public long getHitCount() {
+        return entries.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return entries.stats().missCount();
+    }
+
+    //entries dropped for size or expiry; evictUser invalidations are not counted
+    public long getEvictionCount() {
+        return entries.stats().evictionCount();
+    }
+
+    public long size() {
+        return entries.estimatedSize();
+    }
+
+    //runs pending evictions now instead of on a later cache operation; for tests
+    void cleanUp() {
+        entries.cleanUp();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("jwt.token.cache.requests", this, VerifiedTokenCache::getHitCount)
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("jwt.token.cache.requests", this, VerifiedTokenCache::getMissCount)
+                .tag("result", "miss").register(registry);
+        FunctionCounter.builder("jwt.token.cache.evictions", this, VerifiedTokenCache::getEvictionCount)
+                .register(registry);
+        Gauge.builder("jwt.token.cache.size", this, VerifiedTokenCache::size)
+                .register(registry);
+    }
+
+    //only drops the index entry of this very value, so a listener running late cannot unindex a newer put of the key
+    private void removeUserKey(String key, CachedPrincipal cached) {
+        keysByUser.computeIfPresent(cached.userDetails.getId(), (id, keys) -> {
+            keys.remove(key, cached);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            //every JVM is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class CachedPrincipal {
+        private final ApiUserDetails userDetails;
+        private final long expiresAt;
+
+        private CachedPrincipal(ApiUserDetails userDetails, long expiresAt) {
+            this.userDetails = userDetails;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    //each entry lives until its token's exp claim or max-ttl, whichever comes first; reads do not extend it
+    private static class TokenExpiry implements Expiry<String, CachedPrincipal> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedPrincipal cached, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, cached.expiresAt - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedPrincipal cached, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, cached, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedPrincipal cached, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
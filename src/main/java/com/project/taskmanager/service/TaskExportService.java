@@ -0,0 +1,9 @@
+package com.project.taskmanager.service;
+
+import com.project.taskmanager.enums.TaskFileFormat;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public interface TaskExportService {
+    //checks the user up front, then returns a body that streams their tasks as rows arrive from the database
+    StreamingResponseBody exportTasks(Integer userId, TaskFileFormat format);
+}
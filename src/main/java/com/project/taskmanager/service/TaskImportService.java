@@ -0,0 +1,11 @@
+package com.project.taskmanager.service;
+
+import com.project.taskmanager.dto.ImportReport;
+import com.project.taskmanager.enums.TaskFileFormat;
+
+import java.io.InputStream;
+
+public interface TaskImportService {
+    //reads the body record by record, writing valid tasks in fixed-size transactions; records up to resumeAfter are skipped
+    ImportReport importTasks(Integer userId, TaskFileFormat format, InputStream body, long resumeAfter);
+}
@@ -1,19 +1,59 @@
 package com.project.taskmanager.service;
 
+import com.project.taskmanager.dto.BatchCreateResponse;
+import com.project.taskmanager.dto.BulkUpdateRequest;
+import com.project.taskmanager.dto.BulkUpdateResponse;
+import com.project.taskmanager.dto.CursorPage;
+import com.project.taskmanager.dto.SlicePage;
+import com.project.taskmanager.dto.TaskLookupResult;
+import com.project.taskmanager.dto.TaskPatchRequest;
 import com.project.taskmanager.dto.TaskRequest;
 import com.project.taskmanager.dto.TaskResponse;
+import com.project.taskmanager.dto.TaskSuggestion;
 import com.project.taskmanager.enums.Status;
+import com.project.taskmanager.enums.TotalMode;
 import org.springframework.data.domain.Page;
 
+import java.util.List;
+
 public interface TaskService {
-    TaskResponse getTask(Integer id);
+    //ownerId limits the task to that user's tasks; null means no restriction (admin)
+    TaskResponse getTask(Integer id, Integer ownerId);
+    //current ETag of the task from its version alone, for answering If-None-Match without loading it
+    String getTaskETag(Integer id, Integer ownerId);
+    //current ETag of a list page from its ids and versions; userId and status are the page's filters, null if unfiltered
+    String getTaskPageETag(Integer page, Integer numTasks, String sort, Integer userId, Status status);
+    //one result per requested id, in request order; missing or forbidden ids are reported instead of failing
+    List<TaskLookupResult> getTasksByIds(List<Integer> ids, Integer ownerId);
     Page<TaskResponse> getTasks(Integer page, Integer numTasks, String sort);
-    void deleteTaskById(Integer id);
+    void deleteTaskById(Integer id, Integer ownerId);
     TaskResponse addTask(TaskRequest taskRequest, Integer userId);
-    TaskResponse updateTask(TaskRequest taskRequest, Integer userId);
+    //validates each item on its own; valid items are inserted together in JDBC batches
+    BatchCreateResponse addTasks(List<TaskRequest> taskRequests, Integer userId);
+    //one set-based UPDATE over the selected tasks, limited to ownerId's tasks unless ownerId is null
+    BulkUpdateResponse bulkUpdateTasks(BulkUpdateRequest bulkUpdateRequest, Integer ownerId);
+    //expectedVersion (from If-Match) is checked by the UPDATE itself; null updates whatever version is there
+    TaskResponse updateTask(TaskRequest taskRequest, Integer id, Integer ownerId, Long expectedVersion);
+    //writes only the fields present in the patch, in one UPDATE without reading the task first; returns the new version
+    Long patchTask(TaskPatchRequest taskPatchRequest, Integer id, Integer ownerId, Long expectedVersion);
     Page<TaskResponse> getTasksByUserId(Integer page, Integer numTasks, String sort, Integer userId);
     Page<TaskResponse> getTasksByStatus(Integer page, Integer numTasks, String sort, Status status);
     Page<TaskResponse> getTasksByUserIdAndStatus(Integer page, Integer numTasks, String sort, Integer userId, Status status);
     Page<TaskResponse> getTasksByTitle(Integer page, Integer numTasks, String sort, String title);
-    boolean isTaskOwner(Integer taskId, String username);
+    //ranked search over titles and descriptions
+    Page<TaskResponse> searchTasks(Integer page, Integer numTasks, String query);
+    //autocomplete over the user's own task titles
+    List<TaskSuggestion> suggestTitles(Integer userId, String prefix, Integer limit);
+    //count-free variants: hasNext instead of an exact total, optionally with an estimated total
+    SlicePage<TaskResponse> sliceTasks(Integer page, Integer numTasks, String sort, TotalMode total);
+    SlicePage<TaskResponse> sliceTasksByUserId(Integer page, Integer numTasks, String sort, Integer userId, TotalMode total);
+    SlicePage<TaskResponse> sliceTasksByStatus(Integer page, Integer numTasks, String sort, Status status, TotalMode total);
+    SlicePage<TaskResponse> sliceTasksByUserIdAndStatus(Integer page, Integer numTasks, String sort, Integer userId, Status status, TotalMode total);
+    SlicePage<TaskResponse> sliceTasksByTitle(Integer page, Integer numTasks, String sort, String title, TotalMode total);
+    //keyset variants: an empty cursor starts from the first page, a cursor carries its own sort
+    CursorPage<TaskResponse> scrollTasks(String cursor, Integer numTasks, String sort);
+    CursorPage<TaskResponse> scrollTasksByUserId(String cursor, Integer numTasks, String sort, Integer userId);
+    CursorPage<TaskResponse> scrollTasksByStatus(String cursor, Integer numTasks, String sort, Status status);
+    CursorPage<TaskResponse> scrollTasksByUserIdAndStatus(String cursor, Integer numTasks, String sort, Integer userId, Status status);
+    CursorPage<TaskResponse> scrollTasksByTitle(String cursor, Integer numTasks, String sort, String title);
 }
@@ -0,0 +1,11 @@
+package com.project.taskmanager.service;
+
+import com.project.taskmanager.dto.UserDeletionStatus;
+
+public interface UserDeletionService {
+    //deletes the user's tasks in separately committed chunks, then the user; returns the number of tasks deleted
+    long deleteUser(Integer userId);
+    //same work on a background thread; poll the returned job for progress
+    UserDeletionStatus startUserDeletion(Integer userId);
+    UserDeletionStatus getDeletionStatus(String jobId);
+}
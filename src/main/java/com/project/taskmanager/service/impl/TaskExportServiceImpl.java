@@ -0,0 +1,114 @@
+package com.project.taskmanager.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.project.taskmanager.dto.TaskResponse;
+import com.project.taskmanager.enums.TaskFileFormat;
+import com.project.taskmanager.repository.TaskExportView;
+import com.project.taskmanager.repository.TaskRepository;
+import com.project.taskmanager.service.TaskExportService;
+import com.project.taskmanager.utils.UserUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+//Writes each row as soon as the cursor returns it, so memory use does not grow with the number of tasks.
+@Service
+public class TaskExportServiceImpl implements TaskExportService {
+
+    static final String CSV_HEADER = "id,title,description,priority,status";
+
+    private final TaskRepository taskRepository;
+    private final UserUtils userUtils;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public TaskExportServiceImpl(TaskRepository taskRepository, UserUtils userUtils, ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.userUtils = userUtils;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        //Postgres only honours the fetch size inside a transaction; otherwise it materialises the whole result
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public StreamingResponseBody exportTasks(Integer userId, TaskFileFormat format) {
+        //before any bytes are written, so an unknown user is still a 404
+        userUtils.findUserById(userId);
+        return outputStream -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<TaskExportView> tasks = taskRepository.streamExportViewsByUserId(userId)) {
+                if (format == TaskFileFormat.CSV) {
+                    writeCsv(tasks, outputStream);
+                } else {
+                    writeNdjson(tasks, outputStream);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeNdjson(Stream<TaskExportView> tasks, OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(TaskResponse.class);
+        //buffered so rows go out in chunks rather than one flush per line; not closed, the container owns the stream
+        OutputStream buffered = new BufferedOutputStream(outputStream);
+        for (TaskExportView task : (Iterable<TaskExportView>) tasks::iterator) {
+            buffered.write(writer.writeValueAsBytes(toResponse(task)));
+            buffered.write('\n');
+        }
+        buffered.flush();
+    }
+
+    private void writeCsv(Stream<TaskExportView> tasks, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        for (TaskExportView task : (Iterable<TaskExportView>) tasks::iterator) {
+            writer.write(String.valueOf(task.getId()));
+            writer.write(',');
+            writer.write(csvField(task.getTitle()));
+            writer.write(',');
+            writer.write(csvField(task.getDescription()));
+            writer.write(',');
+            writer.write(task.getPriority() != null ? task.getPriority().name() : "");
+            writer.write(',');
+            writer.write(task.getStatus() != null ? task.getStatus().name() : "");
+            writer.write("\r\n");
+        }
+        writer.flush();
+    }
+
+    private TaskResponse toResponse(TaskExportView task) {
+        TaskResponse taskResponse = new TaskResponse();
+        taskResponse.setId(task.getId());
+        taskResponse.setTitle(task.getTitle());
+        taskResponse.setDescription(task.getDescription());
+        taskResponse.setPriority(task.getPriority());
+        taskResponse.setStatus(task.getStatus());
+        return taskResponse;
+    }
+
+    //RFC 4180: quote fields holding a separator, quote or line break, doubling any quotes inside
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
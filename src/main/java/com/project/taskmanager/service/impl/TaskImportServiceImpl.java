@@ -0,0 +1,307 @@
+package com.project.taskmanager.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.project.taskmanager.cache.TaskPageCache;
+import com.project.taskmanager.dto.ImportLineError;
+import com.project.taskmanager.dto.ImportReport;
+import com.project.taskmanager.dto.TaskRequest;
+import com.project.taskmanager.enums.JobState;
+import com.project.taskmanager.enums.Priority;
+import com.project.taskmanager.enums.Status;
+import com.project.taskmanager.enums.TaskFileFormat;
+import com.project.taskmanager.event.TaskChangedEvent;
+import com.project.taskmanager.model.Task;
+import com.project.taskmanager.model.User;
+import com.project.taskmanager.repository.TaskRepository;
+import com.project.taskmanager.service.TaskImportService;
+import com.project.taskmanager.utils.BoundedLineReader;
+import com.project.taskmanager.utils.CsvRecordReader;
+import com.project.taskmanager.utils.UserUtils;
+import com.project.taskmanager.utils.ValidationUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+//Imports run on the request thread and read the body only as fast as batches are written, so a fast client is
+//slowed down by TCP flow control instead of the payload piling up in memory. Each batch commits on its own;
+//the report's checkpoint says where to resume if one of them fails.
+@Slf4j
+@Service
+public class TaskImportServiceImpl implements TaskImportService {
+
+    //a multiple of hibernate.jdbc.batch_size, so every batch goes out as whole JDBC batches
+    static final int BATCH_SIZE = 500;
+    static final int MAX_REPORTED_ERRORS = 1000;
+    static final int MAX_RECORD_LENGTH = 64 * 1024;
+    static final List<String> CSV_COLUMNS = List.of("title", "description", "priority", "status");
+
+    private final TaskRepository taskRepository;
+    private final UserUtils userUtils;
+    private final ObjectReader taskReader;
+    private final Validator validator;
+    private final TaskPageCache taskPageCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
+    public TaskImportServiceImpl(TaskRepository taskRepository, UserUtils userUtils, ObjectMapper objectMapper,
+                                 Validator validator, TaskPageCache taskPageCache,
+                                 ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+                                 EntityManager entityManager) {
+        this.taskRepository = taskRepository;
+        this.userUtils = userUtils;
+        //exports carry id and other read-only fields; ignoring them lets an export be imported as-is
+        this.taskReader = objectMapper.readerFor(TaskRequest.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.validator = validator;
+        this.taskPageCache = taskPageCache;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+    }
+
+    //progress of one import; only ever touched by the request thread
+    private final class Run {
+        private final User user;
+        private final long resumeAfter;
+        private final long startedAt = System.nanoTime();
+        private final List<Task> pending = new ArrayList<>(BATCH_SIZE);
+        private final List<ImportLineError> errors = new ArrayList<>();
+        private long lastRecord;
+        private long recordsRead;
+        private long imported;
+        private long rejected;
+        private long skipped;
+        private long checkpoint;
+        private String failure;
+
+        private Run(User user, long resumeAfter) {
+            this.user = user;
+            this.resumeAfter = resumeAfter;
+            this.checkpoint = resumeAfter;
+        }
+
+        private boolean skips(long record) {
+            recordsRead++;
+            lastRecord = record;
+            if (record <= resumeAfter) {
+                skipped++;
+                return true;
+            }
+            return false;
+        }
+
+        //false once a batch has failed and reading should stop
+        private boolean accept(TaskRequest taskRequest) {
+            List<String> violations = ValidationUtils.describeViolations(validator, taskRequest, "Task must not be null.");
+            if (!violations.isEmpty()) {
+                reject(violations);
+                return true;
+            }
+            Task task = new Task();
+            task.setTitle(taskRequest.getTitle());
+            task.setDescription(taskRequest.getDescription());
+            task.setPriority(taskRequest.getPriority());
+            task.setStatus(taskRequest.getStatus());
+            task.setUser(user);
+            pending.add(task);
+            return pending.size() < BATCH_SIZE || flush();
+        }
+
+        private void reject(List<String> violations) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportLineError(lastRecord, violations));
+            }
+            //nothing is waiting to be written, so the rejected record is already behind us
+            if (pending.isEmpty()) {
+                checkpoint = lastRecord;
+            }
+        }
+
+        private boolean flush() {
+            if (!pending.isEmpty()) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        for (Task saved : taskRepository.saveAll(pending)) {
+                            eventPublisher.publishEvent(TaskChangedEvent.saved(saved));
+                        }
+                        pending.stream().map(Task::getStatus).distinct()
+                                .forEach(taskStatus -> taskPageCache.tasksChanged(user.getId(), taskStatus));
+                        //with open-in-view every batch shares the request's persistence context; written tasks
+                        //must leave it, or memory and each commit's dirty check grow with the whole upload
+                        entityManager.flush();
+                        entityManager.clear();
+                    });
+                } catch (RuntimeException e) {
+                    log.warn("Import for user {} stopped: batch ending at record {} failed", user.getId(), lastRecord, e);
+                    fail("Batch ending at record " + lastRecord + " could not be written: " + e.getMessage());
+                    return false;
+                }
+                imported += pending.size();
+                pending.clear();
+            }
+            checkpoint = lastRecord;
+            return true;
+        }
+
+        private void fail(String reason) {
+            pending.clear();
+            failure = reason;
+        }
+
+        private ImportReport report() {
+            long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+            long tasksPerSecond = imported * 1000 / Math.max(elapsedMillis, 1);
+            log.info("Imported {} tasks for user {} in {} ms ({} tasks/s), {} rejected, {} skipped",
+                    imported, user.getId(), elapsedMillis, tasksPerSecond, rejected, skipped);
+            return new ImportReport(failure == null ? JobState.COMPLETED : JobState.FAILED, recordsRead, imported,
+                    rejected, skipped, checkpoint, elapsedMillis, tasksPerSecond, errors,
+                    rejected > errors.size(), failure);
+        }
+    }
+
+    @Override
+    public ImportReport importTasks(Integer userId, TaskFileFormat format, InputStream body, long resumeAfter) {
+        if (resumeAfter < 0) {
+            throw new IllegalArgumentException("resumeAfter cannot be negative.");
+        }
+        Run run = new Run(userUtils.findUserById(userId), resumeAfter);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        try {
+            boolean completed = format == TaskFileFormat.CSV ? readCsv(reader, run) : readNdjson(reader, run);
+            if (completed) {
+                run.flush();
+            }
+        } catch (IOException e) {
+            //the client went away mid-upload; committed batches stay, and their checkpoint is in the log
+            log.warn("Import for user {} aborted after record {}, checkpoint {}", userId, run.lastRecord, run.checkpoint);
+            throw new UncheckedIOException(e);
+        }
+        return run.report();
+    }
+
+    private boolean readNdjson(BufferedReader reader, Run run) throws IOException {
+        BoundedLineReader lines = new BoundedLineReader(reader, MAX_RECORD_LENGTH);
+        long lineNumber = 0;
+        while (true) {
+            String line;
+            try {
+                line = lines.next();
+            } catch (IllegalArgumentException e) {
+                //the rest of the line has been skipped, so the next one can still be read
+                if (!run.skips(++lineNumber)) {
+                    run.reject(List.of(e.getMessage()));
+                }
+                continue;
+            }
+            if (line == null) {
+                return true;
+            }
+            lineNumber++;
+            if (line.isBlank() || run.skips(lineNumber)) {
+                continue;
+            }
+            TaskRequest taskRequest;
+            try {
+                taskRequest = taskReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                run.reject(List.of("Malformed JSON: " + e.getOriginalMessage()));
+                continue;
+            }
+            if (!run.accept(taskRequest)) {
+                return false;
+            }
+        }
+    }
+
+    private boolean readCsv(BufferedReader reader, Run run) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader, MAX_RECORD_LENGTH);
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV body must start with a header row.");
+        }
+        int[] columns = mapColumns(header);
+        long recordNumber = 0;
+        while (true) {
+            List<String> fields;
+            try {
+                fields = csv.next();
+            } catch (IllegalArgumentException e) {
+                //record boundaries can no longer be trusted, so keep what was read so far and stop
+                if (run.flush()) {
+                    run.fail("Record " + (recordNumber + 1) + ": " + e.getMessage());
+                }
+                return false;
+            }
+            if (fields == null) {
+                return true;
+            }
+            recordNumber++;
+            if ((fields.size() == 1 && fields.get(0).isEmpty()) || run.skips(recordNumber)) {
+                continue;
+            }
+            if (fields.size() != header.size()) {
+                run.reject(List.of("Expected " + header.size() + " fields but found " + fields.size() + "."));
+                continue;
+            }
+            List<String> errors = new ArrayList<>();
+            TaskRequest taskRequest = new TaskRequest();
+            taskRequest.setTitle(fields.get(columns[0]));
+            taskRequest.setDescription(fields.get(columns[1]));
+            taskRequest.setPriority(parseEnum(Priority.class, "priority", fields.get(columns[2]), errors));
+            taskRequest.setStatus(parseEnum(Status.class, "status", fields.get(columns[3]), errors));
+            if (!errors.isEmpty()) {
+                run.reject(errors);
+            } else if (!run.accept(taskRequest)) {
+                return false;
+            }
+        }
+    }
+
+    //position of each of CSV_COLUMNS in the header; other columns, such as an exported id, are ignored
+    private static int[] mapColumns(List<String> header) {
+        List<String> names = new ArrayList<>(header.size());
+        for (String name : header) {
+            names.add(name.replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT));
+        }
+        int[] columns = new int[CSV_COLUMNS.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = names.indexOf(CSV_COLUMNS.get(i));
+            if (columns[i] < 0) {
+                throw new IllegalArgumentException("CSV header must contain the columns " + CSV_COLUMNS + ".");
+            }
+        }
+        return columns;
+    }
+
+    //blank means missing, which validation then reports as required
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String field, String value, List<String> errors) {
+        if (value.isBlank()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            errors.add(field + ": Unknown value '" + value + "'");
+            return null;
+        }
+    }
+}
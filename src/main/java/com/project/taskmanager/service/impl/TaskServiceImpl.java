@@ -1,33 +1,102 @@
 package com.project.taskmanager.service.impl;
 
+import com.project.taskmanager.cache.TaskPageCache;
+import com.project.taskmanager.dto.BatchCreateResponse;
+import com.project.taskmanager.dto.BatchItemResult;
+import com.project.taskmanager.dto.BulkUpdateRequest;
+import com.project.taskmanager.dto.BulkUpdateResponse;
+import com.project.taskmanager.dto.TaskFilter;
+import com.project.taskmanager.dto.CursorPage;
+import com.project.taskmanager.dto.SlicePage;
+import com.project.taskmanager.dto.TaskLookupResult;
+import com.project.taskmanager.dto.TaskPatchRequest;
 import com.project.taskmanager.dto.TaskRequest;
 import com.project.taskmanager.dto.TaskResponse;
+import com.project.taskmanager.dto.TaskSuggestion;
+import com.project.taskmanager.enums.LookupStatus;
+import com.project.taskmanager.enums.Priority;
 import com.project.taskmanager.enums.Status;
+import com.project.taskmanager.enums.TotalMode;
+import com.project.taskmanager.event.TaskChangedEvent;
 import com.project.taskmanager.exception.TaskNotFoundException;
+import com.project.taskmanager.exception.TaskVersionConflictException;
 import com.project.taskmanager.model.Task;
 import com.project.taskmanager.model.User;
+import com.project.taskmanager.repository.TaskCountEstimator;
+import com.project.taskmanager.repository.TaskIndexView;
 import com.project.taskmanager.repository.TaskRepository;
+import com.project.taskmanager.repository.TaskVersionView;
+import com.project.taskmanager.search.TaskSearchEngine;
+import com.project.taskmanager.search.TaskTitleSuggester;
+import com.project.taskmanager.search.TaskTitleSearch;
 import com.project.taskmanager.service.TaskService;
+import com.project.taskmanager.utils.CursorUtils;
+import com.project.taskmanager.utils.ETagUtils;
 import com.project.taskmanager.utils.PaginationUtils;
 import com.project.taskmanager.utils.UserUtils;
+import com.project.taskmanager.utils.ValidationUtils;
+import jakarta.validation.Validator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
 public class TaskServiceImpl implements TaskService {
 
     private final TaskRepository taskRepository;
     private final UserUtils userUtils;
+    private final TaskCountEstimator taskCountEstimator;
+    private final TaskSearchEngine taskSearchEngine;
+    private final TaskTitleSearch taskTitleSearch;
+    private final TaskTitleSuggester taskTitleSuggester;
+    private final TaskPageCache taskPageCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    public static final int MAX_BATCH_SIZE = 1000;
     private static final List<String> ALLOWED_SORT_FIELDS = List.of("id", "title","description", "status", "priority");
+    //types of the keys a cursor may carry, one per allowed sort field
+    private static final Map<String, Class<?>> SORT_FIELD_TYPES = Map.of(
+            "id", Integer.class, "title", String.class, "description", String.class,
+            "status", Status.class, "priority", Priority.class);
 
-    public TaskServiceImpl(TaskRepository taskRepository, UserUtils userUtils) {
+    private interface ScrollQuery {
+        Window<Task> scroll(ScrollPosition position, Sort sort, Limit limit);
+    }
+
+    public TaskServiceImpl(TaskRepository taskRepository, UserUtils userUtils, TaskCountEstimator taskCountEstimator,
+                           TaskSearchEngine taskSearchEngine, TaskTitleSearch taskTitleSearch,
+                           TaskTitleSuggester taskTitleSuggester, TaskPageCache taskPageCache,
+                           ApplicationEventPublisher eventPublisher, Validator validator) {
         this.taskRepository = taskRepository;
         this.userUtils = userUtils;
+        this.taskCountEstimator = taskCountEstimator;
+        this.taskSearchEngine = taskSearchEngine;
+        this.taskTitleSearch = taskTitleSearch;
+        this.taskTitleSuggester = taskTitleSuggester;
+        this.taskPageCache = taskPageCache;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
     }
 
     private Task createTaskFromRequest(TaskRequest taskRequest, User user){
@@ -47,34 +116,158 @@ public class TaskServiceImpl implements TaskService {
         taskResponse.setDescription(task.getDescription());
         taskResponse.setPriority(task.getPriority());
         taskResponse.setStatus(task.getStatus());
+        taskResponse.setVersion(task.getVersion());
         return taskResponse;
     }
 
-    public Task findTaskById(Integer id) {
-        Optional<Task> task = taskRepository.findById(id);
-        if(task.isEmpty()) {
-            throw new TaskNotFoundException("Task with id " + id + " not found");
+    private SlicePage<TaskResponse> createSlicePage(Slice<Task> slice, TotalMode total, Supplier<Long> estimate) {
+        Long approximateTotal = total == TotalMode.ESTIMATE ? estimate.get() : null;
+        return new SlicePage<>(slice.map(this::createTaskResponse).getContent(), slice.getNumber(), slice.getSize(),
+                slice.hasNext(), approximateTotal);
+    }
+
+    private CursorPage<TaskResponse> scroll(String cursor, Integer numTasks, String sort, ScrollQuery query) {
+        PaginationUtils.validatePageSize(numTasks);
+        KeysetScrollPosition position = ScrollPosition.keyset();
+        if (cursor != null && !cursor.isEmpty()) {
+            CursorUtils.Cursor decoded = CursorUtils.decode(cursor, SORT_FIELD_TYPES);
+            //a cursor is only valid for the ordering it was issued under
+            sort = decoded.getSort();
+            position = ScrollPosition.forward(decoded.getKeys());
+        }
+        Sort.Order order = PaginationUtils.validateAndCreateSort(sort, ALLOWED_SORT_FIELDS).iterator().next();
+        Set<String> expectedKeys = new HashSet<>(List.of(order.getProperty(), "id"));
+        if (!position.isInitial() && !expectedKeys.equals(position.getKeys().keySet())) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+
+        Window<Task> window = query.scroll(position, Sort.by(order), Limit.of(numTasks));
+        String nextCursor = null;
+        if (window.hasNext()) {
+            KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            String canonicalSort = order.getProperty() + "," + order.getDirection().name().toLowerCase();
+            nextCursor = CursorUtils.encode(canonicalSort, last.getKeys());
+        }
+        return new CursorPage<>(window.map(this::createTaskResponse).getContent(), nextCursor, window.hasNext());
+    }
+
+    //the list pages and their ETags must agree on the key, or a cached page would never be found for its tag
+    private static TaskPageCache.Key pageKey(Integer userId, Status status, Pageable pageable) {
+        String endpoint = userId != null ? (status != null ? "user-status" : "user") : (status != null ? "status" : "all");
+        return new TaskPageCache.Key(endpoint, userId, status, null, pageable);
+    }
+
+    //only runs once the owner-scoped query missed, to tell a missing task apart from someone else's
+    private RuntimeException taskNotAccessible(Integer id, Integer ownerId) {
+        if (ownerId != null && taskRepository.existsById(id)) {
+            return new AccessDeniedException("Access Denied");
+        }
+        return new TaskNotFoundException("Task with id " + id + " not found");
+    }
+
+    //a version-checked UPDATE that matched nothing: the task is gone, not ours, or has moved on since it was read
+    private RuntimeException taskNotUpdated(Integer id, Integer ownerId, Long expectedVersion) {
+        if (expectedVersion != null && taskRepository.findVersionByIdAndOwner(id, ownerId).isPresent()) {
+            return new TaskVersionConflictException("Task with id " + id + " has changed since version "
+                    + expectedVersion + "; fetch it again and reapply the change.");
+        }
+        return taskNotAccessible(id, ownerId);
+    }
+
+    //the UPDATE matched exactly the expected version, so the new one is known without reading it back
+    private Long versionAfterUpdate(Integer id, Integer ownerId, Long expectedVersion) {
+        if (expectedVersion != null) {
+            return expectedVersion + 1;
         }
-        return task.get();
+        return taskRepository.findVersionByIdAndOwner(id, ownerId).orElse(null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskResponse getTask(Integer id, Integer ownerId) {
+        Task task = taskRepository.findByIdAndOwner(id, ownerId)
+                .orElseThrow(() -> taskNotAccessible(id, ownerId));
+        return createTaskResponse(task);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public TaskResponse getTask(Integer id) {
-        return createTaskResponse(findTaskById(id));
+    public String getTaskETag(Integer id, Integer ownerId) {
+        Long version = taskRepository.findVersionByIdAndOwner(id, ownerId)
+                .orElseThrow(() -> taskNotAccessible(id, ownerId));
+        return ETagUtils.forTask(id, version);
+    }
+
+    //no transaction of its own: a page still in TaskPageCache is tagged without touching the database
+    @Override
+    public String getTaskPageETag(Integer page, Integer numTasks, String sort, Integer userId, Status status) {
+        if (userId != null) {
+            userUtils.findUserById(userId);
+        }
+        Pageable pageable = PaginationUtils.validateAndCreatePageable(page, numTasks, sort, ALLOWED_SORT_FIELDS);
+        Page<TaskResponse> cached = taskPageCache.getIfCurrent(pageKey(userId, status, pageable));
+        if (cached != null) {
+            return ETagUtils.forPage(cached);
+        }
+        //same filters, order and total as the list query, but only two columns per row and nothing to map
+        Page<TaskVersionView> versions;
+        if (userId != null && status != null) {
+            versions = taskRepository.findVersionsByUserIdAndStatus(userId, status, pageable);
+        } else if (userId != null) {
+            versions = taskRepository.findVersionsByUserId(userId, pageable);
+        } else if (status != null) {
+            versions = taskRepository.findVersionsByStatus(status, pageable);
+        } else {
+            versions = taskRepository.findVersionsBy(pageable);
+        }
+        return ETagUtils.forPage(versions.map(TaskVersionView::getId).getContent(),
+                versions.map(TaskVersionView::getVersion).getContent(), versions.getTotalElements());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskLookupResult> getTasksByIds(List<Integer> ids, Integer ownerId) {
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_BATCH_SIZE || ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Ids must contain between 1 and " + MAX_BATCH_SIZE + " task ids.");
+        }
+        Set<Integer> distinctIds = new HashSet<>(ids);
+        Map<Integer, Task> tasksById = new HashMap<>();
+        taskRepository.findAllByIdInAndOwner(distinctIds, ownerId).forEach(task -> tasksById.put(task.getId(), task));
+        //existence is only checked for the misses, to tell forbidden from missing
+        Set<Integer> forbidden = new HashSet<>();
+        if (tasksById.size() < distinctIds.size()) {
+            Set<Integer> misses = new HashSet<>(distinctIds);
+            misses.removeAll(tasksById.keySet());
+            forbidden.addAll(taskRepository.findExistingIds(misses));
+        }
+        List<TaskLookupResult> results = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            Task task = tasksById.get(id);
+            if (task != null) {
+                results.add(new TaskLookupResult(id, LookupStatus.FOUND, createTaskResponse(task)));
+            } else {
+                results.add(new TaskLookupResult(id, forbidden.contains(id) ? LookupStatus.FORBIDDEN : LookupStatus.NOT_FOUND, null));
+            }
+        }
+        return results;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<TaskResponse> getTasks(Integer page, Integer numTasks, String sort){
         Pageable pageable = PaginationUtils.validateAndCreatePageable(page, numTasks, sort, ALLOWED_SORT_FIELDS);
-        return taskRepository.findAll(pageable).map(this::createTaskResponse);
+        return taskPageCache.get(pageKey(null, null, pageable),
+                () -> taskRepository.findAll(pageable).map(this::createTaskResponse));
     }
 
     @Override
     @Transactional
-    public void deleteTaskById(Integer id) {
-        taskRepository.delete(findTaskById(id));
+    public void deleteTaskById(Integer id, Integer ownerId) {
+        if (taskRepository.deleteByIdAndOwner(id, ownerId) == 0) {
+            throw taskNotAccessible(id, ownerId);
+        }
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(id));
+        taskPageCache.tasksChanged(ownerId, null);
     }
 
     @Override
@@ -82,19 +275,137 @@ public class TaskServiceImpl implements TaskService {
         User user = userUtils.findUserById(userId);
         Task task = createTaskFromRequest(taskRequest, user);
         task = taskRepository.save(task);
+        eventPublisher.publishEvent(TaskChangedEvent.saved(task));
+        taskPageCache.tasksChanged(userId, task.getStatus());
         return createTaskResponse(task);
     }
 
     @Override
     @Transactional
-    public TaskResponse updateTask(TaskRequest taskRequest,Integer id) {
-        Task existingTask = findTaskById(id);
-        existingTask.setTitle(taskRequest.getTitle());
-        existingTask.setDescription(taskRequest.getDescription());
-        existingTask.setPriority(taskRequest.getPriority());
-        existingTask.setStatus(taskRequest.getStatus());
-        existingTask = taskRepository.save(existingTask);
-        return createTaskResponse(existingTask);
+    public BatchCreateResponse addTasks(List<TaskRequest> taskRequests, Integer userId) {
+        if (taskRequests == null || taskRequests.isEmpty() || taskRequests.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("A batch must contain between 1 and " + MAX_BATCH_SIZE + " tasks.");
+        }
+        User user = userUtils.findUserById(userId);
+        List<BatchItemResult> results = new ArrayList<>(taskRequests.size());
+        List<BatchItemResult> accepted = new ArrayList<>();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < taskRequests.size(); i++) {
+            List<String> errors = ValidationUtils.describeViolations(validator, taskRequests.get(i), "Task must not be null.");
+            BatchItemResult result = new BatchItemResult(i, null, errors.isEmpty() ? null : errors);
+            results.add(result);
+            if (errors.isEmpty()) {
+                accepted.add(result);
+                tasks.add(createTaskFromRequest(taskRequests.get(i), user));
+            }
+        }
+        //ids are assigned from the sequence on persist; the INSERTs go out in JDBC batches when the transaction flushes
+        List<Task> saved = taskRepository.saveAll(tasks);
+        for (int i = 0; i < saved.size(); i++) {
+            accepted.get(i).setTask(createTaskResponse(saved.get(i)));
+            eventPublisher.publishEvent(TaskChangedEvent.saved(saved.get(i)));
+        }
+        saved.stream().map(Task::getStatus).distinct().forEach(status -> taskPageCache.tasksChanged(userId, status));
+        return new BatchCreateResponse(saved.size(), taskRequests.size() - saved.size(), results);
+    }
+
+    @Override
+    @Transactional
+    public Long patchTask(TaskPatchRequest taskPatchRequest, Integer id, Integer ownerId, Long expectedVersion) {
+        String title = taskPatchRequest.getTitle();
+        String description = taskPatchRequest.getDescription();
+        Priority priority = taskPatchRequest.getPriority();
+        if (title == null && description == null && priority == null && taskPatchRequest.getStatus() == null) {
+            throw new IllegalArgumentException("Nothing to update.");
+        }
+        int updated = taskRepository.patchByIdAndOwner(id, ownerId, title, description, priority,
+                taskPatchRequest.getStatus(), expectedVersion);
+        if (updated == 0) {
+            throw taskNotUpdated(id, ownerId, expectedVersion);
+        }
+        //the task's previous status is not known, so every status list may have changed
+        taskPageCache.tasksChanged(ownerId, null);
+        //status flips are invisible to the in-memory indexes; anything else needs the whole row to re-index it
+        if (title != null || description != null || priority != null) {
+            try (Stream<TaskIndexView> patched = taskRepository.streamIndexViewsByIds(List.of(id), ownerId)) {
+                patched.forEach(view -> eventPublisher.publishEvent(TaskChangedEvent.saved(view)));
+            }
+        }
+        return versionAfterUpdate(id, ownerId, expectedVersion);
+    }
+
+    @Override
+    @Transactional
+    public BulkUpdateResponse bulkUpdateTasks(BulkUpdateRequest bulkUpdateRequest, Integer ownerId) {
+        List<Integer> ids = bulkUpdateRequest.getIds();
+        TaskFilter filter = bulkUpdateRequest.getFilter();
+        boolean byIds = ids != null && !ids.isEmpty();
+        boolean byFilter = filter != null && !filter.isEmpty();
+        if (byIds == byFilter) {
+            throw new IllegalArgumentException("Select tasks either by ids or by at least one filter field.");
+        }
+        if (byIds && ids.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " ids can be updated at once.");
+        }
+        Status newStatus = bulkUpdateRequest.getStatus();
+        Priority newPriority = bulkUpdateRequest.getPriority();
+        if (newStatus == null && newPriority == null) {
+            throw new IllegalArgumentException("Nothing to update: set status and/or priority.");
+        }
+        int affected = byIds
+                ? taskRepository.bulkUpdateByIds(ids, ownerId, newStatus, newPriority)
+                : taskRepository.bulkUpdateByFilter(ownerId, filter.getUserId(), filter.getStatus(), filter.getPriority(),
+                        newStatus, newPriority);
+        if (affected > 0) {
+            invalidatePagesAfterBulkUpdate(byFilter ? filter : null, ownerId, newStatus);
+        }
+        //the in-memory indexes only care about priority, so status-only updates need no follow-up read
+        if (newPriority != null && affected > 0) {
+            //match on the values the rows have now; rows that already had them are re-published harmlessly
+            try (Stream<TaskIndexView> updated = byIds
+                    ? taskRepository.streamIndexViewsByIds(ids, ownerId)
+                    : taskRepository.streamIndexViewsByFilter(ownerId, filter.getUserId(),
+                            newStatus != null ? newStatus : filter.getStatus(), newPriority)) {
+                updated.forEach(view -> eventPublisher.publishEvent(TaskChangedEvent.saved(view)));
+            }
+        }
+        return new BulkUpdateResponse(affected);
+    }
+
+    private void invalidatePagesAfterBulkUpdate(TaskFilter filter, Integer ownerId, Status newStatus) {
+        Integer userId = ownerId != null ? ownerId : filter != null ? filter.getUserId() : null;
+        if (filter == null || filter.getStatus() == null) {
+            taskPageCache.tasksChanged(userId, null);
+            return;
+        }
+        //every matched task had the filter's status, so only that list and the one they moved to changed
+        taskPageCache.tasksChanged(userId, filter.getStatus());
+        if (newStatus != null) {
+            taskPageCache.tasksChanged(userId, newStatus);
+        }
+    }
+
+    @Override
+    @Transactional
+    public TaskResponse updateTask(TaskRequest taskRequest, Integer id, Integer ownerId, Long expectedVersion) {
+        //the request carries every column, so the task is updated in place without loading it first;
+        //the version check is part of the same UPDATE, so an uncontended edit is one statement with no lock or retry
+        int updated = taskRepository.updateByIdAndOwner(id, ownerId, taskRequest.getTitle(),
+                taskRequest.getDescription(), taskRequest.getPriority(), taskRequest.getStatus(), expectedVersion);
+        if (updated == 0) {
+            throw taskNotUpdated(id, ownerId, expectedVersion);
+        }
+        eventPublisher.publishEvent(TaskChangedEvent.saved(id, taskRequest.getTitle(), taskRequest.getDescription(),
+                taskRequest.getPriority()));
+        taskPageCache.tasksChanged(ownerId, null);
+        TaskResponse taskResponse = new TaskResponse();
+        taskResponse.setId(id);
+        taskResponse.setTitle(taskRequest.getTitle());
+        taskResponse.setDescription(taskRequest.getDescription());
+        taskResponse.setPriority(taskRequest.getPriority());
+        taskResponse.setStatus(taskRequest.getStatus());
+        taskResponse.setVersion(versionAfterUpdate(id, ownerId, expectedVersion));
+        return taskResponse;
     }
 
     @Override
@@ -102,33 +413,133 @@ public class TaskServiceImpl implements TaskService {
     public Page<TaskResponse> getTasksByUserId(Integer page, Integer numTasks, String sort, Integer userId){
         userUtils.findUserById(userId);
         Pageable pageable = PaginationUtils.validateAndCreatePageable(page, numTasks, sort, ALLOWED_SORT_FIELDS);
-        return taskRepository.findByUserId(userId, pageable).map(this::createTaskResponse);
+        return taskPageCache.get(pageKey(userId, null, pageable),
+                () -> taskRepository.findByUserId(userId, pageable).map(this::createTaskResponse));
     }
 
     @Override
     public Page<TaskResponse> getTasksByStatus(Integer page, Integer numTasks, String sort, Status status) {
         Pageable pageable = PaginationUtils.validateAndCreatePageable(page, numTasks, sort, ALLOWED_SORT_FIELDS);
-        return taskRepository.findByStatus(status, pageable).map(this::createTaskResponse);
+        return taskPageCache.get(pageKey(null, status, pageable),
+                () -> taskRepository.findByStatus(status, pageable).map(this::createTaskResponse));
     }
 
     @Override
     public Page<TaskResponse> getTasksByUserIdAndStatus(Integer page, Integer numTasks, String sort, Integer userId, Status status) {
         userUtils.findUserById(userId);
         Pageable pageable = PaginationUtils.validateAndCreatePageable(page, numTasks, sort, ALLOWED_SORT_FIELDS);
-        return taskRepository.findByUserIdAndStatus(userId, status, pageable).map(this::createTaskResponse);
+        return taskPageCache.get(pageKey(userId, status, pageable),
+                () -> taskRepository.findByUserIdAndStatus(userId, status, pageable).map(this::createTaskResponse));
     }
 
     @Override
     public Page<TaskResponse> getTasksByTitle(Integer page, Integer numTasks, String sort, String title) {
         Pageable pageable = PaginationUtils.validateAndCreatePageable(page, numTasks, sort, ALLOWED_SORT_FIELDS);
-        return taskRepository.findByTitleContainingIgnoreCase(title, pageable).map(this::createTaskResponse);
+        return taskPageCache.get(new TaskPageCache.Key("title", null, null, title, pageable),
+                () -> taskTitleSearch.findByTitle(title, pageable).map(this::createTaskResponse));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<TaskResponse> searchTasks(Integer page, Integer numTasks, String query) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank.");
+        }
+        Pageable pageable = PaginationUtils.validateAndCreatePageable(page, numTasks);
+        String trimmed = query.trim();
+        return taskPageCache.get(new TaskPageCache.Key("search", null, null, trimmed, pageable),
+                () -> taskSearchEngine.search(trimmed, pageable).map(this::createTaskResponse));
+    }
+
+    @Override
+    public List<TaskSuggestion> suggestTitles(Integer userId, String prefix, Integer limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new IllegalArgumentException("Prefix must not be blank.");
+        }
+        if (limit == null || limit < 1 || limit > TaskTitleSuggester.MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + TaskTitleSuggester.MAX_SUGGESTIONS + ".");
+        }
+        if (!taskTitleSuggester.isEnabled()) {
+            throw new ResponseStatusException(HttpStatus.NOT_IMPLEMENTED, "Title suggestions are not enabled.");
+        }
+        return taskTitleSuggester.suggest(userId, prefix, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResponse> scrollTasks(String cursor, Integer numTasks, String sort) {
+        return scroll(cursor, numTasks, sort, taskRepository::findAllBy);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResponse> scrollTasksByUserId(String cursor, Integer numTasks, String sort, Integer userId) {
+        userUtils.findUserById(userId);
+        return scroll(cursor, numTasks, sort,
+                (position, order, limit) -> taskRepository.findByUserId(userId, position, order, limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResponse> scrollTasksByStatus(String cursor, Integer numTasks, String sort, Status status) {
+        return scroll(cursor, numTasks, sort,
+                (position, order, limit) -> taskRepository.findByStatus(status, position, order, limit));
     }
 
     @Override
-    public boolean isTaskOwner(Integer taskId, String username) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new TaskNotFoundException("Task with id " + taskId + " not found"));
-        return task.getUser().getUsername().equals(username);
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResponse> scrollTasksByUserIdAndStatus(String cursor, Integer numTasks, String sort, Integer userId, Status status) {
+        userUtils.findUserById(userId);
+        return scroll(cursor, numTasks, sort,
+                (position, order, limit) -> taskRepository.findByUserIdAndStatus(userId, status, position, order, limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResponse> scrollTasksByTitle(String cursor, Integer numTasks, String sort, String title) {
+        return scroll(cursor, numTasks, sort,
+                (position, order, limit) -> taskRepository.findByTitleContainingIgnoreCase(title, position, order, limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SlicePage<TaskResponse> sliceTasks(Integer page, Integer numTasks, String sort, TotalMode total) {
+        Pageable pageable = PaginationUtils.validateAndCreatePageable(page, numTasks, sort, ALLOWED_SORT_FIELDS);
+        return createSlicePage(taskRepository.findSliceBy(pageable), total, taskCountEstimator::estimateAll);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SlicePage<TaskResponse> sliceTasksByUserId(Integer page, Integer numTasks, String sort, Integer userId, TotalMode total) {
+        userUtils.findUserById(userId);
+        Pageable pageable = PaginationUtils.validateAndCreatePageable(page, numTasks, sort, ALLOWED_SORT_FIELDS);
+        return createSlicePage(taskRepository.findSliceByUserId(userId, pageable), total,
+                () -> taskCountEstimator.estimateByUserId(userId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SlicePage<TaskResponse> sliceTasksByStatus(Integer page, Integer numTasks, String sort, Status status, TotalMode total) {
+        Pageable pageable = PaginationUtils.validateAndCreatePageable(page, numTasks, sort, ALLOWED_SORT_FIELDS);
+        return createSlicePage(taskRepository.findSliceByStatus(status, pageable), total,
+                () -> taskCountEstimator.estimateByStatus(status));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SlicePage<TaskResponse> sliceTasksByUserIdAndStatus(Integer page, Integer numTasks, String sort, Integer userId, Status status, TotalMode total) {
+        userUtils.findUserById(userId);
+        Pageable pageable = PaginationUtils.validateAndCreatePageable(page, numTasks, sort, ALLOWED_SORT_FIELDS);
+        return createSlicePage(taskRepository.findSliceByUserIdAndStatus(userId, status, pageable), total,
+                () -> taskCountEstimator.estimateByUserIdAndStatus(userId, status));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SlicePage<TaskResponse> sliceTasksByTitle(Integer page, Integer numTasks, String sort, String title, TotalMode total) {
+        Pageable pageable = PaginationUtils.validateAndCreatePageable(page, numTasks, sort, ALLOWED_SORT_FIELDS);
+        return createSlicePage(taskRepository.findSliceByTitleContainingIgnoreCase(title, pageable), total,
+                () -> taskCountEstimator.estimateByTitle(title));
     }
 
 }
@@ -0,0 +1,185 @@
+package com.project.taskmanager.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.project.taskmanager.cache.TaskPageCache;
+import com.project.taskmanager.dto.UserDeletionStatus;
+import com.project.taskmanager.enums.JobState;
+import com.project.taskmanager.event.UserTasksDeletedEvent;
+import com.project.taskmanager.exception.UserNotFoundException;
+import com.project.taskmanager.repository.TaskRepository;
+import com.project.taskmanager.repository.UserRepository;
+import com.project.taskmanager.security.TokenRevocationRegistry;
+import com.project.taskmanager.security.VerifiedTokenCache;
+import com.project.taskmanager.service.UserDeletionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+//Deletes users without loading their tasks: ids are read a chunk at a time and removed with DELETE ... WHERE id IN,
+//each chunk in its own short transaction so no lock is held for the whole user.
+@Slf4j
+@Service
+public class UserDeletionServiceImpl implements UserDeletionService {
+
+    static final int CHUNK_SIZE = 1000;
+
+    private static final class Job {
+        private final String id = UUID.randomUUID().toString();
+        private final Integer userId;
+        private final AtomicLong tasksTotal = new AtomicLong();
+        private final AtomicLong tasksDeleted = new AtomicLong();
+        private volatile JobState state = JobState.RUNNING;
+        private volatile String error;
+
+        private Job(Integer userId) {
+            this.userId = userId;
+        }
+
+        private UserDeletionStatus toStatus() {
+            return new UserDeletionStatus(id, userId, state, tasksTotal.get(), tasksDeleted.get(), error);
+        }
+    }
+
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TaskPageCache taskPageCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    //running jobs never expire; finished ones are kept for the retention period so their outcome can still be read
+    private final Cache<String, Job> jobs;
+
+    public UserDeletionServiceImpl(TaskRepository taskRepository, UserRepository userRepository,
+                                   TokenRevocationRegistry tokenRevocationRegistry, VerifiedTokenCache verifiedTokenCache,
+                                   TaskPageCache taskPageCache, ApplicationEventPublisher eventPublisher,
+                                   PlatformTransactionManager transactionManager, TaskExecutor taskExecutor,
+                                   @Value("${user.deletion.job-retention:1h}") Duration jobRetention) {
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.taskPageCache = taskPageCache;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.jobs = Caffeine.newBuilder()
+                .expireAfter(new JobExpiry(jobRetention))
+                .build();
+    }
+
+    @Override
+    public long deleteUser(Integer userId) {
+        Job job = new Job(userId);
+        prepare(job);
+        run(job);
+        return job.tasksDeleted.get();
+    }
+
+    @Override
+    public UserDeletionStatus startUserDeletion(Integer userId) {
+        Job job = new Job(userId);
+        //checked before returning so an unknown user is a 404, not a failed job
+        prepare(job);
+        jobs.put(job.id, job);
+        taskExecutor.execute(() -> {
+            try {
+                run(job);
+                job.state = JobState.COMPLETED;
+                log.info("Deleted user {} and {} tasks", userId, job.tasksDeleted.get());
+            } catch (RuntimeException e) {
+                job.error = e.getMessage();
+                job.state = JobState.FAILED;
+                log.error("Deleting user {} failed after {} tasks", userId, job.tasksDeleted.get(), e);
+            }
+            //put again so the retention period starts now that the job is finished
+            jobs.put(job.id, job);
+        });
+        return job.toStatus();
+    }
+
+    @Override
+    public UserDeletionStatus getDeletionStatus(String jobId) {
+        Job job = jobs.getIfPresent(jobId);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Deletion job " + jobId + " not found");
+        }
+        return job.toStatus();
+    }
+
+    private void prepare(Job job) {
+        if (!userRepository.existsById(job.userId)) {
+            throw new UserNotFoundException("User with id " + job.userId + " not found");
+        }
+        //revoked first so the user cannot add tasks while the chunks are deleted
+        tokenRevocationRegistry.revokeUser(job.userId);
+        verifiedTokenCache.evictUser(job.userId);
+        job.tasksTotal.set(taskRepository.countByUserId(job.userId));
+    }
+
+    private void run(Job job) {
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> deleteChunk(job.userId, Limit.of(CHUNK_SIZE)));
+            job.tasksDeleted.addAndGet(deleted);
+        } while (deleted == CHUNK_SIZE);
+        //whatever slipped in since the last chunk goes in the same transaction as the user row
+        transactionTemplate.executeWithoutResult(status -> {
+            job.tasksDeleted.addAndGet(deleteChunk(job.userId, Limit.unlimited()));
+            userRepository.deleteDirectlyById(job.userId);
+        });
+        //a login between the first revocation and this commit still found the user; its token goes too
+        tokenRevocationRegistry.revokeUser(job.userId);
+        verifiedTokenCache.evictUser(job.userId);
+    }
+
+    private int deleteChunk(Integer userId, Limit limit) {
+        List<Integer> ids = taskRepository.findIdsByUserId(userId, limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        taskRepository.deleteAllByIds(ids);
+        //one event per chunk; a TaskChangedEvent per task would mean an after-commit callback per task
+        eventPublisher.publishEvent(new UserTasksDeletedEvent(userId, ids));
+        taskPageCache.tasksChanged(userId, null);
+        return ids.size();
+    }
+
+    private static class JobExpiry implements Expiry<String, Job> {
+        private final long retentionNanos;
+
+        private JobExpiry(Duration retention) {
+            this.retentionNanos = retention.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Job job, long currentTime) {
+            return job.state == JobState.RUNNING ? Long.MAX_VALUE : retentionNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Job job, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, job, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Job job, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
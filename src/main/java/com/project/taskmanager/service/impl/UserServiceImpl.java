@@ -6,6 +6,9 @@ import com.project.taskmanager.dto.UserResponse;
 import com.project.taskmanager.enums.Role;
 import com.project.taskmanager.model.User;
 import com.project.taskmanager.repository.UserRepository;
+import com.project.taskmanager.security.TokenRevocationRegistry;
+import com.project.taskmanager.security.VerifiedTokenCache;
+import com.project.taskmanager.service.UserDeletionService;
 import com.project.taskmanager.service.UserService;
 import com.project.taskmanager.utils.PaginationUtils;
 import com.project.taskmanager.utils.UserUtils;
@@ -14,6 +17,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 
@@ -24,12 +29,20 @@ public class UserServiceImpl implements UserService {
     private final UserUtils userUtils;
     private static final List<String> ALLOWED_SORT_FIELDS = List.of("id", "username", "email");
     private final PasswordEncoder passwordEncoder;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final UserDeletionService userDeletionService;
 
 
-    public UserServiceImpl(UserRepository userRepository, UserUtils userUtils, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, UserUtils userUtils, PasswordEncoder passwordEncoder,
+                           TokenRevocationRegistry tokenRevocationRegistry, VerifiedTokenCache verifiedTokenCache,
+                           UserDeletionService userDeletionService) {
         this.userRepository = userRepository;
         this.userUtils = userUtils;
         this.passwordEncoder = passwordEncoder;
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.userDeletionService = userDeletionService;
     }
 
     private User registerUserFromRequest(RegisterRequest registerRequest){
@@ -47,6 +60,7 @@ public class UserServiceImpl implements UserService {
         response.setId(user.getId());
         response.setUsername(user.getUsername());
         response.setEmail(user.getEmail());
+        response.setVersion(user.getVersion());
         return response;
     }
 
@@ -78,13 +92,17 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public void deleteUserById(Integer id) {
-        User user = userUtils.findUserById(id);
-        userRepository.delete(user);
+        //chunked set-based deletes; loading the user here would drag in every task through orphan removal.
+        //The bulk DELETEs also clear the users and tasks cache regions, so no stale entry survives.
+        userDeletionService.deleteUser(id);
     }
 
     @Override
+    @Transactional
     public UserResponse updateUser(UserRequest userRequest, Integer id) {
         User existingUser = userUtils.findUserById(id);
+        //tokens carry the username and role, so changing either must invalidate them
+        boolean revokeTokens = false;
 
         if (userRequest.getEmail() != null && !userRequest.getEmail().isBlank()) {
             if (!existingUser.getEmail().equals(userRequest.getEmail())
@@ -99,6 +117,7 @@ public class UserServiceImpl implements UserService {
                     && userRepository.existsByUsername(userRequest.getUsername())) {
                 throw new IllegalArgumentException("Username already exists");
             }
+            revokeTokens = !userRequest.getUsername().equals(existingUser.getUsername());
             existingUser.setUsername(userRequest.getUsername());
         }
 
@@ -108,13 +127,39 @@ public class UserServiceImpl implements UserService {
         }
 
         if (userRequest.getRole() != null) {
+            revokeTokens |= userRequest.getRole() != existingUser.getRole();
             existingUser.setRole(userRequest.getRole());
         }
 
         existingUser = userRepository.save(existingUser);
+        //the version is bumped on flush; flushing now lets the response carry the new one
+        userRepository.flush();
+        boolean revoke = revokeTokens;
+        afterCommit(() -> {
+            if (revoke) {
+                tokenRevocationRegistry.revokeUser(id);
+            }
+            //cached principals hold the old user details
+            verifiedTokenCache.evictUser(id);
+        });
         return createUserResponse(existingUser);
     }
 
+    //until the commit, requests and logins still read the old user; revoking earlier would let a token issued or
+    //cached from those old details count as newer than the revocation
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
     @Override
     public boolean isUser(Integer userId, String username) {
         User user = userUtils.findUserById(userId);
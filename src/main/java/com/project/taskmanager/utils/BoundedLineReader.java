@@ -0,0 +1,47 @@
+package com.project.taskmanager.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+//Reads one line at a time like BufferedReader.readLine, but never buffers more than maxLineLength characters of it,
+//so a single huge line in an upload cannot exhaust the heap. CRLF, bare CR and bare LF all end a line.
+public final class BoundedLineReader {
+
+    private final BufferedReader reader;
+    private final int maxLineLength;
+
+    public BoundedLineReader(Reader reader, int maxLineLength) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        this.maxLineLength = maxLineLength;
+    }
+
+    //the next line without its terminator, or null at the end of the input; a line that is too long is
+    //skipped up to its end before the IllegalArgumentException, so reading can carry on with the next one
+    public String next() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        StringBuilder line = new StringBuilder();
+        boolean tooLong = false;
+        while (c != -1 && c != '\n' && c != '\r') {
+            if (line.length() < maxLineLength) {
+                line.append((char) c);
+            } else {
+                tooLong = true;
+            }
+            c = reader.read();
+        }
+        if (c == '\r') {
+            reader.mark(1);
+            if (reader.read() != '\n') {
+                reader.reset();
+            }
+        }
+        if (tooLong) {
+            throw new IllegalArgumentException("Line is longer than " + maxLineLength + " characters.");
+        }
+        return line.toString();
+    }
+}
@@ -0,0 +1,74 @@
+package com.project.taskmanager.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+//Reads RFC 4180 CSV one record at a time, so a large upload never has to be held in memory.
+//Quoted fields may contain separators, doubled quotes and line breaks; CRLF and bare LF both end a record.
+public final class CsvRecordReader {
+
+    private final BufferedReader reader;
+    private final int maxRecordLength;
+
+    public CsvRecordReader(Reader reader, int maxRecordLength) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    //the fields of the next record, or null at the end of the input
+    public List<String> next() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean closedQuote = false;
+        int length = 0;
+        while (true) {
+            if (++length > maxRecordLength) {
+                throw new IllegalArgumentException("Record is longer than " + maxRecordLength + " characters.");
+            }
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Quoted field is not terminated.");
+                }
+                if (c == '"') {
+                    int next = reader.read();
+                    if (next != '"') {
+                        //that was the closing quote; look at the following character as unquoted input
+                        quoted = false;
+                        closedQuote = true;
+                        c = next;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                closedQuote = false;
+            } else if (c == '\n' || c == '\r' || c == -1) {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (closedQuote) {
+                throw new IllegalArgumentException("Unexpected character after a closing quote.");
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.project.taskmanager.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//Cursors are opaque to clients: base64 of the sort they were issued for and the keyset (sort value + id)
+//of the last row returned.
+public final class CursorUtils {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static String encode(String sort, Map<String, ?> keys) {
+        Map<String, Object> cursor = new LinkedHashMap<>();
+        cursor.put("sort", sort);
+        cursor.put("keys", keys);
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(cursor));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode cursor", e);
+        }
+    }
+
+    //keyTypes maps each allowed key to its type, so values come back as the types the query compares against
+    public static Cursor decode(String cursor, Map<String, Class<?>> keyTypes) {
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(cursor);
+            Map<String, Object> decoded = MAPPER.readValue(json, new TypeReference<>() {});
+            if (!(decoded.get("sort") instanceof String sort) || !(decoded.get("keys") instanceof Map<?, ?> rawKeys)) {
+                throw new IllegalArgumentException("Invalid cursor.");
+            }
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : rawKeys.entrySet()) {
+                Class<?> type = keyTypes.get(String.valueOf(entry.getKey()));
+                if (type == null || entry.getValue() == null) {
+                    throw new IllegalArgumentException("Invalid cursor.");
+                }
+                keys.put(String.valueOf(entry.getKey()), MAPPER.convertValue(entry.getValue(), type));
+            }
+            return new Cursor(sort, keys);
+        } catch (IllegalArgumentException | IOException e) {
+            //covers bad base64, bad json and values that don't convert to the key type
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+    }
+
+    public static final class Cursor {
+        private final String sort;
+        private final Map<String, Object> keys;
+
+        private Cursor(String sort, Map<String, Object> keys) {
+            this.sort = sort;
+            this.keys = keys;
+        }
+
+        public String getSort() {
+            return sort;
+        }
+
+        public Map<String, Object> getKeys() {
+            return keys;
+        }
+    }
+}
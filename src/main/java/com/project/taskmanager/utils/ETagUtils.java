@@ -0,0 +1,83 @@
+package com.project.taskmanager.utils;
+
+import com.project.taskmanager.dto.TaskResponse;
+import com.project.taskmanager.exception.TaskVersionConflictException;
+import org.springframework.data.domain.Page;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+//Strong ETags built from entity versions, so a tag can be checked without reading or mapping the entity itself.
+//A page's tag covers the ids and versions of its rows and the total, everything in the body that can change.
+public final class ETagUtils {
+
+    //16 bytes of SHA-256 is plenty to tell two versions of the same page apart
+    private static final int PAGE_HASH_BYTES = 16;
+    private static final Pattern TASK_TAG = Pattern.compile("\"task-(\\d+)-(\\d+)\"");
+
+    public static String forTask(Integer id, Long version) {
+        return "\"task-" + id + "-" + version + "\"";
+    }
+
+    public static String forUser(Integer id, Long version) {
+        return "\"user-" + id + "-" + version + "\"";
+    }
+
+    //ids and versions are in page order, one version per id
+    public static String forPage(List<Integer> ids, List<Long> versions, long total) {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + ids.size() * (Integer.BYTES + Long.BYTES));
+        buffer.putLong(total);
+        for (int i = 0; i < ids.size(); i++) {
+            buffer.putInt(ids.get(i));
+            buffer.putLong(versions.get(i) == null ? -1 : versions.get(i));
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(buffer.array());
+            return "\"page-" + HexFormat.of().formatHex(hash, 0, PAGE_HASH_BYTES) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public static String forPage(Page<TaskResponse> page) {
+        return forPage(page.map(TaskResponse::getId).getContent(), page.map(TaskResponse::getVersion).getContent(),
+                page.getTotalElements());
+    }
+
+    //If-None-Match uses weak comparison, so a W/ prefix on either side is ignored
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String wanted = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || stripWeak(trimmed).equals(wanted)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //the version an If-Match header expects the task to be at, or null when there is no precondition ("*" or absent).
+    //If-Match uses strong comparison, so weak, foreign or malformed tags can never match
+    public static Long expectedTaskVersion(String ifMatch, Integer id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Matcher matcher = TASK_TAG.matcher(ifMatch.trim());
+        if (!matcher.matches() || !matcher.group(1).equals(String.valueOf(id))) {
+            throw new TaskVersionConflictException("If-Match must be the current ETag of task " + id + ".");
+        }
+        return Long.valueOf(matcher.group(2));
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
@@ -9,18 +9,37 @@ import java.util.List;
 public final class PaginationUtils {
 
     public static Pageable validateAndCreatePageable(Integer page, Integer numTasks, String sort, List<String> allowedSortFields){
+        validatePageNumber(page);
+        validatePageSize(numTasks);
+        return PageRequest.of(page,numTasks,validateAndCreateSort(sort, allowedSortFields));
+    }
+
+    //for results that come in their own order, e.g. ranked search
+    public static Pageable validateAndCreatePageable(Integer page, Integer numTasks){
+        validatePageNumber(page);
+        validatePageSize(numTasks);
+        return PageRequest.of(page,numTasks);
+    }
+
+    public static void validatePageNumber(Integer page){
         if (page < 0) {
             throw new IllegalArgumentException("Page number cannot be negative.");
         }
         if (page > 100){
             throw new IllegalArgumentException("Page number cannot be greater than 100.");
         }
+    }
+
+    public static void validatePageSize(Integer numTasks){
         if (numTasks <= 0) {
             throw new IllegalArgumentException("Page size must be greater than zero.");
         }
         if (numTasks > 100) {
             throw new IllegalArgumentException("Page size cannot be greater than 100.");
         }
+    }
+
+    public static Sort validateAndCreateSort(String sort, List<String> allowedSortFields){
         if (sort == null || sort.isEmpty()) {
             throw new IllegalArgumentException("Sort must be specified.");
         }
@@ -42,6 +61,6 @@ public final class PaginationUtils {
                 direction = Sort.Direction.DESC;
             }
         }
-        return PageRequest.of(page,numTasks,Sort.by(direction,sortBy));
+        return Sort.by(direction,sortBy);
     }
 }
@@ -0,0 +1,35 @@
+package com.project.taskmanager.utils;
+
+import com.project.taskmanager.security.ApiUserDetails;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public final class SecurityUtils {
+
+    //id of the user whose tasks the caller may touch, or null for admins who may touch any task
+    public static Integer currentOwnerScope() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new AccessDeniedException("Access Denied");
+        }
+        boolean isAdmin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        if (isAdmin) {
+            return null;
+        }
+        if (authentication.getPrincipal() instanceof ApiUserDetails principal) {
+            return principal.getId();
+        }
+        throw new AccessDeniedException("Access Denied");
+    }
+
+    //id of the authenticated user, admins included
+    public static Integer currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof ApiUserDetails principal) {
+            return principal.getId();
+        }
+        throw new AccessDeniedException("Access Denied");
+    }
+}
@@ -0,0 +1,21 @@
+package com.project.taskmanager.utils;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.util.Comparator;
+import java.util.List;
+
+public final class ValidationUtils {
+
+    //"field: message" per violation, sorted by field so the output is stable; empty when the object is valid
+    public static <T> List<String> describeViolations(Validator validator, T target, String nullMessage) {
+        if (target == null) {
+            return List.of(nullMessage);
+        }
+        return validator.validate(target).stream()
+                .sorted(Comparator.comparing((ConstraintViolation<T> violation) -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .toList();
+    }
+}
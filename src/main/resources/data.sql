@@ -6,9 +6,13 @@ VALUES
     ('admin', '$2a$10$QkcHDAFZUkuGhJvILtgXd.60FGtJnvbVye3o7ZnEie1ksrNVX2Dpy', 'admin@example.com', 'ADMIN')
 ON CONFLICT (username) DO NOTHING;
 
+-- Seed rows only: schema changes are versioned migrations in db/migration (see SchemaMigrationConfig), which may
+-- not have run yet on a new database, so task ids are taken from tasks_seq explicitly rather than the column default
+
 -- Tasks for Alice
-INSERT INTO tasks (title, description, priority, status, user_id)
+INSERT INTO tasks (id, title, description, priority, status, user_id)
 SELECT
+  nextval('tasks_seq'),
   'Finish report',
   'Complete the quarterly report',
   'HIGH',
@@ -26,8 +30,9 @@ AND NOT EXISTS (
     AND t.status = 'NOT_STARTED'
 );
 
-INSERT INTO tasks (title, description, priority, status, user_id)
+INSERT INTO tasks (id, title, description, priority, status, user_id)
 SELECT
+  nextval('tasks_seq'),
   'Setup database',
   'Initialize Postgres with seed data',
   'MEDIUM',
@@ -45,8 +50,9 @@ AND NOT EXISTS (
     AND t.status = 'IN_PROGRESS'
 );
 
-INSERT INTO tasks (title, description, priority, status, user_id)
+INSERT INTO tasks (id, title, description, priority, status, user_id)
 SELECT
+  nextval('tasks_seq'),
   'Code review',
   'Review PR #42',
   'LOW',
@@ -65,8 +71,9 @@ AND NOT EXISTS (
 );
 
 -- Tasks for Bob
-INSERT INTO tasks (title, description, priority, status, user_id)
+INSERT INTO tasks (id, title, description, priority, status, user_id)
 SELECT
+  nextval('tasks_seq'),
   'Prepare presentation',
   'Slides for Monday meeting',
   'HIGH',
@@ -84,8 +91,9 @@ AND NOT EXISTS (
     AND t.status = 'IN_PROGRESS'
 );
 
-INSERT INTO tasks (title, description, priority, status, user_id)
+INSERT INTO tasks (id, title, description, priority, status, user_id)
 SELECT
+  nextval('tasks_seq'),
   'Write documentation',
   'Document API endpoints',
   'MEDIUM',
@@ -101,4 +109,4 @@ AND NOT EXISTS (
     AND t.description = 'Document API endpoints'
     AND t.priority = 'MEDIUM'
     AND t.status = 'NOT_STARTED'
-);
\ No newline at end of file
+);
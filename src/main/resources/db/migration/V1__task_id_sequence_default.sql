@@ -0,0 +1,5 @@
+-- Task ids come from tasks_seq (blocks of 50 for Hibernate); point the column default at it and keep it ahead of
+-- existing rows, including tables created back when the id was an identity column
+ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE tasks ALTER COLUMN id SET DEFAULT nextval('tasks_seq');
+SELECT setval('tasks_seq', GREATEST((SELECT COALESCE(MAX(id), 1) FROM tasks), (SELECT last_value FROM tasks_seq)));
@@ -0,0 +1,17 @@
+-- Search indexes (task.search.engine=postgres)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- search document kept up to date by Postgres itself (not mapped on Task), so ranking reads it instead of
+-- re-parsing title and description for every row; title words weigh A, description words B
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS search_vector tsvector
+  GENERATED ALWAYS AS (setweight(to_tsvector('simple', coalesce(title, '')), 'A')
+    || setweight(to_tsvector('simple', coalesce(description, '')), 'B')) STORED;
+
+-- replaced by idx_tasks_search_vector
+DROP INDEX IF EXISTS idx_tasks_search_document;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_search_vector ON tasks USING GIN (search_vector);
+
+CREATE INDEX IF NOT EXISTS idx_tasks_title_trgm ON tasks USING GIN (title gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_tasks_description_trgm ON tasks USING GIN (description gin_trgm_ops);
@@ -0,0 +1,29 @@
+package com.project.taskmanager.reactive;
+
+import com.project.taskmanager.security.JwtProvider;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration;
+import org.springframework.context.annotation.Import;
+
+//Non-blocking build of the task read endpoints: WebFlux on Netty with R2DBC, so a request waiting on the database
+//holds neither a thread nor, between statements, a connection. Reads the same tables as TaskManagerApplication,
+//which stays the only writer. Built and started with -Preactive; see ReactiveLoadBenchmark for how it compares.
+@SpringBootApplication(exclude = {DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+        ReactiveUserDetailsServiceAutoConfiguration.class})
+//token verification is shared with the servlet application; the token cache and revocation registry are not, since
+//this process never sees the writes that would evict or revoke (see ReactiveJwtAuthenticationFilter)
+@Import(JwtProvider.class)
+public class ReactiveTaskManagerApplication {
+
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(ReactiveTaskManagerApplication.class);
+        application.setWebApplicationType(WebApplicationType.REACTIVE);
+        application.setAdditionalProfiles("reactive");
+        application.run(args);
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.project.taskmanager.reactive.controller;
+
+import com.project.taskmanager.dto.TaskResponse;
+import com.project.taskmanager.enums.Role;
+import com.project.taskmanager.enums.Status;
+import com.project.taskmanager.reactive.service.ReactiveTaskService;
+import com.project.taskmanager.security.ApiUserDetails;
+import io.swagger.v3.oas.annotations.Parameter;
+import org.springframework.data.domain.Page;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+//same paths, parameters, roles and responses as the matching TaskController endpoints
+@RestController
+@RequestMapping("/api/tasks")
+public class ReactiveTaskController {
+    private final ReactiveTaskService taskService;
+
+    public ReactiveTaskController(ReactiveTaskService taskService) {
+        this.taskService = taskService;
+    }
+
+    //admins see every task, everyone else only their own; mirrors SecurityUtils.currentOwnerScope
+    private static Integer ownerScope(ApiUserDetails principal) {
+        return principal.getRole() == Role.ADMIN ? null : principal.getId();
+    }
+
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("{id}")
+    public Mono<TaskResponse> getTask(
+            @Parameter(description = "The unique identifier of the task") @PathVariable Integer id,
+            @AuthenticationPrincipal ApiUserDetails principal) {
+        return taskService.getTask(id, ownerScope(principal));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping()
+    public Mono<Page<TaskResponse>> getTasks(
+            @Parameter(description = "Page number (zero-indexed)") @RequestParam(defaultValue = "0") Integer page,
+            @Parameter(description = "Number of tasks per page") @RequestParam(defaultValue = "10") Integer numTasks,
+            @Parameter(description = "Sort criteria in format: property,(asc|desc)") @RequestParam(defaultValue = "id,asc") String sort) {
+        return taskService.getTasks(page,numTasks,sort);
+    }
+
+    //the principal's id is in the token, so no user lookup is needed to check ownership
+    @PreAuthorize("#userId == principal.id or hasRole('ADMIN')")
+    @GetMapping("/user/{userId}")
+    public Mono<Page<TaskResponse>> getTasksByUserId(
+            @Parameter(description = "Page number (zero-indexed)") @RequestParam(defaultValue = "0") Integer page,
+            @Parameter(description = "Number of tasks per page") @RequestParam(defaultValue = "10") Integer numTasks,
+            @Parameter(description = "Sort criteria in format: property,(asc|desc)") @RequestParam(defaultValue = "id,asc") String sort,
+            @Parameter(description = "The unique identifier of the user") @PathVariable Integer userId) {
+        return taskService.getTasksByUserId(page,numTasks,sort,userId);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/status/{status}")
+    public Mono<Page<TaskResponse>> getTasksByStatus(
+            @Parameter(description = "Page number (zero-indexed)") @RequestParam(defaultValue = "0") Integer page,
+            @Parameter(description = "Number of tasks per page") @RequestParam(defaultValue = "10") Integer numTasks,
+            @Parameter(description = "Sort criteria in format: property,(asc|desc)") @RequestParam(defaultValue = "id,asc") String sort,
+            @Parameter(description = "The status to filter tasks by") @PathVariable Status status) {
+        return taskService.getTasksByStatus(page,numTasks,sort,status);
+    }
+
+    @PreAuthorize("#userId == principal.id or hasRole('ADMIN')")
+    @GetMapping("/user/{userId}/status/{status}")
+    public Mono<Page<TaskResponse>> getTasksByUserIdAndStatus(
+            @Parameter(description = "Page number (zero-indexed)") @RequestParam(defaultValue = "0") Integer page,
+            @Parameter(description = "Number of tasks per page") @RequestParam(defaultValue = "10") Integer numTasks,
+            @Parameter(description = "Sort criteria in format: property,(asc|desc)") @RequestParam(defaultValue = "id,asc") String sort,
+            @Parameter(description = "The unique identifier of the user") @PathVariable Integer userId,
+            @Parameter(description = "The status to filter tasks by") @PathVariable Status status) {
+        return taskService.getTasksByUserIdAndStatus(page,numTasks,sort,userId,status);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/search")
+    public Mono<Page<TaskResponse>> getTasksByTitle(
+            @Parameter(description = "Page number (zero-indexed)") @RequestParam(defaultValue = "0") Integer page,
+            @Parameter(description = "Number of tasks per page") @RequestParam(defaultValue = "10") Integer numTasks,
+            @Parameter(description = "Sort criteria in format: property,(asc|desc)") @RequestParam(defaultValue = "id,asc") String sort,
+            @Parameter(description = "The title search term to filter tasks by") @RequestParam String title) {
+        return taskService.getTasksByTitle(page,numTasks,sort,title);
+    }
+}
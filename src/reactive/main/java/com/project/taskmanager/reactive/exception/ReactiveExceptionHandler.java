@@ -0,0 +1,65 @@
+package com.project.taskmanager.reactive.exception;
+
+import com.project.taskmanager.exception.ErrorResponse;
+import com.project.taskmanager.exception.TaskNotFoundException;
+import com.project.taskmanager.exception.UserNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authorization.AuthorizationDeniedException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.List;
+
+//GlobalExceptionHandler's statuses and bodies for the errors the read endpoints can raise
+@Slf4j
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+
+    private static ResponseEntity<ErrorResponse> error(HttpStatus status, String message, ServerWebExchange exchange) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                status.value(),
+                List.of(message),
+                exchange.getRequest().getPath().value()
+        );
+        return ResponseEntity.status(status).body(errorResponse);
+    }
+
+    @ExceptionHandler(TaskNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleTaskNotFound(TaskNotFoundException exception, ServerWebExchange exchange){
+        log.info("Task not found: {}", exception.getMessage());
+        return error(HttpStatus.NOT_FOUND, exception.getMessage(), exchange);
+    }
+
+    @ExceptionHandler(UserNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleUserNotFound(UserNotFoundException exception, ServerWebExchange exchange){
+        log.info("User not found: {}", exception.getMessage());
+        return error(HttpStatus.NOT_FOUND, exception.getMessage(), exchange);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException exception, ServerWebExchange exchange){
+        String message = exception.getMessage() != null ? exception.getMessage() : "Invalid argument provided.";
+        log.info("Invalid argument: {}", message);
+        return error(HttpStatus.BAD_REQUEST, message, exchange);
+    }
+
+    //bad path variables and parameters, e.g. an unknown status
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidInput(ServerWebInputException exception, ServerWebExchange exchange){
+        String message = exception.getReason() != null ? exception.getReason() : "Invalid request.";
+        log.info("Invalid request input: {}", message);
+        return error(HttpStatus.BAD_REQUEST, message, exchange);
+    }
+
+    @ExceptionHandler({AccessDeniedException.class, AuthorizationDeniedException.class})
+    public ResponseEntity<ErrorResponse> handleAccessDenied(Exception ex, ServerWebExchange exchange) {
+        String message = ex.getMessage() != null ? ex.getMessage() : "Access denied.";
+        log.info("Access denied: {}", message);
+        return error(HttpStatus.FORBIDDEN, message, exchange);
+    }
+}
@@ -0,0 +1,25 @@
+package com.project.taskmanager.reactive.model;
+
+import com.project.taskmanager.enums.Priority;
+import com.project.taskmanager.enums.Status;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+//a row of the tasks table as the JPA Task maps it; the owner is a plain id, R2DBC has no lazy associations
+@Data
+@Table("tasks")
+public class TaskRow {
+    @Id
+    private Integer id;
+    private String title;
+    private String description;
+    private Priority priority;
+    private Status status;
+
+    @Column("user_id")
+    private Integer userId;
+
+    private Long version;
+}
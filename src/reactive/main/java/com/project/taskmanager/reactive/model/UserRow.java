@@ -0,0 +1,18 @@
+package com.project.taskmanager.reactive.model;
+
+import com.project.taskmanager.enums.Role;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Data
+@Table("users")
+public class UserRow {
+    @Id
+    private Integer id;
+    private String username;
+    private String password;
+    private String email;
+    private Role role;
+    private Long version;
+}
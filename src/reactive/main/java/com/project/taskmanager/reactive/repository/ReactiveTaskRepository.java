@@ -0,0 +1,27 @@
+package com.project.taskmanager.reactive.repository;
+
+import com.project.taskmanager.enums.Status;
+import com.project.taskmanager.reactive.model.TaskRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+//R2DBC has no Page return type, so every list query comes with the count that completes its page
+public interface ReactiveTaskRepository extends ReactiveCrudRepository<TaskRow, Integer> {
+    Mono<TaskRow> findByIdAndUserId(Integer id, Integer userId);
+
+    Flux<TaskRow> findAllBy(Pageable pageable);
+
+    Flux<TaskRow> findByUserId(Integer userId, Pageable pageable);
+    Mono<Long> countByUserId(Integer userId);
+
+    Flux<TaskRow> findByStatus(Status status, Pageable pageable);
+    Mono<Long> countByStatus(Status status);
+
+    Flux<TaskRow> findByUserIdAndStatus(Integer userId, Status status, Pageable pageable);
+    Mono<Long> countByUserIdAndStatus(Integer userId, Status status);
+
+    Flux<TaskRow> findByTitleContainingIgnoreCase(String keyword, Pageable pageable);
+    Mono<Long> countByTitleContainingIgnoreCase(String keyword);
+}
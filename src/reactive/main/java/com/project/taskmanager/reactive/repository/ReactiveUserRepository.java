@@ -0,0 +1,9 @@
+package com.project.taskmanager.reactive.repository;
+
+import com.project.taskmanager.reactive.model.UserRow;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserRepository extends ReactiveCrudRepository<UserRow, Integer> {
+    Mono<UserRow> findByUsername(String username);
+}
@@ -0,0 +1,60 @@
+package com.project.taskmanager.reactive.security;
+
+import com.project.taskmanager.reactive.repository.ReactiveUserRepository;
+import com.project.taskmanager.security.ApiUserDetails;
+import com.project.taskmanager.security.JwtProvider;
+import com.project.taskmanager.security.VerifiedToken;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+//JwtAuthenticationFilter for WebFlux: same verification and principal, but the user lookup is an R2DBC query
+//and the principal travels in the Reactor context instead of a thread-local. This process never writes users, so
+//it never records a revocation and nothing would evict a cached principal; instead every request looks the user up,
+//which sees role changes, renames and deletions made by the servlet application on the next request.
+@Component
+public class ReactiveJwtAuthenticationFilter implements WebFilter {
+
+    private final JwtProvider jwtProvider;
+    private final ReactiveUserRepository userRepository;
+
+    public ReactiveJwtAuthenticationFilter(JwtProvider jwtProvider, ReactiveUserRepository userRepository) {
+        this.jwtProvider = jwtProvider;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+        String token = authHeader.substring(7);
+        return authenticate(token)
+                .map(userDetails -> ReactiveSecurityContextHolder.withAuthentication(
+                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities())))
+                //an invalid token leaves the request anonymous, exactly like the servlet filter
+                .defaultIfEmpty(Context.empty())
+                .flatMap(context -> chain.filter(exchange).contextWrite(context));
+    }
+
+    //emits the principal for a valid token, or nothing if the token must not authenticate the request
+    private Mono<ApiUserDetails> authenticate(String token) {
+        //single parse: signature, expiry and every claim the filter needs
+        VerifiedToken verifiedToken = jwtProvider.verifyToken(token);
+        if (verifiedToken == null) {
+            return Mono.empty();
+        }
+        //id and role come from the current row, never from the token's claims
+        return userRepository.findByUsername(verifiedToken.getUsername())
+                //a token with an id claim must not pass for another user who took the name after a rename
+                .filter(user -> verifiedToken.getUserId() == null || verifiedToken.getUserId().equals(user.getId()))
+                .map(user -> new ApiUserDetails(user.getId(), user.getUsername(), user.getPassword(), user.getRole()));
+    }
+}
@@ -0,0 +1,18 @@
+package com.project.taskmanager.reactive.service;
+
+import com.project.taskmanager.dto.TaskResponse;
+import com.project.taskmanager.enums.Status;
+import org.springframework.data.domain.Page;
+import reactor.core.publisher.Mono;
+
+//the read side of TaskService, with the same validation, errors and ownership rules
+public interface ReactiveTaskService {
+    //ownerId null means unrestricted (admin); otherwise the task must belong to ownerId
+    Mono<TaskResponse> getTask(Integer id, Integer ownerId);
+
+    Mono<Page<TaskResponse>> getTasks(Integer page, Integer numTasks, String sort);
+    Mono<Page<TaskResponse>> getTasksByUserId(Integer page, Integer numTasks, String sort, Integer userId);
+    Mono<Page<TaskResponse>> getTasksByStatus(Integer page, Integer numTasks, String sort, Status status);
+    Mono<Page<TaskResponse>> getTasksByUserIdAndStatus(Integer page, Integer numTasks, String sort, Integer userId, Status status);
+    Mono<Page<TaskResponse>> getTasksByTitle(Integer page, Integer numTasks, String sort, String title);
+}
@@ -0,0 +1,108 @@
+package com.project.taskmanager.reactive.service.impl;
+
+import com.project.taskmanager.dto.TaskResponse;
+import com.project.taskmanager.enums.Status;
+import com.project.taskmanager.exception.TaskNotFoundException;
+import com.project.taskmanager.exception.UserNotFoundException;
+import com.project.taskmanager.reactive.model.TaskRow;
+import com.project.taskmanager.reactive.repository.ReactiveTaskRepository;
+import com.project.taskmanager.reactive.repository.ReactiveUserRepository;
+import com.project.taskmanager.reactive.service.ReactiveTaskService;
+import com.project.taskmanager.utils.PaginationUtils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Service
+public class ReactiveTaskServiceImpl implements ReactiveTaskService {
+
+    private static final List<String> ALLOWED_SORT_FIELDS = List.of("id", "title","description", "status", "priority");
+
+    private final ReactiveTaskRepository taskRepository;
+    private final ReactiveUserRepository userRepository;
+
+    public ReactiveTaskServiceImpl(ReactiveTaskRepository taskRepository, ReactiveUserRepository userRepository) {
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+    }
+
+    private TaskResponse createTaskResponse(TaskRow task){
+        TaskResponse taskResponse = new TaskResponse();
+        taskResponse.setId(task.getId());
+        taskResponse.setTitle(task.getTitle());
+        taskResponse.setDescription(task.getDescription());
+        taskResponse.setPriority(task.getPriority());
+        taskResponse.setStatus(task.getStatus());
+        taskResponse.setVersion(task.getVersion());
+        return taskResponse;
+    }
+
+    //validation errors surface as an error signal, not a throw while the pipeline is being assembled
+    private Mono<Page<TaskResponse>> page(Integer page, Integer numTasks, String sort,
+                                          Function<Pageable, Flux<TaskRow>> rows, Mono<Long> total) {
+        return Mono.fromCallable(() -> PaginationUtils.validateAndCreatePageable(page, numTasks, sort, ALLOWED_SORT_FIELDS))
+                //rows and count run concurrently, each on its own pooled connection
+                .flatMap(pageable -> Mono.zip(rows.apply(pageable).map(this::createTaskResponse).collectList(), total)
+                        .map(result -> new PageImpl<>(result.getT1(), pageable, result.getT2())));
+    }
+
+    private <T> Mono<T> requireUser(Integer userId, Mono<T> then) {
+        return userRepository.existsById(userId)
+                .flatMap(exists -> exists ? then : Mono.error(new UserNotFoundException("User with id " + userId + " not found")));
+    }
+
+    //only runs once the owner-scoped query missed, to tell a missing task apart from someone else's
+    private <T> Mono<T> taskNotAccessible(Integer id, Integer ownerId) {
+        if (ownerId == null) {
+            return Mono.error(new TaskNotFoundException("Task with id " + id + " not found"));
+        }
+        return taskRepository.existsById(id)
+                .flatMap(exists -> Mono.error(exists ? new AccessDeniedException("Access Denied")
+                        : new TaskNotFoundException("Task with id " + id + " not found")));
+    }
+
+    @Override
+    public Mono<TaskResponse> getTask(Integer id, Integer ownerId) {
+        Mono<TaskRow> task = ownerId == null ? taskRepository.findById(id) : taskRepository.findByIdAndUserId(id, ownerId);
+        return task.map(this::createTaskResponse)
+                .switchIfEmpty(Mono.defer(() -> taskNotAccessible(id, ownerId)));
+    }
+
+    @Override
+    public Mono<Page<TaskResponse>> getTasks(Integer page, Integer numTasks, String sort) {
+        return page(page, numTasks, sort, taskRepository::findAllBy, taskRepository.count());
+    }
+
+    @Override
+    public Mono<Page<TaskResponse>> getTasksByUserId(Integer page, Integer numTasks, String sort, Integer userId) {
+        return requireUser(userId, page(page, numTasks, sort,
+                pageable -> taskRepository.findByUserId(userId, pageable), taskRepository.countByUserId(userId)));
+    }
+
+    @Override
+    public Mono<Page<TaskResponse>> getTasksByStatus(Integer page, Integer numTasks, String sort, Status status) {
+        return page(page, numTasks, sort,
+                pageable -> taskRepository.findByStatus(status, pageable), taskRepository.countByStatus(status));
+    }
+
+    @Override
+    public Mono<Page<TaskResponse>> getTasksByUserIdAndStatus(Integer page, Integer numTasks, String sort, Integer userId, Status status) {
+        return requireUser(userId, page(page, numTasks, sort,
+                pageable -> taskRepository.findByUserIdAndStatus(userId, status, pageable),
+                taskRepository.countByUserIdAndStatus(userId, status)));
+    }
+
+    @Override
+    public Mono<Page<TaskResponse>> getTasksByTitle(Integer page, Integer numTasks, String sort, String title) {
+        return page(page, numTasks, sort,
+                pageable -> taskRepository.findByTitleContainingIgnoreCase(title, pageable),
+                taskRepository.countByTitleContainingIgnoreCase(title));
+    }
+}
@@ -0,0 +1,188 @@
+package com.project.taskmanager.reactive.controller;
+
+import com.project.taskmanager.TaskManagerApplication;
+import com.project.taskmanager.controller.ThreadModeLoadBenchmark;
+import com.project.taskmanager.controller.ThreadModeLoadBenchmark.Result;
+import com.project.taskmanager.controller.ThreadModeLoadBenchmark.SimulatedDbLatency;
+import com.project.taskmanager.model.Task;
+import com.project.taskmanager.reactive.ReactiveTaskManagerApplication;
+import com.project.taskmanager.repository.TaskRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.ClassUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.IntSupplier;
+
+import static com.project.taskmanager.controller.ThreadModeLoadBenchmark.CLIENTS;
+import static com.project.taskmanager.controller.ThreadModeLoadBenchmark.POOL_SIZE;
+import static com.project.taskmanager.controller.ThreadModeLoadBenchmark.SECONDS;
+import static com.project.taskmanager.controller.ThreadModeLoadBenchmark.WARMUP_SECONDS;
+
+//ThreadModeLoadBenchmark's GET /api/tasks/{id} load against the servlet application (platform and virtual threads)
+//and the WebFlux + R2DBC variant, with the peak number of platform threads and of connections in use next to
+//throughput and latency. Each servlet run seeds its own H2 database; the reactive run reads the last one over R2DBC.
+//Every statement holds its connection for load.dbLatencyMs: a sleep on the servlet side, a timer on the reactive side.
+//H2's R2DBC driver still executes on the calling thread, so only the simulated round trip is non-blocking here;
+//with r2dbc-postgresql the whole round trip is. The HTTP client's own threads are counted in every mode.
+//Run with: mvn -Preactive test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java "-Dexec.args=-cp %classpath com.project.taskmanager.reactive.controller.ReactiveLoadBenchmark"
+//Same load.* settings as ThreadModeLoadBenchmark, plus -Dload.r2dbcPoolSize=20 for the reactive pool.
+public class ReactiveLoadBenchmark {
+
+    private static final int R2DBC_POOL_SIZE = Integer.getInteger("load.r2dbcPoolSize", 20);
+    private static final Duration LATENCY = Duration.ofMillis(SimulatedDbLatency.LATENCY_MS);
+
+    private record Usage(String mode, int peakThreads, int peakConnections) {
+        @Override
+        public String toString() {
+            return String.format("%-8s peak platform threads %5d  peak connections in use %4d",
+                    mode, peakThreads, peakConnections);
+        }
+    }
+
+    //virtual threads are not in the thread count, so it shows the platform threads each mode really needs
+    private static class UsageSampler implements AutoCloseable {
+        private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        private final AtomicInteger peakThreads = new AtomicInteger();
+        private final AtomicInteger peakConnections = new AtomicInteger();
+
+        UsageSampler(IntSupplier connectionsInUse) {
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            sampler.scheduleAtFixedRate(() -> {
+                peakThreads.accumulateAndGet(threads.getThreadCount(), Math::max);
+                peakConnections.accumulateAndGet(connectionsInUse.getAsInt(), Math::max);
+            }, 0, 5, TimeUnit.MILLISECONDS);
+        }
+
+        Usage usage(String mode) {
+            return new Usage(mode, peakThreads.get(), peakConnections.get());
+        }
+
+        @Override
+        public void close() {
+            sampler.shutdownNow();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<Result> results = new ArrayList<>();
+        List<Usage> usages = new ArrayList<>();
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String token = null;
+        List<Integer> ids = null;
+        String database = null;
+        for (boolean virtual : new boolean[]{false, true}) {
+            String mode = virtual ? "virtual" : "platform";
+            database = "load-" + mode;
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                    .profiles("test")
+                    .properties("server.port=0",
+                            "spring.threads.virtual.enabled=" + virtual,
+                            //kept after the context closes, for the reactive run
+                            "spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                            "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                            "spring.jpa.properties.hibernate.session_factory.statement_inspector=" + SimulatedDbLatency.class.getName(),
+                            //measures queueing, which load shedding would turn into 503s
+                            "concurrency-limit.enabled=false",
+                            "logging.level.root=WARN")
+                    .run()) {
+                token = ThreadModeLoadBenchmark.seed(context);
+                ids = context.getBean(TaskRepository.class).findAll().stream().map(Task::getId).toList();
+                HikariPoolMXBean pool = context.getBean("userDataSource", HikariDataSource.class).getHikariPoolMXBean();
+                measure(client, context, token, ids, mode, pool::getActiveConnections, results, usages);
+            }
+        }
+
+        AtomicReference<ConnectionPool> pool = new AtomicReference<>();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ReactiveTaskManagerApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles("test", "reactive")
+                .initializers(simulatedLatency(pool))
+                .properties("server.port=0",
+                        "spring.r2dbc.url=r2dbc:h2:mem:///" + database + ";DB_CLOSE_DELAY=-1",
+                        "spring.r2dbc.username=sa",
+                        "spring.r2dbc.password=",
+                        "spring.r2dbc.pool.max-size=" + R2DBC_POOL_SIZE,
+                        "logging.level.root=WARN")
+                .run()) {
+            measure(client, context, token, ids, "reactive",
+                    () -> pool.get().getMetrics().map(PoolMetrics::acquiredSize).orElse(0), results, usages);
+        }
+
+        System.out.printf("%d clients, %d ms per statement, pool of %d (JDBC) / %d (R2DBC) connections, %d s measured%n",
+                CLIENTS, LATENCY.toMillis(), POOL_SIZE, R2DBC_POOL_SIZE, SECONDS);
+        results.forEach(System.out::println);
+        usages.forEach(System.out::println);
+    }
+
+    private static void measure(HttpClient client, ConfigurableApplicationContext context, String token, List<Integer> ids,
+                                String mode, IntSupplier connectionsInUse, List<Result> results, List<Usage> usages)
+            throws Exception {
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        ThreadModeLoadBenchmark.drive(client, baseUrl, token, ids, WARMUP_SECONDS, mode);
+        try (UsageSampler sampler = new UsageSampler(connectionsInUse)) {
+            results.add(ThreadModeLoadBenchmark.drive(client, baseUrl, token, ids, SECONDS, mode));
+            usages.add(sampler.usage(mode));
+        }
+    }
+
+    //wraps the R2DBC pool so every statement's results are delayed by LATENCY on a timer, connection still held
+    private static ApplicationContextInitializer<ConfigurableApplicationContext> simulatedLatency(
+            AtomicReference<ConnectionPool> pool) {
+        return context -> context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof ConnectionPool connectionPool)) {
+                    return bean;
+                }
+                pool.set(connectionPool);
+                return decorate(connectionPool, (method, connections) -> !method.equals("create") ? connections
+                        : Mono.from((Publisher<?>) connections).map(connection -> decorate(connection,
+                                (connectionMethod, statement) -> !connectionMethod.equals("createStatement") ? statement
+                                        : decorate(statement, (statementMethod, rows) -> !statementMethod.equals("execute") ? rows
+                                                : Flux.from((Publisher<?>) rows).delaySubscription(LATENCY)))));
+            }
+        });
+    }
+
+    //a proxy with all of target's interfaces that passes each result through decorator, and returns itself
+    //wherever target returns itself (statement builders)
+    private static Object decorate(Object target, BiFunction<String, Object, Object> decorator) {
+        return Proxy.newProxyInstance(target.getClass().getClassLoader(), ClassUtils.getAllInterfaces(target),
+                (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    return result == target ? proxy : decorator.apply(method.getName(), result);
+                });
+    }
+}
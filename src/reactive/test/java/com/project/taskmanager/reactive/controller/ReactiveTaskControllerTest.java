@@ -0,0 +1,262 @@
+package com.project.taskmanager.reactive.controller;
+
+import com.project.taskmanager.enums.Priority;
+import com.project.taskmanager.enums.Role;
+import com.project.taskmanager.enums.Status;
+import com.project.taskmanager.reactive.model.TaskRow;
+import com.project.taskmanager.reactive.model.UserRow;
+import com.project.taskmanager.reactive.repository.ReactiveTaskRepository;
+import com.project.taskmanager.reactive.repository.ReactiveUserRepository;
+import com.project.taskmanager.security.ApiUserDetails;
+import com.project.taskmanager.security.JwtProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+//the whole reactive stack against H2 over R2DBC: security filter, method security, service, repositories
+@SpringBootTest(properties = {
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive-tasks;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=",
+        "spring.sql.init.mode=always",
+        "spring.sql.init.schema-locations=classpath:reactive-schema.sql",
+        //data.sql is the servlet application's Postgres seed
+        "spring.sql.init.data-locations=optional:classpath:none.sql"})
+@AutoConfigureWebTestClient
+@ActiveProfiles({"test", "reactive"})
+class ReactiveTaskControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveTaskRepository taskRepository;
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    @Autowired
+    private JwtProvider jwtProvider;
+
+    private UserRow owner;
+    private UserRow admin;
+    private TaskRow ownTask;
+    private TaskRow otherTask;
+
+    @BeforeEach
+    void setUp() {
+        owner = saveUser("owner", Role.USER);
+        UserRow other = saveUser("other", Role.USER);
+        admin = saveUser("admin", Role.ADMIN);
+        ownTask = saveTask("Write report", Status.IN_PROGRESS, owner);
+        saveTask("Review report", Status.NOT_STARTED, owner);
+        otherTask = saveTask("Plan sprint", Status.IN_PROGRESS, other);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll().then(userRepository.deleteAll()).block();
+    }
+
+    private UserRow saveUser(String username, Role role) {
+        UserRow user = new UserRow();
+        user.setUsername(username);
+        user.setPassword("password");
+        user.setEmail(username + "@example.com");
+        user.setRole(role);
+        user.setVersion(0L);
+        return userRepository.save(user).block();
+    }
+
+    private TaskRow saveTask(String title, Status status, UserRow user) {
+        TaskRow task = new TaskRow();
+        task.setTitle(title);
+        task.setDescription("description");
+        task.setPriority(Priority.MEDIUM);
+        task.setStatus(status);
+        task.setUserId(user.getId());
+        task.setVersion(0L);
+        return taskRepository.save(task).block();
+    }
+
+    private String tokenFor(UserRow user) {
+        return jwtProvider.generateToken(new ApiUserDetails(user.getId(), user.getUsername(), null, user.getRole()));
+    }
+
+    @Test
+    void shouldReturnOwnTask() {
+        //act
+        //assert
+        webTestClient.get().uri("/api/tasks/{id}", ownTask.getId())
+                .headers(headers -> headers.setBearerAuth(tokenFor(owner)))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(ownTask.getId())
+                .jsonPath("$.title").isEqualTo("Write report")
+                .jsonPath("$.status").isEqualTo("IN_PROGRESS")
+                .jsonPath("$.version").isEqualTo(0);
+    }
+
+    @Test
+    void shouldForbidAnotherUsersTask() {
+        //act
+        //assert
+        webTestClient.get().uri("/api/tasks/{id}", otherTask.getId())
+                .headers(headers -> headers.setBearerAuth(tokenFor(owner)))
+                .exchange()
+                .expectStatus().isForbidden()
+                .expectBody()
+                .jsonPath("$.messages[0]").isEqualTo("Access Denied");
+    }
+
+    @Test
+    void shouldReturnNotFoundForMissingTask() {
+        //act
+        //assert
+        webTestClient.get().uri("/api/tasks/{id}", otherTask.getId() + 1000)
+                .headers(headers -> headers.setBearerAuth(tokenFor(admin)))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.messages[0]").isEqualTo("Task with id " + (otherTask.getId() + 1000) + " not found");
+    }
+
+    @Test
+    void shouldRejectRequestWithoutValidToken() {
+        //act
+        //assert
+        webTestClient.get().uri("/api/tasks/{id}", ownTask.getId())
+                .exchange()
+                .expectStatus().isUnauthorized();
+        webTestClient.get().uri("/api/tasks/{id}", ownTask.getId())
+                .headers(headers -> headers.setBearerAuth("not-a-token"))
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void shouldSeeRoleChangeOnNextRequest() {
+        //arrange
+        String token = tokenFor(admin);
+        webTestClient.get().uri("/api/tasks")
+                .headers(headers -> headers.setBearerAuth(token))
+                .exchange()
+                .expectStatus().isOk();
+        //the servlet application demotes the admin; this process hears nothing about it
+        admin.setRole(Role.USER);
+        userRepository.save(admin).block();
+        //act
+        //assert
+        webTestClient.get().uri("/api/tasks")
+                .headers(headers -> headers.setBearerAuth(token))
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    @Test
+    void shouldRejectTokenAfterRename() {
+        //arrange
+        String token = tokenFor(owner);
+        owner.setUsername("renamed");
+        userRepository.save(owner).block();
+        //act
+        //assert
+        webTestClient.get().uri("/api/tasks/{id}", ownTask.getId())
+                .headers(headers -> headers.setBearerAuth(token))
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void shouldReturnPageOfAllTasksToAdmin() {
+        //act
+        //assert
+        webTestClient.get().uri("/api/tasks?page=0&numTasks=2&sort=title,asc")
+                .headers(headers -> headers.setBearerAuth(tokenFor(admin)))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(2)
+                .jsonPath("$.content[0].title").isEqualTo("Plan sprint")
+                .jsonPath("$.totalElements").isEqualTo(3)
+                .jsonPath("$.totalPages").isEqualTo(2);
+    }
+
+    @Test
+    void shouldForbidListingAllTasksToNonAdmin() {
+        //act
+        //assert
+        webTestClient.get().uri("/api/tasks")
+                .headers(headers -> headers.setBearerAuth(tokenFor(owner)))
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    @Test
+    void shouldReturnOwnTasksByStatus() {
+        //act
+        //assert
+        webTestClient.get().uri("/api/tasks/user/{userId}/status/IN_PROGRESS", owner.getId())
+                .headers(headers -> headers.setBearerAuth(tokenFor(owner)))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(1)
+                .jsonPath("$.content[0].id").isEqualTo(ownTask.getId())
+                .jsonPath("$.totalElements").isEqualTo(1);
+    }
+
+    @Test
+    void shouldForbidAnotherUsersTaskList() {
+        //act
+        //assert
+        webTestClient.get().uri("/api/tasks/user/{userId}", admin.getId())
+                .headers(headers -> headers.setBearerAuth(tokenFor(owner)))
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownUser() {
+        //act
+        //assert
+        webTestClient.get().uri("/api/tasks/user/{userId}", admin.getId() + 1000)
+                .headers(headers -> headers.setBearerAuth(tokenFor(admin)))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.messages[0]").isEqualTo("User with id " + (admin.getId() + 1000) + " not found");
+    }
+
+    @Test
+    void shouldRejectInvalidPaging() {
+        //act
+        //assert
+        webTestClient.get().uri("/api/tasks/status/IN_PROGRESS?numTasks=101")
+                .headers(headers -> headers.setBearerAuth(tokenFor(admin)))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.messages[0]").isEqualTo("Page size cannot be greater than 100.");
+    }
+
+    @Test
+    void shouldSearchTitlesIgnoringCase() {
+        //act
+        //assert
+        webTestClient.get().uri("/api/tasks/search?title=REPORT&sort=id,desc")
+                .headers(headers -> headers.setBearerAuth(tokenFor(admin)))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].title").isEqualTo("Review report")
+                .jsonPath("$.content[1].title").isEqualTo("Write report")
+                .jsonPath("$.totalElements").isEqualTo(2);
+    }
+}
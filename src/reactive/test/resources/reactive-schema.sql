@@ -0,0 +1,22 @@
+-- The columns of users and tasks that the reactive variant reads, as Hibernate creates them for the servlet application
+CREATE TABLE IF NOT EXISTS users (
+    id INTEGER AUTO_INCREMENT PRIMARY KEY,
+    username VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    role VARCHAR(255) NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id INTEGER AUTO_INCREMENT PRIMARY KEY,
+    title VARCHAR(255),
+    description VARCHAR(255),
+    priority VARCHAR(255),
+    status VARCHAR(255),
+    user_id INTEGER REFERENCES users (id),
+    version BIGINT DEFAULT 0 NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_tasks_user_status_id ON tasks (user_id, status, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_status_id ON tasks (status, id);
@@ -0,0 +1,121 @@
+package com.project.taskmanager.cache;
+
+import com.project.taskmanager.dto.TaskResponse;
+import com.project.taskmanager.enums.Status;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskPageCacheTest {
+
+    private static final TaskPageCache.Key ALL = new TaskPageCache.Key("all", null, null, null, PageRequest.of(0, 10));
+    private static final TaskPageCache.Key USER_1 = new TaskPageCache.Key("user", 1, null, null, PageRequest.of(0, 10));
+    private static final TaskPageCache.Key USER_2 = new TaskPageCache.Key("user", 2, null, null, PageRequest.of(0, 10));
+    private static final TaskPageCache.Key IN_PROGRESS = new TaskPageCache.Key("status", null, Status.IN_PROGRESS, null, PageRequest.of(0, 10));
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Supplier<Page<TaskResponse>> loader = () -> {
+        loads.incrementAndGet();
+        return new PageImpl<>(List.of());
+    };
+
+    @Test
+    void shouldInvalidateOnlyPagesOfTheWrittenUser() {
+        //arrange
+        TaskPageCache cache = new TaskPageCache(true, 10, Duration.ofMinutes(1));
+        cache.get(USER_1, loader);
+        cache.get(USER_2, loader);
+        cache.get(ALL, loader);
+        //act
+        cache.tasksChanged(1, Status.NOT_STARTED);
+        cache.get(USER_1, loader);
+        cache.get(USER_2, loader);
+        cache.get(ALL, loader);
+        //assert
+        assertEquals(5, loads.get());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    void shouldInvalidateEveryUserAndStatusWhenWriteDoesNotKnowThem() {
+        //arrange
+        TaskPageCache cache = new TaskPageCache(true, 10, Duration.ofMinutes(1));
+        cache.get(USER_2, loader);
+        cache.get(IN_PROGRESS, loader);
+        //act
+        cache.tasksChanged(null, null);
+        cache.get(USER_2, loader);
+        cache.get(IN_PROGRESS, loader);
+        //assert
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void shouldBumpVersionsOnlyAfterCommit() {
+        //arrange
+        TaskPageCache cache = new TaskPageCache(true, 10, Duration.ofMinutes(1));
+        cache.get(USER_1, loader);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            //act
+            cache.tasksChanged(1, null);
+            cache.get(USER_1, loader);
+            assertEquals(1, loads.get());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        cache.get(USER_1, loader);
+        //assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldStayWithinMaxSize() {
+        //arrange
+        TaskPageCache cache = new TaskPageCache(true, 2, Duration.ofMinutes(1));
+        cache.get(USER_1, loader);
+        cache.get(USER_2, loader);
+        //act
+        cache.get(ALL, loader);
+        cache.cleanUp();
+        //assert
+        assertEquals(2, cache.size());
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void shouldReloadPageAfterTtl() throws InterruptedException {
+        //arrange
+        TaskPageCache cache = new TaskPageCache(true, 10, Duration.ofMillis(50));
+        cache.get(ALL, loader);
+        //act
+        Thread.sleep(100);
+        cache.get(ALL, loader);
+        //assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldAlwaysLoadWhenDisabled() {
+        //arrange
+        TaskPageCache cache = new TaskPageCache(false, 10, Duration.ofMinutes(1));
+        //act
+        cache.get(ALL, loader);
+        cache.get(ALL, loader);
+        //assert
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+    }
+}
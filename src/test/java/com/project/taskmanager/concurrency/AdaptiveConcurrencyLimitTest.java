@@ -0,0 +1,104 @@
+package com.project.taskmanager.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long TEN_MS = 10_000_000;
+
+    //samples taken with the lane busy up to its current limit
+    private void busySamples(AdaptiveConcurrencyLimit limit, int count, long rttNanos) {
+        for (int i = 0; i < count; i++) {
+            limit.onSample(rttNanos, limit.getLimit(), true);
+        }
+    }
+
+    @Test
+    void shouldRejectRequestsOverTheLimit() {
+        //arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("read", 2, 1, 10);
+        AdaptiveConcurrencyLimit.Permit first = limit.tryAcquire();
+        limit.tryAcquire();
+        //act
+        AdaptiveConcurrencyLimit.Permit rejected = limit.tryAcquire();
+        first.release(true);
+        //assert
+        assertNull(rejected);
+        assertEquals(1, limit.getRejectedCount());
+        assertNotNull(limit.tryAcquire());
+        assertEquals(2, limit.getInFlight());
+    }
+
+    @Test
+    void shouldFreeSlotOnlyOnce() {
+        //arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("read", 2, 1, 10);
+        AdaptiveConcurrencyLimit.Permit permit = limit.tryAcquire();
+        //act
+        permit.release(true);
+        permit.release(true);
+        permit.ignore();
+        //assert
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    void shouldGrowWhileLatencyStaysFlat() {
+        //arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("read", 10, 1, 100);
+        //act
+        busySamples(limit, 50, TEN_MS);
+        //assert
+        assertTrue(limit.getLimit() > 10);
+        assertTrue(limit.getLimit() <= 100);
+    }
+
+    @Test
+    void shouldShrinkWhenLatencyRises() {
+        //arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("read", 10, 1, 100);
+        busySamples(limit, 200, TEN_MS);
+        int before = limit.getLimit();
+        //act
+        busySamples(limit, 50, 10 * TEN_MS);
+        //assert
+        assertEquals(100, before);
+        assertTrue(limit.getLimit() < 50);
+    }
+
+    @Test
+    void shouldNotGrowWhileLaneIsUnderused() {
+        //arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("read", 20, 1, 100);
+        //act
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(TEN_MS, 1, true);
+        }
+        //assert
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    void shouldBackOffOnFailuresButNotBelowMinimum() {
+        //arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("write", 10, 8, 100);
+        //act
+        limit.onSample(TEN_MS, 10, false);
+        int afterOne = limit.getLimit();
+        limit.onSample(TEN_MS, 10, false);
+        limit.onSample(TEN_MS, 10, false);
+        //assert
+        assertEquals(9, afterOne);
+        assertEquals(8, limit.getLimit());
+    }
+
+    @Test
+    void shouldRejectInconsistentBounds() {
+        //act
+        //assert
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit("read", 5, 10, 100));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit("read", 0, 0, 100));
+    }
+}
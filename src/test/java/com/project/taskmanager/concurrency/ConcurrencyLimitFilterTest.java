@@ -0,0 +1,160 @@
+package com.project.taskmanager.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.taskmanager.enums.TrafficClass;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConcurrencyLimitFilterTest {
+
+    private ConcurrencyLimitFilter filter;
+    private MockHttpServletResponse response;
+    private FilterChain filterChain;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ConcurrencyLimitFilter(true, 1, 1, 10, 1, 10, 1, 10, Duration.ofSeconds(2),
+                new ObjectMapper().findAndRegisterModules());
+        response = new MockHttpServletResponse();
+        filterChain = mock(FilterChain.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TrafficClassContext.clear();
+    }
+
+    @Test
+    void shouldShedWith503AndRetryAfterWhenLaneIsFull() throws Exception {
+        //arrange
+        filter.getReadLimit().tryAcquire();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/1");
+        //act
+        filter.doFilter(request, response, filterChain);
+        //assert
+        assertEquals(503, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("Too many concurrent requests, retry later."));
+        verifyNoInteractions(filterChain);
+    }
+
+    @Test
+    void shouldKeepServingReadsWhenWritesAreFull() throws Exception {
+        //arrange
+        filter.getWriteLimit().tryAcquire();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/1");
+        //act
+        filter.doFilter(request, response, filterChain);
+        //assert
+        assertEquals(200, response.getStatus());
+        verify(filterChain).doFilter(request, response);
+        assertEquals(0, filter.getReadLimit().getInFlight());
+    }
+
+    @Test
+    void shouldLimitWritesSeparately() throws Exception {
+        //arrange
+        filter.getWriteLimit().tryAcquire();
+        MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/api/tasks/bulk");
+        //act
+        filter.doFilter(request, response, filterChain);
+        //assert
+        assertEquals(503, response.getStatus());
+        assertEquals(1, filter.getWriteLimit().getRejectedCount());
+        assertEquals(0, filter.getReadLimit().getRejectedCount());
+    }
+
+    @Test
+    void shouldNotLimitHealthChecks() throws Exception {
+        //arrange
+        filter.getReadLimit().tryAcquire();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/health");
+        //act
+        filter.doFilter(request, response, filterChain);
+        //assert
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void shouldBackOffWhenRequestFails() throws Exception {
+        //arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/tasks/user/1/batch");
+        filter = new ConcurrencyLimitFilter(true, 1, 1, 10, 10, 10, 1, 10, Duration.ofSeconds(1), new ObjectMapper());
+        doAnswer(invocation -> {
+            response.setStatus(500);
+            return null;
+        }).when(filterChain).doFilter(request, response);
+        //act
+        filter.doFilter(request, response, filterChain);
+        //assert
+        assertEquals(9, filter.getWriteLimit().getLimit());
+        assertEquals(0, filter.getWriteLimit().getInFlight());
+    }
+
+    @Test
+    void shouldHoldSlotUntilAsyncRequestCompletes() throws Exception {
+        //arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/user/1/export");
+        request.setAsyncSupported(true);
+        doAnswer(invocation -> {
+            request.startAsync();
+            return null;
+        }).when(filterChain).doFilter(request, response);
+        //act
+        filter.doFilter(request, response, filterChain);
+        int inFlightWhileStreaming = filter.getReadLimit().getInFlight();
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+        //assert
+        assertEquals(1, inFlightWhileStreaming);
+        assertEquals(0, filter.getReadLimit().getInFlight());
+    }
+
+    @Test
+    void shouldKeepAdminScansInTheirOwnLane() throws Exception {
+        //arrange
+        filter.getAdminScanLimit().tryAcquire();
+        TrafficClassContext.set(TrafficClass.ADMIN_SCAN);
+        MockHttpServletRequest scan = new MockHttpServletRequest("GET", "/api/tasks/search");
+        MockHttpServletRequest userRead = new MockHttpServletRequest("GET", "/api/tasks/1");
+        MockHttpServletResponse userResponse = new MockHttpServletResponse();
+        //act
+        filter.doFilter(scan, response, filterChain);
+        TrafficClassContext.set(TrafficClass.USER);
+        filter.doFilter(userRead, userResponse, filterChain);
+        //assert
+        assertEquals(503, response.getStatus());
+        assertEquals(1, filter.getAdminScanLimit().getRejectedCount());
+        assertEquals(200, userResponse.getStatus());
+        verify(filterChain).doFilter(userRead, userResponse);
+    }
+
+    @Test
+    void shouldKeepAnonymousFloodOutOfTheAdminLane() throws Exception {
+        //arrange
+        TrafficClassFilter trafficClassFilter = new TrafficClassFilter();
+        //a real admin scan holds the only admin slot for the whole flood
+        filter.getAdminScanLimit().tryAcquire();
+        FilterChain unauthenticated = (req, res) -> ((HttpServletResponse) res).setStatus(401);
+        //act
+        for (int i = 0; i < 100; i++) {
+            MockHttpServletResponse floodResponse = new MockHttpServletResponse();
+            trafficClassFilter.doFilter(new MockHttpServletRequest("GET", "/api/tasks/search"), floodResponse,
+                    (req, res) -> filter.doFilter(req, res, unauthenticated));
+            //assert
+            assertEquals(401, floodResponse.getStatus());
+        }
+        assertEquals(0, filter.getAdminScanLimit().getRejectedCount());
+        assertEquals(1, filter.getAdminScanLimit().getInFlight());
+    }
+}
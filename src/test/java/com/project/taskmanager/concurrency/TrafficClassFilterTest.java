@@ -0,0 +1,70 @@
+package com.project.taskmanager.concurrency;
+
+import com.project.taskmanager.enums.TrafficClass;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrafficClassFilterTest {
+
+    private final TrafficClassFilter filter = new TrafficClassFilter();
+
+    private TrafficClass classify(String method, String path, String ids) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer token");
+        if (ids != null) {
+            request.setParameter("ids", ids);
+        }
+        return TrafficClassFilter.classify(request);
+    }
+
+    @Test
+    void shouldClassifyAdminScans() {
+        //act
+        //assert
+        assertEquals(TrafficClass.ADMIN_SCAN, classify("GET", "/api/tasks", null));
+        assertEquals(TrafficClass.ADMIN_SCAN, classify("GET", "/api/tasks/status/IN_PROGRESS", null));
+        assertEquals(TrafficClass.ADMIN_SCAN, classify("GET", "/api/tasks/search", null));
+    }
+
+    @Test
+    void shouldClassifyPerUserOperationsAsUserTraffic() {
+        //act
+        //assert
+        assertEquals(TrafficClass.USER, classify("GET", "/api/tasks", "1,2"));
+        assertEquals(TrafficClass.USER, classify("GET", "/api/tasks/1", null));
+        assertEquals(TrafficClass.USER, classify("GET", "/api/tasks/user/1/status/IN_PROGRESS", null));
+        assertEquals(TrafficClass.USER, classify("PATCH", "/api/tasks/bulk", null));
+        assertEquals(TrafficClass.USER, classify("DELETE", "/api/tasks/1", null));
+    }
+
+    @Test
+    void shouldClassifyRequestsWithoutBearerTokenAsUserTraffic() {
+        //arrange
+        MockHttpServletRequest anonymous = new MockHttpServletRequest("GET", "/api/tasks/search");
+        MockHttpServletRequest basic = new MockHttpServletRequest("GET", "/api/tasks");
+        basic.addHeader(HttpHeaders.AUTHORIZATION, "Basic dXNlcjpwYXNz");
+        //act
+        //assert
+        assertEquals(TrafficClass.USER, TrafficClassFilter.classify(anonymous));
+        assertEquals(TrafficClass.USER, TrafficClassFilter.classify(basic));
+    }
+
+    @Test
+    void shouldExposeTrafficClassOnlyForTheRequest() throws Exception {
+        //arrange
+        AtomicReference<TrafficClass> seen = new AtomicReference<>();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/search");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer token");
+        //act
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> seen.set(TrafficClassContext.current()));
+        //assert
+        assertEquals(TrafficClass.ADMIN_SCAN, seen.get());
+        assertEquals(TrafficClass.USER, TrafficClassContext.current());
+    }
+}
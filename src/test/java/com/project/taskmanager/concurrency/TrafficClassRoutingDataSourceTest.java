@@ -0,0 +1,55 @@
+package com.project.taskmanager.concurrency;
+
+import com.project.taskmanager.enums.TrafficClass;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TrafficClassRoutingDataSourceTest {
+
+    private final DataSource userPool = mock(DataSource.class);
+    private final DataSource adminPool = mock(DataSource.class);
+    private final Connection userConnection = mock(Connection.class);
+    private final Connection adminConnection = mock(Connection.class);
+    private TrafficClassRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(userPool.getConnection()).thenReturn(userConnection);
+        when(adminPool.getConnection()).thenReturn(adminConnection);
+        dataSource = new TrafficClassRoutingDataSource();
+        dataSource.setTargetDataSources(Map.of(TrafficClass.USER, userPool, TrafficClass.ADMIN_SCAN, adminPool));
+        dataSource.setDefaultTargetDataSource(userPool);
+        dataSource.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TrafficClassContext.clear();
+    }
+
+    @Test
+    void shouldUseAdminPoolForAdminScans() throws Exception {
+        //arrange
+        TrafficClassContext.set(TrafficClass.ADMIN_SCAN);
+        //act
+        //assert
+        assertSame(adminConnection, dataSource.getConnection());
+        verifyNoInteractions(userPool);
+    }
+
+    @Test
+    void shouldUseUserPoolOutsideRequests() throws Exception {
+        //act
+        //assert
+        assertSame(userConnection, dataSource.getConnection());
+        verifyNoInteractions(adminPool);
+    }
+}
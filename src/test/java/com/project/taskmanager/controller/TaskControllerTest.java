@@ -1,12 +1,35 @@
 package com.project.taskmanager.controller;
 
+import com.project.taskmanager.dto.BatchCreateResponse;
+import com.project.taskmanager.dto.BatchItemResult;
+import com.project.taskmanager.dto.BulkUpdateRequest;
+import com.project.taskmanager.dto.BulkUpdateResponse;
+import com.project.taskmanager.dto.CursorPage;
+import com.project.taskmanager.dto.ImportReport;
+import com.project.taskmanager.dto.SlicePage;
+import com.project.taskmanager.dto.TaskPatchRequest;
 import com.project.taskmanager.dto.TaskRequest;
+import com.project.taskmanager.dto.TaskLookupResult;
 import com.project.taskmanager.dto.TaskResponse;
+import com.project.taskmanager.dto.TaskSuggestion;
+import com.project.taskmanager.enums.JobState;
+import com.project.taskmanager.enums.LookupStatus;
 import com.project.taskmanager.enums.Priority;
+import com.project.taskmanager.enums.Role;
 import com.project.taskmanager.enums.Status;
+import com.project.taskmanager.enums.TaskFileFormat;
+import com.project.taskmanager.enums.TotalMode;
+import com.project.taskmanager.exception.TaskVersionConflictException;
+import com.project.taskmanager.security.ApiUserDetails;
 import com.project.taskmanager.security.JwtProvider;
+import com.project.taskmanager.security.TokenRevocationRegistry;
+import com.project.taskmanager.security.VerifiedTokenCache;
+import com.project.taskmanager.service.TaskExportService;
+import com.project.taskmanager.service.TaskImportService;
 import com.project.taskmanager.service.TaskService;
 import com.project.taskmanager.service.impl.ApiUserDetailsService;
+import com.project.taskmanager.utils.ETagUtils;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -15,8 +38,13 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.test.context.TestSecurityContextHolder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.anyString;
@@ -36,12 +64,38 @@ class TaskControllerTest {
     @MockBean
     private TaskService taskService;
 
+    @MockBean
+    private TaskExportService taskExportService;
+
+    @MockBean
+    private TaskImportService taskImportService;
+
     @MockBean
     JwtProvider jwtProvider;
 
     @MockBean
     ApiUserDetailsService apiUserDetailsService;
 
+    @MockBean
+    TokenRevocationRegistry tokenRevocationRegistry;
+
+    @MockBean
+    VerifiedTokenCache verifiedTokenCache;
+
+    private static final ApiUserDetails OWNER = new ApiUserDetails(1, "testuser", null, Role.USER);
+    private static final ApiUserDetails ADMIN = new ApiUserDetails(2, "admin", null, Role.ADMIN);
+
+    //filters are off, so the principal is put straight into the security context
+    private void authenticateAs(ApiUserDetails userDetails) {
+        TestSecurityContextHolder.setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        TestSecurityContextHolder.clearContext();
+    }
+
     private TaskResponse createTaskResponse(Integer id){
         TaskResponse response = new TaskResponse();
         response.setId(id);
@@ -56,7 +110,8 @@ class TaskControllerTest {
     void shouldReturnTaskById() throws Exception{
         //arrange
         TaskResponse expectedResponse = createTaskResponse(1);
-        when(taskService.getTask(1)).thenReturn(expectedResponse);
+        when(taskService.getTask(1, 1)).thenReturn(expectedResponse);
+        authenticateAs(OWNER);
         //act
         //assert
         mockMvc.perform(get("/api/tasks/{id}",1))
@@ -66,7 +121,68 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.description").value("Test task description 1"))
                 .andExpect(jsonPath("$.status").value("IN_PROGRESS"))
                 .andExpect(jsonPath("$.priority").value("MEDIUM"));
-        verify(taskService,times(1)).getTask(1);
+        verify(taskService,times(1)).getTask(1, 1);
+    }
+
+    @Test
+    void shouldTagTaskWithItsVersion() throws Exception {
+        //arrange
+        TaskResponse expectedResponse = createTaskResponse(1);
+        expectedResponse.setVersion(3L);
+        when(taskService.getTask(1, 1)).thenReturn(expectedResponse);
+        authenticateAs(OWNER);
+        //act
+        //assert
+        mockMvc.perform(get("/api/tasks/{id}", 1))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"task-1-3\""))
+                .andExpect(jsonPath("$.version").value(3));
+        verify(taskService, never()).getTaskETag(anyInt(), any());
+    }
+
+    @Test
+    void shouldAnswerNotModifiedFromVersionCheckWithoutLoadingTask() throws Exception {
+        //arrange
+        when(taskService.getTaskETag(1, 1)).thenReturn("\"task-1-3\"");
+        authenticateAs(OWNER);
+        //act
+        //assert
+        mockMvc.perform(get("/api/tasks/{id}", 1).header("If-None-Match", "\"task-1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"task-1-3\""))
+                .andExpect(content().string(""));
+        verify(taskService, never()).getTask(anyInt(), any());
+    }
+
+    @Test
+    void shouldReturnPageWhenIfNoneMatchIsStale() throws Exception {
+        //arrange
+        TaskResponse response = createTaskResponse(1);
+        response.setVersion(1L);
+        Page<TaskResponse> pageOfTasks = new PageImpl<>(List.of(response));
+        String current = ETagUtils.forPage(List.of(1), List.of(1L), 1);
+        when(taskService.getTaskPageETag(0, 10, "id,asc", 1, Status.IN_PROGRESS)).thenReturn(current);
+        when(taskService.getTasksByUserIdAndStatus(0, 10, "id,asc", 1, Status.IN_PROGRESS)).thenReturn(pageOfTasks);
+        //act
+        //assert
+        mockMvc.perform(get("/api/tasks/user/{userId}/status/{status}", 1, "IN_PROGRESS")
+                        .header("If-None-Match", "\"page-old\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", current))
+                .andExpect(jsonPath("$.content[0].id").value(1));
+    }
+
+    @Test
+    void shouldAnswerNotModifiedForUnchangedPage() throws Exception {
+        //arrange
+        String etag = ETagUtils.forPage(List.of(1, 2), List.of(0L, 0L), 2);
+        when(taskService.getTaskPageETag(0, 10, "id,asc", null, null)).thenReturn(etag);
+        //act
+        //assert
+        mockMvc.perform(get("/api/tasks").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+        verify(taskService, never()).getTasks(anyInt(), anyInt(), anyString());
     }
 
     @Test
@@ -91,13 +207,227 @@ class TaskControllerTest {
         verify(taskService, times(1)).getTasks(anyInt(), anyInt(), anyString());
     }
 
+    @Test
+    void shouldReturnTasksByCursorWhenCursorGiven() throws Exception {
+        //arrange
+        CursorPage<TaskResponse> cursorPage = new CursorPage<>(List.of(createTaskResponse(1), createTaskResponse(2)), "next", true);
+        when(taskService.scrollTasksByUserId("", 2, "title,asc", 1)).thenReturn(cursorPage);
+        //act
+        //assert
+        mockMvc.perform(get("/api/tasks/user/{userId}", 1)
+                        .param("cursor", "")
+                        .param("numTasks", "2")
+                        .param("sort", "title,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+        verify(taskService, never()).getTasksByUserId(anyInt(), anyInt(), anyString(), anyInt());
+    }
+
+    @Test
+    void shouldReturnSliceWhenTotalModeGiven() throws Exception {
+        //arrange
+        SlicePage<TaskResponse> slicePage = new SlicePage<>(List.of(createTaskResponse(1)), 0, 1, true, 5000L);
+        when(taskService.sliceTasks(0, 1, "id,asc", TotalMode.ESTIMATE)).thenReturn(slicePage);
+        //act
+        //assert
+        mockMvc.perform(get("/api/tasks")
+                        .param("numTasks", "1")
+                        .param("total", "ESTIMATE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.approximateTotal").value(5000));
+        verify(taskService, never()).getTasks(anyInt(), anyInt(), anyString());
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenTotalModeIsInvalid() throws Exception {
+        //act
+        //assert
+        mockMvc.perform(get("/api/tasks").param("total", "EXACT"))
+                .andExpect(status().isBadRequest());
+        verify(taskService, never()).sliceTasks(anyInt(), anyInt(), anyString(), any());
+    }
+
+    @Test
+    void shouldSearchTasksWhenQueryGiven() throws Exception {
+        //arrange
+        Page<TaskResponse> results = new PageImpl<>(List.of(createTaskResponse(2), createTaskResponse(1)));
+        when(taskService.searchTasks(0, 10, "sample task")).thenReturn(results);
+        //act
+        //assert
+        mockMvc.perform(get("/api/tasks/search").param("q", "sample task"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(2))
+                .andExpect(jsonPath("$.content[1].id").value(1));
+        verify(taskService, never()).getTasksByTitle(anyInt(), anyInt(), anyString(), anyString());
+    }
+
+    @Test
+    void shouldSuggestFromCallersOwnTitles() throws Exception {
+        //arrange
+        authenticateAs(ADMIN);
+        when(taskService.suggestTitles(2, "rep", 10)).thenReturn(List.of(new TaskSuggestion(7, "Report", Priority.HIGH)));
+        //act
+        //assert
+        mockMvc.perform(get("/api/tasks/suggest").param("prefix", "rep"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(7))
+                .andExpect(jsonPath("$[0].priority").value("HIGH"));
+    }
+
     @Test
     void shouldDeleteTaskById() throws Exception {
+        //arrange
+        authenticateAs(OWNER);
+        //act
+        //assert
+        mockMvc.perform(delete("/api/tasks/{id}",1))
+                .andExpect(status().isNoContent());
+        verify(taskService, times(1)).deleteTaskById(1, 1);
+    }
+
+    @Test
+    void shouldNotScopeTaskToOwnerForAdmin() throws Exception {
+        //arrange
+        authenticateAs(ADMIN);
         //act
         //assert
         mockMvc.perform(delete("/api/tasks/{id}",1))
                 .andExpect(status().isNoContent());
-        verify(taskService, times(1)).deleteTaskById(1);
+        verify(taskService, times(1)).deleteTaskById(1, null);
+    }
+
+    @Test
+    void shouldReturnForbiddenWhenNoUserIsAuthenticated() throws Exception {
+        //act
+        //assert
+        mockMvc.perform(get("/api/tasks/{id}",1))
+                .andExpect(status().isForbidden());
+        verify(taskService, never()).getTask(anyInt(), any());
+    }
+
+    @Test
+    void shouldGetTasksByIdsForCaller() throws Exception {
+        //arrange
+        authenticateAs(OWNER);
+        when(taskService.getTasksByIds(List.of(2, 1), 1)).thenReturn(List.of(
+                new TaskLookupResult(2, LookupStatus.FORBIDDEN, null),
+                new TaskLookupResult(1, LookupStatus.FOUND, createTaskResponse(1))));
+        //act
+        //assert
+        mockMvc.perform(get("/api/tasks").param("ids", "2,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("FORBIDDEN"))
+                .andExpect(jsonPath("$[1].task.id").value(1));
+        verify(taskService, never()).getTasks(anyInt(), anyInt(), anyString());
+    }
+
+    @Test
+    void shouldPassIfMatchVersionAndReturnNewETag() throws Exception {
+        //arrange
+        TaskResponse expectedResponse = createTaskResponse(1);
+        expectedResponse.setVersion(4L);
+        when(taskService.updateTask(any(TaskRequest.class), eq(1), eq(1), eq(3L))).thenReturn(expectedResponse);
+        authenticateAs(OWNER);
+        //act
+        //assert
+        mockMvc.perform(put("/api/tasks/{id}", 1)
+                        .header("If-Match", "\"task-1-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"t\", \"description\": \"d\", \"status\": \"COMPLETED\", \"priority\": \"LOW\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"task-1-4\""));
+    }
+
+    @Test
+    void shouldReturnPreconditionFailedOnVersionConflict() throws Exception {
+        //arrange
+        when(taskService.patchTask(any(TaskPatchRequest.class), eq(3), eq(1), eq(2L)))
+                .thenThrow(new TaskVersionConflictException("Task with id 3 has changed since version 2"));
+        authenticateAs(OWNER);
+        //act
+        //assert
+        mockMvc.perform(patch("/api/tasks/{id}", 3)
+                        .header("If-Match", "\"task-3-2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"COMPLETED\"}"))
+                .andExpect(status().isPreconditionFailed());
+        //a weak or foreign tag can never match, so the task is not touched
+        mockMvc.perform(patch("/api/tasks/{id}", 3)
+                        .header("If-Match", "W/\"task-3-2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"COMPLETED\"}"))
+                .andExpect(status().isPreconditionFailed());
+        verify(taskService, times(1)).patchTask(any(TaskPatchRequest.class), anyInt(), any(), any());
+    }
+
+    @Test
+    void shouldPatchTaskForOwner() throws Exception {
+        //arrange
+        authenticateAs(OWNER);
+        //act
+        //assert
+        mockMvc.perform(patch("/api/tasks/{id}",3)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\": \"COMPLETED\"}"))
+                .andExpect(status().isNoContent());
+        verify(taskService, times(1)).patchTask(argThat(patch -> patch.getStatus() == Status.COMPLETED
+                && patch.getTitle() == null), eq(3), eq(1), isNull());
+    }
+
+    @Test
+    void shouldRejectBlankTitleInPatch() throws Exception {
+        //arrange
+        authenticateAs(OWNER);
+        //act
+        //assert
+        mockMvc.perform(patch("/api/tasks/{id}",3)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"  \"}"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void shouldScopeBulkUpdateToCaller() throws Exception {
+        //arrange
+        authenticateAs(OWNER);
+        when(taskService.bulkUpdateTasks(any(BulkUpdateRequest.class), eq(1))).thenReturn(new BulkUpdateResponse(3));
+        //act
+        //assert
+        mockMvc.perform(patch("/api/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"filter\": {\"status\": \"IN_PROGRESS\"}, \"status\": \"COMPLETED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(3));
+    }
+
+    @Test
+    void shouldReturnPerItemResultsForBatch() throws Exception {
+        //arrange
+        String json = """
+        [
+            {"title": "Sample Task 1", "description": "Test task description 1", "status": "IN_PROGRESS", "priority": "MEDIUM"},
+            {"description": "No title", "status": "IN_PROGRESS", "priority": "MEDIUM"}
+        ]
+        """;
+        BatchCreateResponse response = new BatchCreateResponse(1, 1, List.of(
+                new BatchItemResult(0, createTaskResponse(1), null),
+                new BatchItemResult(1, null, List.of("title: Title is required"))));
+        when(taskService.addTasks(anyList(), eq(1))).thenReturn(response);
+        //act
+        //assert
+        //an invalid item does not fail the request
+        mockMvc.perform(post("/api/tasks/user/{userId}/batch",1)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.results[0].task.id").value(1))
+                .andExpect(jsonPath("$.results[1].errors[0]").value("title: Title is required"));
     }
 
     @Test
@@ -317,7 +647,8 @@ class TaskControllerTest {
         }
         """;
         TaskResponse expectedResponse = createTaskResponse(1);
-        when(taskService.updateTask(any(TaskRequest.class),anyInt())).thenReturn(expectedResponse);
+        when(taskService.updateTask(any(TaskRequest.class),anyInt(),eq(1),isNull())).thenReturn(expectedResponse);
+        authenticateAs(OWNER);
         //act
         //assert
         mockMvc.perform(put("/api/tasks/{id}",1)
@@ -329,7 +660,7 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.description").value("Test task description 1"))
                 .andExpect(jsonPath("$.status").value("IN_PROGRESS"))
                 .andExpect(jsonPath("$.priority").value("MEDIUM"));
-        verify(taskService,times(1)).updateTask(any(TaskRequest.class),eq(1));
+        verify(taskService,times(1)).updateTask(any(TaskRequest.class),eq(1),eq(1),isNull());
 
     }
 
@@ -352,7 +683,7 @@ class TaskControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.status").value(400))
                 .andExpect(jsonPath("$.messages[0]").value("title: Title is required"));
-        verify(taskService,times(0)).updateTask(any(TaskRequest.class),eq(1));
+        verify(taskService,times(0)).updateTask(any(TaskRequest.class),eq(1),any(),any());
     }
 
     @Test
@@ -375,7 +706,7 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.status").value(400))
                 .andExpect(jsonPath("$.messages[0]").value("title: Title must be at most 20 " +
                         "characters"));
-        verify(taskService,times(0)).updateTask(any(TaskRequest.class),eq(1));
+        verify(taskService,times(0)).updateTask(any(TaskRequest.class),eq(1),any(),any());
     }
 
     @Test
@@ -398,7 +729,7 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.status").value(400))
                 .andExpect(jsonPath("$.messages[0]").value("description: Description is " +
                         "required"));
-        verify(taskService,times(0)).updateTask(any(TaskRequest.class),eq(1));
+        verify(taskService,times(0)).updateTask(any(TaskRequest.class),eq(1),any(),any());
     }
 
     @Test
@@ -421,7 +752,7 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.status").value(400))
                 .andExpect(jsonPath("$.messages[0]").value("description: Description must be " +
                         "at most 255 characters"));
-        verify(taskService,times(0)).updateTask(any(TaskRequest.class),eq(1));
+        verify(taskService,times(0)).updateTask(any(TaskRequest.class),eq(1),any(),any());
     }
 
     @Test
@@ -442,7 +773,7 @@ class TaskControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.status").value(400))
                 .andExpect(jsonPath("$.messages[0]").value("priority: Priority is required"));
-        verify(taskService,times(0)).updateTask(any(TaskRequest.class),eq(1));
+        verify(taskService,times(0)).updateTask(any(TaskRequest.class),eq(1),any(),any());
     }
 
     @Test
@@ -464,7 +795,7 @@ class TaskControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.status").value(400))
                 .andExpect(jsonPath("$.messages[0]").value("Invalid Priority value. Possible values: LOW, MEDIUM, HIGH, VERY_HIGH"));
-        verify(taskService,times(0)).updateTask(any(TaskRequest.class),eq(1));
+        verify(taskService,times(0)).updateTask(any(TaskRequest.class),eq(1),any(),any());
     }
 
     @Test
@@ -485,7 +816,7 @@ class TaskControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.status").value(400))
                 .andExpect(jsonPath("$.messages[0]").value("status: Status is required"));
-        verify(taskService,times(0)).updateTask(any(TaskRequest.class),eq(1));
+        verify(taskService,times(0)).updateTask(any(TaskRequest.class),eq(1),any(),any());
     }
 
     @Test
@@ -507,7 +838,7 @@ class TaskControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.status").value(400))
                 .andExpect(jsonPath("$.messages[0]").value("Invalid Status value. Possible values: NOT_STARTED, IN_PROGRESS, COMPLETED"));
-        verify(taskService,times(0)).updateTask(any(TaskRequest.class),eq(1));
+        verify(taskService,times(0)).updateTask(any(TaskRequest.class),eq(1),any(),any());
     }
 
     @Test
@@ -598,4 +929,59 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.content.length()").value(3));
         verify(taskService, times(1)).getTasksByTitle(anyInt(), anyInt(), anyString(), anyString());
     }
+
+    @Test
+    void shouldStreamExportAsCsvAttachment() throws Exception {
+        //arrange
+        StreamingResponseBody body = outputStream -> outputStream.write("id,title\r\n1,Task\r\n".getBytes());
+        when(taskExportService.exportTasks(1, TaskFileFormat.CSV)).thenReturn(body);
+        authenticateAs(OWNER);
+        //act
+        MvcResult result = mockMvc.perform(get("/api/tasks/user/{userId}/export", 1).param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        //assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"tasks-1.csv\""))
+                .andExpect(content().string("id,title\r\n1,Task\r\n"));
+        verify(taskExportService, times(1)).exportTasks(1, TaskFileFormat.CSV);
+    }
+
+    @Test
+    void shouldDefaultExportToNdjson() throws Exception {
+        //arrange
+        when(taskExportService.exportTasks(1, TaskFileFormat.NDJSON)).thenReturn(outputStream -> { });
+        authenticateAs(OWNER);
+        //act
+        MvcResult result = mockMvc.perform(get("/api/tasks/user/{userId}/export", 1))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        //assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"tasks-1.ndjson\""));
+    }
+
+    @Test
+    void shouldPassImportBodyAndCheckpointToService() throws Exception {
+        //arrange
+        ImportReport report = new ImportReport(JobState.COMPLETED, 3, 1, 0, 2, 3, 5, 200, List.of(), false, null);
+        when(taskImportService.importTasks(eq(1), eq(TaskFileFormat.CSV), any(InputStream.class), eq(2L))).thenReturn(report);
+        authenticateAs(OWNER);
+        //act
+        //assert
+        mockMvc.perform(post("/api/tasks/user/{userId}/import", 1)
+                        .param("format", "CSV")
+                        .param("resumeAfter", "2")
+                        .contentType("text/csv")
+                        .content("title,description,priority,status\r\na,b,LOW,NOT_STARTED\r\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("COMPLETED"))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.checkpoint").value(3));
+        verify(taskImportService, times(1)).importTasks(eq(1), eq(TaskFileFormat.CSV), any(InputStream.class), eq(2L));
+    }
 }
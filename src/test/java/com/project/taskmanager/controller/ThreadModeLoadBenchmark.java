@@ -0,0 +1,185 @@
+package com.project.taskmanager.controller;
+
+import com.project.taskmanager.TaskManagerApplication;
+import com.project.taskmanager.enums.Priority;
+import com.project.taskmanager.enums.Role;
+import com.project.taskmanager.enums.Status;
+import com.project.taskmanager.model.Task;
+import com.project.taskmanager.model.User;
+import com.project.taskmanager.repository.TaskRepository;
+import com.project.taskmanager.repository.UserRepository;
+import com.project.taskmanager.security.ApiUserDetails;
+import com.project.taskmanager.security.JwtProvider;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+//Throughput and tail latency of GET /api/tasks/{id} with platform threads (Tomcat's 200-thread pool) and with
+//virtual threads (spring.threads.virtual.enabled), against the same connection pool.
+//H2 answers in microseconds, so every statement sleeps load.dbLatencyMs while holding its connection to stand in
+//for a database round trip. With the pool larger than Tomcat's thread pool, platform threads run out first;
+//with a smaller pool both modes queue on Hikari and should come out even.
+//Run with: mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java "-Dexec.args=-cp %classpath com.project.taskmanager.controller.ThreadModeLoadBenchmark"
+//Tune with -Dload.clients=1000 -Dload.seconds=15 -Dload.dbLatencyMs=20 -Dload.poolSize=400 inside exec.args.
+public class ThreadModeLoadBenchmark {
+
+    public static final int CLIENTS = Integer.getInteger("load.clients", 1000);
+    public static final int SECONDS = Integer.getInteger("load.seconds", 15);
+    public static final int WARMUP_SECONDS = Integer.getInteger("load.warmupSeconds", 5);
+    public static final int POOL_SIZE = Integer.getInteger("load.poolSize", 400);
+    private static final int TASKS = 1000;
+
+    //set as Hibernate's statement inspector, so it runs on the request thread with the connection checked out
+    public static class SimulatedDbLatency implements StatementInspector {
+        public static final long LATENCY_MS = Long.getLong("load.dbLatencyMs", 20);
+
+        @Override
+        public String inspect(String sql) {
+            try {
+                Thread.sleep(LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return sql;
+        }
+    }
+
+    //shared with ReactiveLoadBenchmark (-Preactive), which runs the same load against the WebFlux variant
+    public record Result(String mode, long requests, long errors, double seconds, long[] latenciesMicros) {
+        private long percentile(double p) {
+            if (latenciesMicros.length == 0) {
+                return 0;
+            }
+            return latenciesMicros[(int) Math.min(latenciesMicros.length - 1, Math.ceil(p * latenciesMicros.length) - 1)];
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-8s %10d req %8.0f req/s  p50 %7.1f ms  p99 %7.1f ms  p99.9 %7.1f ms  max %7.1f ms  errors %d",
+                    mode, requests, requests / seconds, percentile(0.50) / 1000.0, percentile(0.99) / 1000.0,
+                    percentile(0.999) / 1000.0, percentile(1.0) / 1000.0, errors);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<Result> results = new ArrayList<>();
+        for (boolean virtual : new boolean[]{false, true}) {
+            results.add(run(virtual));
+        }
+        System.out.printf("%d clients, %d ms per statement, pool of %d connections, %d s measured%n",
+                CLIENTS, SimulatedDbLatency.LATENCY_MS, POOL_SIZE, SECONDS);
+        results.forEach(System.out::println);
+    }
+
+    private static Result run(boolean virtual) throws Exception {
+        String mode = virtual ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .profiles("test")
+                .properties("server.port=0",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "spring.datasource.url=jdbc:h2:mem:load-" + mode,
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" + SimulatedDbLatency.class.getName(),
+                        //measures queueing, which load shedding would turn into 503s
+                        "concurrency-limit.enabled=false",
+                        "logging.level.root=WARN")
+                .run()) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            String token = seed(context);
+            List<Integer> ids = context.getBean(TaskRepository.class).findAll().stream().map(Task::getId).toList();
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            drive(client, baseUrl, token, ids, WARMUP_SECONDS, mode);
+            return drive(client, baseUrl, token, ids, SECONDS, mode);
+        }
+    }
+
+    //an admin and TASKS tasks; returns a token for the admin
+    public static String seed(ConfigurableApplicationContext context) {
+        User admin = new User();
+        admin.setUsername("load-admin");
+        admin.setPassword("unused");
+        admin.setEmail("load-admin@example.com");
+        admin.setRole(Role.ADMIN);
+        admin = context.getBean(UserRepository.class).save(admin);
+        List<Task> tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task();
+            task.setTitle("load " + i);
+            task.setDescription("description " + i);
+            task.setPriority(Priority.MEDIUM);
+            task.setStatus(Status.NOT_STARTED);
+            task.setUser(admin);
+            tasks.add(task);
+        }
+        context.getBean(TaskRepository.class).saveAll(tasks);
+        return context.getBean(JwtProvider.class)
+                .generateToken(new ApiUserDetails(admin.getId(), admin.getUsername(), null, Role.ADMIN));
+    }
+
+    //CLIENTS closed-loop clients, each sending its next request as soon as the previous one is answered
+    public static Result drive(HttpClient client, String baseUrl, String token, List<Integer> ids, int seconds,
+                                String mode) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        LongAdder errors = new LongAdder();
+        List<Future<long[]>> clients = new ArrayList<>(CLIENTS);
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        int id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks/" + id))
+                                .header("Authorization", "Bearer " + token)
+                                .timeout(Duration.ofSeconds(30))
+                                .build();
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.increment();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.increment();
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = (System.nanoTime() - sent) / 1000;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+        double elapsed = (System.nanoTime() - started) / 1e9;
+        long[] all = new long[0];
+        for (Future<long[]> future : clients) {
+            long[] latencies = future.get();
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + latencies.length);
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+        }
+        Arrays.sort(all);
+        return new Result(mode, all.length, errors.sum(), elapsed, all);
+    }
+}
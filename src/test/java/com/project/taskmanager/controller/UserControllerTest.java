@@ -1,8 +1,13 @@
 package com.project.taskmanager.controller;
 
+import com.project.taskmanager.dto.UserDeletionStatus;
 import com.project.taskmanager.dto.UserRequest;
 import com.project.taskmanager.dto.UserResponse;
+import com.project.taskmanager.enums.JobState;
 import com.project.taskmanager.security.JwtProvider;
+import com.project.taskmanager.security.TokenRevocationRegistry;
+import com.project.taskmanager.security.VerifiedTokenCache;
+import com.project.taskmanager.service.UserDeletionService;
 import com.project.taskmanager.service.UserService;
 import com.project.taskmanager.service.impl.ApiUserDetailsService;
 import org.junit.jupiter.api.Test;
@@ -33,12 +38,21 @@ public class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private UserDeletionService userDeletionService;
+
     @MockBean
     JwtProvider jwtProvider;
 
     @MockBean
     ApiUserDetailsService apiUserDetailsService;
 
+    @MockBean
+    TokenRevocationRegistry tokenRevocationRegistry;
+
+    @MockBean
+    VerifiedTokenCache verifiedTokenCache;
+
     private UserResponse createUserResponse(Integer id){
         UserResponse response = new UserResponse();
         response.setId(id);
@@ -62,6 +76,21 @@ public class UserControllerTest {
         verify(userService, times(1)).getUser(1);
     }
 
+    @Test
+    void shouldAnswerNotModifiedForUnchangedUser() throws Exception {
+        //arrange
+        UserResponse expectedResponse = createUserResponse(1);
+        expectedResponse.setVersion(4L);
+        when(userService.getUser(1)).thenReturn(expectedResponse);
+        //act
+        //assert
+        mockMvc.perform(get("/api/users/{id}", 1))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"user-1-4\""));
+        mockMvc.perform(get("/api/users/{id}", 1).header("If-None-Match", "\"user-1-4\""))
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     void shouldReturnAllUsers() throws Exception {
         UserResponse response1 = createUserResponse(1);
@@ -90,6 +119,33 @@ public class UserControllerTest {
         verify(userService, times(1)).deleteUserById(1);
     }
 
+    @Test
+    void shouldStartBackgroundDeletionWhenAsync() throws Exception {
+        //arrange
+        when(userDeletionService.startUserDeletion(1))
+                .thenReturn(new UserDeletionStatus("job", 1, JobState.RUNNING, 50000, 0, null));
+        //act
+        //assert
+        mockMvc.perform(delete("/api/users/{id}",1).param("async", "true"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId").value("job"))
+                .andExpect(jsonPath("$.tasksTotal").value(50000));
+        verify(userService, never()).deleteUserById(anyInt());
+    }
+
+    @Test
+    void shouldReportDeletionProgress() throws Exception {
+        //arrange
+        when(userDeletionService.getDeletionStatus("job"))
+                .thenReturn(new UserDeletionStatus("job", 1, JobState.RUNNING, 50000, 12000, null));
+        //act
+        //assert
+        mockMvc.perform(get("/api/users/deletions/{jobId}","job"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("RUNNING"))
+                .andExpect(jsonPath("$.tasksDeleted").value(12000));
+    }
+
     @Test
     void shouldUpdateUserWhenJsonIsValid() throws Exception {
         //arrange
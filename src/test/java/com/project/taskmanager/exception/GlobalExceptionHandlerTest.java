@@ -2,6 +2,10 @@ package com.project.taskmanager.exception;
 
 import com.project.taskmanager.controller.TaskController;
 import com.project.taskmanager.security.JwtProvider;
+import com.project.taskmanager.security.TokenRevocationRegistry;
+import com.project.taskmanager.security.VerifiedTokenCache;
+import com.project.taskmanager.service.TaskExportService;
+import com.project.taskmanager.service.TaskImportService;
 import com.project.taskmanager.service.TaskService;
 import com.project.taskmanager.service.impl.ApiUserDetailsService;
 import org.junit.jupiter.api.Test;
@@ -30,6 +34,12 @@ public class GlobalExceptionHandlerTest {
     @MockBean
     TaskService taskService;
 
+    @MockBean
+    TaskExportService taskExportService;
+
+    @MockBean
+    TaskImportService taskImportService;
+
     @MockBean
     JwtProvider jwtProvider;
 
@@ -39,10 +49,16 @@ public class GlobalExceptionHandlerTest {
     @MockBean
     ApiUserDetailsService apiUserDetailsService;
 
+    @MockBean
+    TokenRevocationRegistry tokenRevocationRegistry;
+
+    @MockBean
+    VerifiedTokenCache verifiedTokenCache;
+
     @Test
     void shouldReturn404WhenTaskNotFound() throws Exception{
         //arrange
-        when(taskService.getTask(999)).thenThrow(new TaskNotFoundException("Task not found"));
+        when(taskService.getTask(999, null)).thenThrow(new TaskNotFoundException("Task not found"));
         //act
         //assert
         mockMvc.perform(get("/api/tasks/{id}",999))
@@ -68,7 +84,7 @@ public class GlobalExceptionHandlerTest {
     @Test
     void shouldReturnBadRequestWhenGetTaskWithInvalidArgument() throws Exception{
         //arrange
-        when(taskService.getTask(anyInt())).thenThrow(new IllegalArgumentException("Invalid value for request parameter"));
+        when(taskService.getTask(anyInt(), any())).thenThrow(new IllegalArgumentException("Invalid value for request parameter"));
         //act
         //assert
         mockMvc.perform(get("/api/tasks/{id}",-1))
@@ -81,7 +97,7 @@ public class GlobalExceptionHandlerTest {
     @Test
     void shouldReturnAccessDeniedExceptionWhenUsingProtectedEndpoints() throws Exception{
         //arrange
-        when(taskService.getTask(1)).thenThrow(new AccessDeniedException("Access denied."));
+        when(taskService.getTask(1, null)).thenThrow(new AccessDeniedException("Access denied."));
         //act
         //assert
         mockMvc.perform(get("/api/tasks/{id}", 1))
@@ -94,7 +110,7 @@ public class GlobalExceptionHandlerTest {
     @Test
     void shouldReturnInternalServerErrorWhenUnexpectedErrorOccurs() throws Exception{
         //arrange
-        when(taskService.getTask(1)).thenThrow(new RuntimeException("Unexpected error"));
+        when(taskService.getTask(1, null)).thenThrow(new RuntimeException("Unexpected error"));
         //act
         //assert
         mockMvc.perform(get("/api/tasks/{id}", 1))
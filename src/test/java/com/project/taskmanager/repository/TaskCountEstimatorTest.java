@@ -0,0 +1,23 @@
+package com.project.taskmanager.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskCountEstimatorTest {
+
+    @Test
+    void shouldReadRowEstimateFromTopPlanNode() {
+        //act
+        Long estimate = TaskCountEstimator.parsePlanRows("Index Only Scan using idx on tasks  (cost=0.43..812.12 rows=48210 width=4)");
+        //assert
+        assertEquals(48210L, estimate);
+    }
+
+    @Test
+    void shouldReturnNullWhenPlanHasNoEstimate() {
+        //act
+        //assert
+        assertNull(TaskCountEstimator.parsePlanRows("Result"));
+    }
+}
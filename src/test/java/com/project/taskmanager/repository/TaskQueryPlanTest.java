@@ -0,0 +1,140 @@
+package com.project.taskmanager.repository;
+
+import com.project.taskmanager.enums.Status;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//Runs the TaskRepository finders against a generated dataset, then EXPLAINs the exact SQL Hibernate sent
+//to check each one is served by an index rather than a table scan and sort.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.project.taskmanager.repository.SqlCapture")
+@ActiveProfiles("test")
+class TaskQueryPlanTest {
+
+    private static final int USERS = 100;
+    private static final int TASKS = 50000;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private int userId;
+
+    @BeforeEach
+    void setUp() {
+        //ANALYZE commits, so the dataset outlives the test transaction and is only generated once per context
+        Number seeded = (Number) entityManager.createNativeQuery("SELECT COUNT(*) FROM tasks").getSingleResult();
+        if (seeded.intValue() < TASKS) {
+            seed();
+        }
+        userId = ((Number) entityManager.createNativeQuery("SELECT MIN(id) FROM users").getSingleResult()).intValue();
+    }
+
+    private void seed() {
+        entityManager.createNativeQuery("INSERT INTO users (username, password, email, role) " +
+                "SELECT 'user' || X, 'password', 'user' || X || '@example.com', 'USER' FROM SYSTEM_RANGE(1, " + USERS + ")")
+                .executeUpdate();
+        entityManager.createNativeQuery("INSERT INTO tasks (id, title, description, priority, status, user_id) " +
+                "SELECT NEXT VALUE FOR tasks_seq, 'task ' || X, 'description ' || X, " +
+                "CASE MOD(X, 4) WHEN 0 THEN 'LOW' WHEN 1 THEN 'MEDIUM' WHEN 2 THEN 'HIGH' ELSE 'VERY_HIGH' END, " +
+                "CASE MOD(X, 3) WHEN 0 THEN 'NOT_STARTED' WHEN 1 THEN 'IN_PROGRESS' ELSE 'COMPLETED' END, " +
+                "(SELECT MIN(id) FROM users) + MOD(X, " + USERS + ") FROM SYSTEM_RANGE(1, " + TASKS + ")")
+                .executeUpdate();
+        //refresh selectivity statistics so the planner sees the real distribution
+        entityManager.createNativeQuery("ANALYZE").executeUpdate();
+    }
+
+    //EXPLAIN the first statement the finder sends, binding params to its placeholders in order
+    private String explain(Runnable finder, Object... params) {
+        SqlCapture.clear();
+        finder.run();
+        String sql = SqlCapture.statements().get(0);
+        StringBuilder numbered = new StringBuilder();
+        int index = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('?').append(++index);
+            } else {
+                numbered.append(c);
+            }
+        }
+        assertEquals(params.length, index, "parameters for: " + sql);
+        Query query = entityManager.createNativeQuery("EXPLAIN " + numbered);
+        for (int i = 0; i < params.length; i++) {
+            query.setParameter(i + 1, params[i]);
+        }
+        return String.valueOf(query.getSingleResult());
+    }
+
+    private static void assertUsesIndex(String plan, String indexName) {
+        assertTrue(plan.contains("PUBLIC." + indexName.toUpperCase()), "expected " + indexName + " in plan:\n" + plan);
+        assertFalse(plan.contains("tableScan"), "unexpected table scan in plan:\n" + plan);
+    }
+
+    private static void assertIndexSorted(String plan) {
+        assertTrue(plan.contains("index sorted"), "expected ORDER BY to be served by an index:\n" + plan);
+        assertFalse(plan.contains("tableScan"), "unexpected table scan in plan:\n" + plan);
+    }
+
+    @Test
+    void shouldUseCompositeIndexesForFilteredListings() {
+        //act
+        String byUserAndStatus = explain(() -> taskRepository.findByUserIdAndStatus(userId, Status.IN_PROGRESS,
+                PageRequest.of(0, 10, Sort.by("id"))), userId, "IN_PROGRESS", 10);
+        String byStatus = explain(() -> taskRepository.findByStatus(Status.COMPLETED,
+                PageRequest.of(0, 10, Sort.by("id"))), "COMPLETED", 10);
+        String byUser = explain(() -> taskRepository.findByUserId(userId,
+                PageRequest.of(0, 10, Sort.by("id"))), userId, 10);
+        //assert
+        assertUsesIndex(byUserAndStatus, "idx_tasks_user_status_id");
+        assertUsesIndex(byStatus, "idx_tasks_status_id");
+        //H2 adds its own index on the foreign key, either that or idx_tasks_user_id is fine
+        assertTrue(byUser.matches("(?s).*/\\* PUBLIC\\.\\w+: USER_ID = \\?1 \\*/.*"), "expected a user_id index in plan:\n" + byUser);
+    }
+
+    @Test
+    void shouldServeSortedListingsFromIndexes() {
+        //act
+        String byTitle = explain(() -> taskRepository.findAll(PageRequest.of(0, 10, Sort.by("title"))), 0, 10);
+        String byStatus = explain(() -> taskRepository.findAll(PageRequest.of(0, 10, Sort.by("status"))), 0, 10);
+        String byPriority = explain(() -> taskRepository.findAll(PageRequest.of(0, 10, Sort.by("priority"))), 0, 10);
+        String byId = explain(() -> taskRepository.findAll(PageRequest.of(0, 10, Sort.by("id"))), 0, 10);
+        //assert
+        assertIndexSorted(byTitle);
+        assertIndexSorted(byStatus);
+        assertIndexSorted(byPriority);
+        assertIndexSorted(byId);
+    }
+
+    @Test
+    void shouldSeekIntoIndexForKeysetAndSlicePages() {
+        //act
+        String keysetByUserAndStatus = explain(() -> taskRepository.findByUserIdAndStatus(userId, Status.IN_PROGRESS,
+                ScrollPosition.forward(Map.of("id", 1000)), Sort.by("id"), Limit.of(10)), userId, "IN_PROGRESS", 1000, 11);
+        String keysetByTitle = explain(() -> taskRepository.findAllBy(
+                ScrollPosition.forward(Map.of("title", "task 500", "id", 500)), Sort.by("title"), Limit.of(10)),
+                "task 500", "task 500", 500, 11);
+        String sliceByStatus = explain(() -> taskRepository.findSliceByStatus(Status.NOT_STARTED,
+                PageRequest.of(3, 10, Sort.by("id"))), "NOT_STARTED", 30, 11);
+        //assert
+        assertUsesIndex(keysetByUserAndStatus, "idx_tasks_user_status_id");
+        assertTrue(keysetByUserAndStatus.contains("ID > ?3"), "expected the keyset bound in the index condition:\n" + keysetByUserAndStatus);
+        assertUsesIndex(keysetByTitle, "idx_tasks_title_id");
+        assertIndexSorted(keysetByTitle);
+        assertUsesIndex(sliceByStatus, "idx_tasks_status_id");
+    }
+}
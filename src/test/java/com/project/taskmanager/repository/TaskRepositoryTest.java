@@ -0,0 +1,316 @@
+package com.project.taskmanager.repository;
+
+import com.project.taskmanager.cache.TaskPageCache;
+import com.project.taskmanager.enums.Priority;
+import com.project.taskmanager.enums.Role;
+import com.project.taskmanager.enums.Status;
+import com.project.taskmanager.dto.CursorPage;
+import com.project.taskmanager.dto.TaskResponse;
+import com.project.taskmanager.model.Task;
+import com.project.taskmanager.model.User;
+import com.project.taskmanager.search.TaskSearchEngine;
+import com.project.taskmanager.search.TaskTitleSearch;
+import com.project.taskmanager.search.TaskTitleSuggester;
+import com.project.taskmanager.service.impl.TaskServiceImpl;
+import com.project.taskmanager.utils.UserUtils;
+import jakarta.validation.Validator;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.project.taskmanager.repository.SqlCapture")
+@ActiveProfiles("test")
+class TaskRepositoryTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User owner;
+    private User otherUser;
+    private Task task;
+
+    private User createUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("password");
+        user.setEmail(username + "@example.com");
+        user.setRole(Role.USER);
+        return entityManager.persist(user);
+    }
+
+    @BeforeEach
+    void setUp() {
+        owner = createUser("owner");
+        otherUser = createUser("other");
+        task = new Task();
+        task.setTitle("task");
+        task.setDescription("description");
+        task.setPriority(Priority.LOW);
+        task.setStatus(Status.NOT_STARTED);
+        task.setUser(owner);
+        task = entityManager.persist(task);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void shouldFindTaskOnlyForOwnerOrWithoutScope() {
+        //act
+        //assert
+        assertTrue(taskRepository.findByIdAndOwner(task.getId(), owner.getId()).isPresent());
+        assertTrue(taskRepository.findByIdAndOwner(task.getId(), null).isPresent());
+        assertTrue(taskRepository.findByIdAndOwner(task.getId(), otherUser.getId()).isEmpty());
+    }
+
+    @Test
+    void shouldUpdateTaskOnlyForOwner() {
+        //act
+        int notUpdated = taskRepository.updateByIdAndOwner(task.getId(), otherUser.getId(),
+                "hijacked", "description", Priority.HIGH, Status.COMPLETED, null);
+        int updated = taskRepository.updateByIdAndOwner(task.getId(), owner.getId(),
+                "renamed", "new description", Priority.HIGH, Status.COMPLETED, null);
+        entityManager.clear();
+        //assert
+        assertEquals(0, notUpdated);
+        assertEquals(1, updated);
+        Task reloaded = entityManager.find(Task.class, task.getId());
+        assertEquals("renamed", reloaded.getTitle());
+        assertEquals(Status.COMPLETED, reloaded.getStatus());
+    }
+
+    @Test
+    void shouldDeleteTaskOnlyForOwnerOrWithoutScope() {
+        //act
+        int notDeleted = taskRepository.deleteByIdAndOwner(task.getId(), otherUser.getId());
+        int deleted = taskRepository.deleteByIdAndOwner(task.getId(), null);
+        //assert
+        assertEquals(0, notDeleted);
+        assertEquals(1, deleted);
+        assertFalse(taskRepository.existsById(task.getId()));
+    }
+
+    @Test
+    void shouldStreamIndexViewsWithoutManagingTasks() {
+        //act
+        List<TaskIndexView> views;
+        try (Stream<TaskIndexView> stream = taskRepository.streamIndexViews()) {
+            views = stream.toList();
+        }
+        //assert
+        assertEquals(1, views.size());
+        assertEquals(task.getId(), views.get(0).getId());
+        assertEquals(task.getTitle(), views.get(0).getTitle());
+        assertEquals(owner.getId(), views.get(0).getUserId());
+        assertEquals(Priority.LOW, views.get(0).getPriority());
+        //projections are not entities, so a full scan leaves the persistence context empty
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void shouldFindManyByIdsOnlyForOwner() {
+        //act
+        //assert
+        assertEquals(List.of(task.getId()), taskRepository.findAllByIdInAndOwner(List.of(task.getId(), -1), owner.getId())
+                .stream().map(Task::getId).toList());
+        assertTrue(taskRepository.findAllByIdInAndOwner(List.of(task.getId()), otherUser.getId()).isEmpty());
+        assertEquals(List.of(task.getId()), taskRepository.findExistingIds(List.of(task.getId(), -1)));
+    }
+
+    @Test
+    void shouldPatchOnlySentColumnsWithoutSelect() {
+        //arrange
+        SqlCapture.clear();
+        //act
+        int notPatched = taskRepository.patchByIdAndOwner(task.getId(), otherUser.getId(), null, null, null, Status.COMPLETED, null);
+        int patched = taskRepository.patchByIdAndOwner(task.getId(), owner.getId(), null, null, null, Status.COMPLETED, null);
+        List<String> statements = SqlCapture.statements();
+        entityManager.clear();
+        //assert
+        assertEquals(0, notPatched);
+        assertEquals(1, patched);
+        assertEquals(2, statements.size());
+        String update = statements.get(1).toLowerCase();
+        assertTrue(update.startsWith("update"), update);
+        assertTrue(update.contains("status="), update);
+        assertFalse(update.contains("title="), update);
+        Task updated = entityManager.find(Task.class, task.getId());
+        assertEquals(Status.COMPLETED, updated.getStatus());
+        assertEquals("task", updated.getTitle());
+    }
+
+    @Test
+    void shouldBulkUpdateOnlyOwnedTasks() {
+        //arrange
+        Task othersTask = new Task();
+        othersTask.setTitle("other");
+        othersTask.setDescription("description");
+        othersTask.setPriority(Priority.LOW);
+        othersTask.setStatus(Status.NOT_STARTED);
+        othersTask.setUser(otherUser);
+        othersTask = entityManager.persistFlushFind(othersTask);
+        //act
+        int byIds = taskRepository.bulkUpdateByIds(List.of(task.getId(), othersTask.getId()), owner.getId(),
+                Status.COMPLETED, null);
+        int byFilter = taskRepository.bulkUpdateByFilter(null, null, Status.NOT_STARTED, null, null, Priority.HIGH);
+        entityManager.clear();
+        //assert
+        assertEquals(1, byIds);
+        assertEquals(1, byFilter);
+        Task updated = entityManager.find(Task.class, task.getId());
+        assertEquals(Status.COMPLETED, updated.getStatus());
+        //a null new value leaves the column alone
+        assertEquals(Priority.LOW, updated.getPriority());
+        Task other = entityManager.find(Task.class, othersTask.getId());
+        assertEquals(Status.NOT_STARTED, other.getStatus());
+        assertEquals(Priority.HIGH, other.getPriority());
+    }
+
+    @Test
+    void shouldBumpVersionOnEveryKindOfUpdate() {
+        //arrange
+        Long initial = taskRepository.findVersionByIdAndOwner(task.getId(), owner.getId()).orElseThrow();
+        //act
+        taskRepository.updateByIdAndOwner(task.getId(), owner.getId(), "renamed", "description", Priority.LOW, Status.NOT_STARTED, null);
+        taskRepository.patchByIdAndOwner(task.getId(), owner.getId(), null, null, Priority.HIGH, null, null);
+        taskRepository.bulkUpdateByIds(List.of(task.getId()), null, Status.COMPLETED, null);
+        taskRepository.bulkUpdateByFilter(null, owner.getId(), null, null, Status.IN_PROGRESS, null);
+        entityManager.clear();
+        //assert
+        assertEquals(initial + 4, taskRepository.findVersionByIdAndOwner(task.getId(), null).orElseThrow());
+        assertTrue(taskRepository.findVersionByIdAndOwner(task.getId(), otherUser.getId()).isEmpty());
+        Page<TaskVersionView> versions = taskRepository.findVersionsByUserIdAndStatus(owner.getId(), Status.IN_PROGRESS,
+                PageRequest.of(0, 10, Sort.by("id")));
+        assertEquals(List.of(task.getId()), versions.map(TaskVersionView::getId).getContent());
+        assertEquals(List.of(initial + 4), versions.map(TaskVersionView::getVersion).getContent());
+    }
+
+    @Test
+    void shouldBatchInsertsWithPooledSequenceIds() {
+        //arrange
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            Task extra = new Task();
+            extra.setTitle("batch " + i);
+            extra.setDescription("description");
+            extra.setPriority(Priority.MEDIUM);
+            extra.setStatus(Status.NOT_STARTED);
+            extra.setUser(owner);
+            tasks.add(extra);
+        }
+        //act
+        taskRepository.saveAll(tasks);
+        entityManager.flush();
+        //assert
+        //three sequence calls and three INSERT batches of at most 50 rows, instead of one round trip per row
+        assertTrue(statistics.getPrepareStatementCount() <= 6, "statements prepared: " + statistics.getPrepareStatementCount());
+        assertEquals(120, statistics.getEntityInsertCount());
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void shouldReportNextSliceWithoutCounting() {
+        //arrange
+        Task second = new Task();
+        second.setTitle("second");
+        second.setDescription("description");
+        second.setPriority(Priority.HIGH);
+        second.setStatus(Status.NOT_STARTED);
+        second.setUser(entityManager.find(User.class, owner.getId()));
+        entityManager.persist(second);
+        entityManager.flush();
+        //act
+        Slice<Task> first = taskRepository.findSliceByUserId(owner.getId(), PageRequest.of(0, 1, Sort.by("id")));
+        Slice<Task> last = taskRepository.findSliceByUserId(owner.getId(), PageRequest.of(1, 1, Sort.by("id")));
+        //assert
+        assertEquals(List.of(task.getId()), first.map(Task::getId).getContent());
+        assertTrue(first.hasNext());
+        assertEquals(List.of(second.getId()), last.map(Task::getId).getContent());
+        assertFalse(last.hasNext());
+    }
+
+    @Test
+    void shouldScrollThroughEveryTaskOnceForEverySortField() {
+        //arrange
+        TaskServiceImpl taskService = new TaskServiceImpl(taskRepository, new UserUtils(userRepository),
+                mock(TaskCountEstimator.class), mock(TaskSearchEngine.class), mock(TaskTitleSearch.class),
+                mock(TaskTitleSuggester.class), mock(TaskPageCache.class), mock(ApplicationEventPublisher.class),
+                mock(Validator.class));
+        Priority[] priorities = Priority.values();
+        Status[] statuses = Status.values();
+        for (int i = 0; i < 23; i++) {
+            Task extra = new Task();
+            //few distinct values, so pages have to break ties on id
+            extra.setTitle("task " + (i % 4));
+            extra.setDescription("description " + (i % 3));
+            extra.setPriority(priorities[i % priorities.length]);
+            extra.setStatus(statuses[i % statuses.length]);
+            extra.setUser(i % 2 == 0 ? owner : otherUser);
+            entityManager.persist(extra);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        List<Task> allTasks = taskRepository.findAll();
+
+        for (String field : List.of("id", "title", "description", "status", "priority")) {
+            for (String direction : List.of("asc", "desc")) {
+                //act
+                List<Integer> scrolled = new ArrayList<>();
+                CursorPage<TaskResponse> page = taskService.scrollTasks("", 5, field + "," + direction);
+                scrolled.addAll(page.getContent().stream().map(TaskResponse::getId).toList());
+                while (page.isHasNext()) {
+                    page = taskService.scrollTasks(page.getNextCursor(), 5, "ignored");
+                    scrolled.addAll(page.getContent().stream().map(TaskResponse::getId).toList());
+                }
+                //assert
+                Comparator<Task> bySortKey = Comparator.comparing(task -> sortKey(task, field));
+                if (direction.equals("desc")) {
+                    bySortKey = bySortKey.reversed();
+                }
+                List<Integer> expected = allTasks.stream()
+                        .sorted(bySortKey.thenComparing(Task::getId))
+                        .map(Task::getId)
+                        .toList();
+                assertEquals(expected, scrolled, "scrolling by " + field + "," + direction);
+            }
+        }
+    }
+
+    private static String sortKey(Task task, String field) {
+        return switch (field) {
+            case "id" -> String.format("%010d", task.getId());
+            case "title" -> task.getTitle();
+            case "description" -> task.getDescription();
+            case "status" -> task.getStatus().name();
+            default -> task.getPriority().name();
+        };
+    }
+}
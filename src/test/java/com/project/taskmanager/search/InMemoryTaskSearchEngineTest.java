@@ -0,0 +1,48 @@
+package com.project.taskmanager.search;
+
+import com.project.taskmanager.model.Task;
+import com.project.taskmanager.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryTaskSearchEngineTest {
+
+    @Mock
+    private TaskTextIndex taskTextIndex;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @InjectMocks
+    private InMemoryTaskSearchEngine searchEngine;
+
+    private Task createTask(Integer id) {
+        Task task = new Task();
+        task.setId(id);
+        return task;
+    }
+
+    @Test
+    void shouldReturnRankedPageInOrder() {
+        //arrange
+        when(taskTextIndex.rank("report")).thenReturn(List.of(1, 4, 2));
+        //the database hands rows back in its own order
+        when(taskRepository.findAllById(List.of(1, 4))).thenReturn(List.of(createTask(4), createTask(1)));
+        //act
+        Page<Task> page = searchEngine.search("report", PageRequest.of(0, 2));
+        //assert
+        assertEquals(3, page.getTotalElements());
+        assertEquals(List.of(1, 4), page.getContent().stream().map(Task::getId).toList());
+    }
+}
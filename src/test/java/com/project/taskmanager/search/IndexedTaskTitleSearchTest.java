@@ -0,0 +1,135 @@
+package com.project.taskmanager.search;
+
+import com.project.taskmanager.enums.Priority;
+import com.project.taskmanager.enums.Status;
+import com.project.taskmanager.model.Task;
+import com.project.taskmanager.repository.TaskRepository;
+import com.project.taskmanager.repository.TaskSortView;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IndexedTaskTitleSearchTest {
+
+    @Mock
+    private TaskTextIndex taskTextIndex;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @InjectMocks
+    private IndexedTaskTitleSearch titleSearch;
+
+    private Task createTask(Integer id) {
+        Task task = new Task();
+        task.setId(id);
+        return task;
+    }
+
+    @Test
+    void shouldPageIdSortedMatchesWithoutCountQuery() {
+        //arrange
+        when(taskTextIndex.matchTitle("report")).thenReturn(new int[]{2, 5, 8, 9});
+        when(taskRepository.findAllById(List.of(5, 2))).thenReturn(List.of(createTask(2), createTask(5)));
+        //act
+        Page<Task> page = titleSearch.findByTitle("report", PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "id")));
+        //assert
+        assertEquals(4, page.getTotalElements());
+        assertEquals(List.of(5, 2), page.getContent().stream().map(Task::getId).toList());
+        verify(taskRepository, never()).findByIdIn(anyList(), any(Pageable.class));
+    }
+
+    private TaskSortView sortView(Integer id, Priority priority) {
+        return new TaskSortView() {
+            @Override
+            public Integer getId() {
+                return id;
+            }
+
+            @Override
+            public String getTitle() {
+                return "report";
+            }
+
+            @Override
+            public String getDescription() {
+                return null;
+            }
+
+            @Override
+            public Priority getPriority() {
+                return priority;
+            }
+
+            @Override
+            public Status getStatus() {
+                return Status.NOT_STARTED;
+            }
+        };
+    }
+
+    @Test
+    void shouldSortMatchesByOtherFieldsInMemory() {
+        //arrange
+        Pageable pageable = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "priority"));
+        when(taskTextIndex.matchTitle("report")).thenReturn(new int[]{2, 5, 8});
+        when(taskRepository.findSortViewsByIdIn(List.of(2, 5, 8))).thenReturn(new ArrayList<>(List.of(
+                sortView(2, Priority.HIGH), sortView(5, Priority.MEDIUM), sortView(8, Priority.LOW))));
+        when(taskRepository.findAllById(List.of(5, 8))).thenReturn(List.of(createTask(8), createTask(5)));
+        //act
+        Page<Task> page = titleSearch.findByTitle("report", pageable);
+        //assert
+        //enums sort by their stored names, like the database: MEDIUM, LOW, HIGH descending
+        assertEquals(List.of(5, 8), page.getContent().stream().map(Task::getId).toList());
+        assertEquals(3, page.getTotalElements());
+        verify(taskRepository, never()).findByIdIn(anyList(), any(Pageable.class));
+    }
+
+    @Test
+    void shouldKeepIndexMatchesWhenTooManyForOneQuery() {
+        //arrange
+        Pageable pageable = PageRequest.of(0, 1, Sort.by("priority"));
+        int total = IndexedTaskTitleSearch.MAX_IDS_PER_QUERY + 1;
+        int[] ids = IntStream.rangeClosed(1, total).toArray();
+        when(taskTextIndex.matchTitle("report")).thenReturn(ids);
+        when(taskRepository.findSortViewsByIdIn(anyList())).thenAnswer(invocation -> {
+            List<Integer> chunk = invocation.getArgument(0);
+            return chunk.stream().map(id -> sortView(id, id == total ? Priority.HIGH : Priority.LOW)).toList();
+        });
+        when(taskRepository.findAllById(List.of(total))).thenReturn(List.of(createTask(total)));
+        //act
+        Page<Task> page = titleSearch.findByTitle("report", pageable);
+        //assert
+        assertEquals(List.of(total), page.getContent().stream().map(Task::getId).toList());
+        assertEquals(total, page.getTotalElements());
+        verify(taskRepository, times(2)).findSortViewsByIdIn(anyList());
+        verify(taskRepository, never()).findByTitleContainingIgnoreCase(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    void shouldReturnEmptyPageWithoutQueryingWhenNothingMatches() {
+        //arrange
+        when(taskTextIndex.matchTitle("nothing")).thenReturn(new int[0]);
+        //act
+        Page<Task> page = titleSearch.findByTitle("nothing", PageRequest.of(0, 5, Sort.by("id")));
+        //assert
+        assertTrue(page.isEmpty());
+        verifyNoInteractions(taskRepository);
+    }
+}
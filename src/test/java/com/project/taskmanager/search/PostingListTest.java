@@ -0,0 +1,112 @@
+package com.project.taskmanager.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostingListTest {
+
+    @Test
+    void shouldKeepIdsSortedAndUnique() {
+        //arrange
+        PostingList postingList = new PostingList();
+        //act
+        postingList.add(5);
+        postingList.add(300);
+        postingList.add(2);
+        postingList.add(300);
+        postingList.add(70000);
+        postingList.add(150);
+        //assert
+        assertArrayEquals(new int[]{2, 5, 150, 300, 70000}, postingList.toArray());
+        assertEquals(5, postingList.size());
+    }
+
+    @Test
+    void shouldRemoveIds() {
+        //arrange
+        PostingList postingList = new PostingList();
+        for (int id = 1; id <= 5; id++) {
+            postingList.add(id);
+        }
+        //act
+        postingList.remove(3);
+        postingList.remove(9);
+        postingList.remove(5);
+        //assert
+        assertArrayEquals(new int[]{1, 2, 4}, postingList.toArray());
+        //appending still works after a re-encode
+        postingList.add(6);
+        assertArrayEquals(new int[]{1, 2, 4, 6}, postingList.toArray());
+    }
+
+    @Test
+    void shouldRemoveSortedIdsInOnePass() {
+        //arrange
+        PostingList postingList = new PostingList();
+        for (int id = 1; id <= 6; id++) {
+            postingList.add(id);
+        }
+        //act
+        postingList.removeAll(new int[]{0, 2, 3, 6, 9});
+        //assert
+        assertArrayEquals(new int[]{1, 4, 5}, postingList.toArray());
+        assertEquals(3, postingList.size());
+    }
+
+    @Test
+    void shouldMatchSortedSetUnderRandomChanges() {
+        //arrange
+        PostingList postingList = new PostingList();
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random(42);
+        //act
+        for (int i = 0; i < 5000; i++) {
+            int id = 1 + random.nextInt(1_000_000);
+            if (random.nextInt(4) == 0) {
+                postingList.remove(id);
+                expected.remove(id);
+            } else {
+                postingList.add(id);
+                expected.add(id);
+            }
+        }
+        //assert
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), postingList.toArray());
+    }
+
+    @Test
+    void shouldStoreDenseIdsInAboutOneBytePerId() {
+        //arrange
+        PostingList postingList = new PostingList();
+        //act
+        for (int id = 1; id <= 10_000; id++) {
+            postingList.add(id);
+        }
+        //assert
+        assertTrue(postingList.byteSize() < 16_000, "gaps of one should take a byte each, not four");
+    }
+
+    @Test
+    void shouldIntersectAndUnionSortedArrays() {
+        //act
+        //assert
+        assertArrayEquals(new int[]{3, 7}, PostingList.intersect(new int[]{1, 3, 5, 7}, new int[]{2, 3, 7, 9}));
+        assertArrayEquals(new int[]{1, 2, 3, 5, 7, 9}, PostingList.union(new int[]{1, 3, 5, 7}, new int[]{2, 3, 7, 9}));
+        assertArrayEquals(new int[0], PostingList.intersect(new int[0], new int[]{1}));
+    }
+
+    @Test
+    void shouldUnionManySortedArraysInOnePass() {
+        //arrange
+        int[][] lists = {{4, 9}, {}, {1, 4, 6}, {2, 9, 10}, {4}};
+        //act
+        int[] union = PostingList.unionAll(lists);
+        //assert
+        assertArrayEquals(new int[]{1, 2, 4, 6, 9, 10}, union);
+        assertArrayEquals(new int[0], PostingList.unionAll(new int[0][]));
+    }
+}
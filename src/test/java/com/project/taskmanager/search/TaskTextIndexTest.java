@@ -0,0 +1,112 @@
+package com.project.taskmanager.search;
+
+import com.project.taskmanager.enums.Priority;
+import com.project.taskmanager.event.TaskChangedEvent;
+import com.project.taskmanager.event.UserTasksDeletedEvent;
+import com.project.taskmanager.repository.TaskIndexView;
+import com.project.taskmanager.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskTextIndexTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private TaskTextIndex taskTextIndex;
+
+    static TaskIndexView createView(Integer id, String title, String description) {
+        return new TaskIndexView() {
+            public Integer getId() { return id; }
+            public String getTitle() { return title; }
+            public String getDescription() { return description; }
+            public Priority getPriority() { return Priority.MEDIUM; }
+            public Integer getUserId() { return 1; }
+        };
+    }
+
+    @BeforeEach
+    void setUp() {
+        taskTextIndex = new TaskTextIndex(taskRepository);
+        when(taskRepository.streamIndexViews()).thenReturn(Stream.of(
+                createView(1, "Finish report", "Complete the quarterly report"),
+                createView(2, "Setup database", "Initialize Postgres for the report service"),
+                createView(3, "Prepare presentation", "Slides for Monday meeting"),
+                createView(4, "Quarterly review", "Review the report with the team")));
+        taskTextIndex.rebuild();
+    }
+
+    @Test
+    void shouldRankTitleMatchesAboveDescriptionMatches() {
+        //act
+        List<Integer> ranked = taskTextIndex.rank("report");
+        //assert
+        assertEquals(List.of(1, 4, 2), ranked);
+    }
+
+    @Test
+    void shouldRequireEveryTokenAndMatchLastTokenAsPrefix() {
+        //act
+        //assert
+        assertEquals(List.of(4, 1), taskTextIndex.rank("quarterly rep"));
+        assertEquals(List.of(3), taskTextIndex.rank("PRES"));
+        assertEquals(List.of(), taskTextIndex.rank("quarterly slides"));
+        assertEquals(List.of(), taskTextIndex.rank("  --  "));
+    }
+
+    @Test
+    void shouldFollowTaskChanges() {
+        //act
+        taskTextIndex.onTaskChanged(TaskChangedEvent.saved(3, "Report slides", "Slides for Monday meeting", Priority.HIGH));
+        taskTextIndex.onTaskChanged(TaskChangedEvent.deleted(1));
+        //assert
+        assertEquals(List.of(3, 4, 2), taskTextIndex.rank("report"));
+        assertEquals(List.of(), taskTextIndex.rank("presentation"));
+        assertEquals(3, taskTextIndex.size());
+    }
+
+    @Test
+    void shouldDropDeletedUsersTasksInBulk() {
+        //arrange
+        int terms = taskTextIndex.termCount();
+        //act
+        taskTextIndex.onUserTasksDeleted(new UserTasksDeletedEvent(1, List.of(3, 1)));
+        //assert
+        assertEquals(List.of(4, 2), taskTextIndex.rank("report"));
+        assertEquals(List.of(), taskTextIndex.rank("presentation"));
+        assertEquals(2, taskTextIndex.size());
+        //finish, complete and the five words of task 3 were used by no other task
+        assertEquals(terms - 7, taskTextIndex.termCount());
+    }
+
+    @Test
+    void shouldMatchTitlesOnlyInIdOrder() {
+        //act
+        //assert
+        assertArrayEquals(new int[]{1}, taskTextIndex.matchTitle("report"));
+        assertArrayEquals(new int[]{1, 4}, taskTextIndex.matchTitle("r"));
+        assertArrayEquals(new int[]{4}, taskTextIndex.matchTitle("quarterly re"));
+        assertArrayEquals(new int[0], taskTextIndex.matchTitle("monday"));
+    }
+
+    @Test
+    void shouldDropTermsWithNoPostingsLeft() {
+        //arrange
+        int terms = taskTextIndex.termCount();
+        //act
+        taskTextIndex.onTaskChanged(TaskChangedEvent.deleted(3));
+        //assert
+        //prepare, presentation, slides, monday and meeting were only used by task 3
+        assertEquals(terms - 5, taskTextIndex.termCount());
+    }
+}
@@ -0,0 +1,209 @@
+package com.project.taskmanager.search;
+
+import com.project.taskmanager.dto.TaskSuggestion;
+import com.project.taskmanager.enums.Priority;
+import com.project.taskmanager.event.TaskChangedEvent;
+import com.project.taskmanager.event.UserTasksDeletedEvent;
+import com.project.taskmanager.model.Task;
+import com.project.taskmanager.model.User;
+import com.project.taskmanager.repository.TaskIndexView;
+import com.project.taskmanager.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskTitleSuggesterTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private TaskTitleSuggester suggester;
+
+    private static TaskIndexView createView(Integer id, Integer userId, String title, Priority priority) {
+        return new TaskIndexView() {
+            public Integer getId() { return id; }
+            public String getTitle() { return title; }
+            public String getDescription() { return ""; }
+            public Priority getPriority() { return priority; }
+            public Integer getUserId() { return userId; }
+        };
+    }
+
+    private List<Integer> suggestedIds(Integer userId, String prefix, int limit) {
+        return suggester.suggest(userId, prefix, limit).stream().map(TaskSuggestion::getId).toList();
+    }
+
+    @BeforeEach
+    void setUp() {
+        suggester = new TaskTitleSuggester(taskRepository, true, 10000, 1000000);
+        when(taskRepository.streamIndexViews()).thenReturn(Stream.of(
+                createView(1, 1, "Report draft", Priority.LOW),
+                createView(2, 1, "Finish report", Priority.HIGH),
+                createView(3, 1, "Repair bike", Priority.LOW),
+                createView(4, 1, "Prepare slides", Priority.VERY_HIGH),
+                createView(5, 2, "Report for bob", Priority.VERY_HIGH)));
+        suggester.rebuild();
+    }
+
+    @Test
+    void shouldRankByPriorityThenRecency() {
+        //act
+        //assert
+        assertEquals(List.of(2, 3, 1), suggestedIds(1, "rep", 10));
+        assertEquals(List.of(2, 1), suggestedIds(1, "REPORT", 10));
+        assertEquals(List.of(2), suggestedIds(1, "rep", 1));
+    }
+
+    @Test
+    void shouldOnlySuggestTheUsersOwnTasks() {
+        //act
+        //assert
+        assertEquals(List.of(5), suggestedIds(2, "rep", 10));
+        assertEquals(List.of(), suggestedIds(3, "rep", 10));
+        assertEquals(List.of(), suggestedIds(1, "bob", 10));
+    }
+
+    @Test
+    void shouldMatchWordStartsOnly() {
+        //act
+        //assert
+        assertEquals(List.of(4), suggestedIds(1, "slid", 10));
+        assertEquals(List.of(), suggestedIds(1, "port", 10));
+        assertEquals(List.of(2), suggestedIds(1, "finish  rep", 10));
+        assertEquals(List.of(), suggestedIds(1, "finish sl", 10));
+        assertEquals(List.of(), suggestedIds(1, "fin rep", 10));
+    }
+
+    @Test
+    void shouldKeyOnlyWordsCutToMaximumLength() {
+        //arrange
+        String longWord = "a".repeat(TaskTitleSuggester.MAX_WORD_LENGTH) + "bc";
+        //act
+        //assert
+        assertEquals(Set.of("finish", "the", "report"), TaskTitleSuggester.keys("Finish the report"));
+        assertEquals(Set.of("a".repeat(TaskTitleSuggester.MAX_WORD_LENGTH)), TaskTitleSuggester.keys(longWord));
+    }
+
+    @Test
+    void shouldMatchPrefixesLongerThanTheKeys() {
+        //arrange
+        User user = new User();
+        user.setId(4);
+        String longWord = "x".repeat(TaskTitleSuggester.MAX_WORD_LENGTH);
+        for (int id = 200; id < 202; id++) {
+            Task task = new Task();
+            task.setId(id);
+            task.setTitle(longWord + (id == 200 ? "yes" : "no"));
+            task.setPriority(Priority.MEDIUM);
+            task.setUser(user);
+            suggester.onTaskChanged(TaskChangedEvent.saved(task));
+        }
+        //act
+        //assert
+        assertEquals(List.of(201, 200), suggestedIds(4, longWord, 10));
+        assertEquals(List.of(200), suggestedIds(4, longWord + "y", 10));
+    }
+
+    @Test
+    void shouldStopIndexingAUserAtTheCap() {
+        //arrange
+        suggester = new TaskTitleSuggester(taskRepository, true, 2, 1000000);
+        when(taskRepository.streamIndexViews()).thenReturn(Stream.of(
+                createView(1, 1, "Report draft", Priority.LOW),
+                createView(2, 1, "Finish report", Priority.HIGH),
+                createView(3, 1, "Repair bike", Priority.LOW),
+                createView(5, 2, "Report for bob", Priority.VERY_HIGH)));
+        User user = new User();
+        user.setId(1);
+        Task repair = new Task();
+        repair.setId(3);
+        repair.setTitle("Repair bike");
+        repair.setPriority(Priority.LOW);
+        repair.setUser(user);
+        //act
+        suggester.rebuild();
+        suggester.onTaskChanged(TaskChangedEvent.deleted(1));
+        suggester.onTaskChanged(TaskChangedEvent.saved(repair));
+        //assert
+        //task 3 had no room at startup, and gets it once task 1 is gone; user 2 has a cap of its own
+        assertEquals(List.of(2, 3), suggestedIds(1, "re", 10));
+        assertEquals(List.of(5), suggestedIds(2, "rep", 10));
+    }
+
+    @Test
+    void shouldIndexNothingWhenDisabled() {
+        //arrange
+        suggester = new TaskTitleSuggester(taskRepository, false, 10000, 1000000);
+        //act
+        suggester.rebuild();
+        //assert
+        assertFalse(suggester.isEnabled());
+        assertEquals(List.of(), suggestedIds(1, "rep", 10));
+    }
+
+    @Test
+    void shouldFollowTaskChanges() {
+        //arrange
+        User user = new User();
+        user.setId(1);
+        Task added = new Task();
+        added.setId(6);
+        added.setTitle("Renew passport");
+        added.setPriority(Priority.MEDIUM);
+        added.setUser(user);
+        //act
+        suggester.onTaskChanged(TaskChangedEvent.saved(added));
+        //updates do not carry the owner
+        suggester.onTaskChanged(TaskChangedEvent.saved(3, "Buy bike", "", Priority.LOW));
+        suggester.onTaskChanged(TaskChangedEvent.deleted(2));
+        //assert
+        assertEquals(List.of(6, 1), suggestedIds(1, "re", 10));
+        assertEquals(List.of(3), suggestedIds(1, "bike", 10));
+        assertEquals(List.of(), suggestedIds(1, "finish", 10));
+    }
+
+    @Test
+    void shouldDropDeletedUsersSuggestionsWithFirstChunk() {
+        //act
+        suggester.onUserTasksDeleted(new UserTasksDeletedEvent(1, List.of(1, 2)));
+        //the rest of the user's tasks are already gone from the trie when their own chunk arrives
+        suggester.onUserTasksDeleted(new UserTasksDeletedEvent(1, List.of(3, 4)));
+        //assert
+        assertEquals(List.of(), suggestedIds(1, "rep", 10));
+        assertEquals(List.of(), suggestedIds(1, "prep", 10));
+        assertEquals(List.of(5), suggestedIds(2, "rep", 10));
+    }
+
+    @Test
+    void shouldKeepOnlyTheBestSuggestionsPerNode() {
+        //arrange
+        User user = new User();
+        user.setId(3);
+        for (int id = 100; id < 100 + TaskTitleSuggester.MAX_SUGGESTIONS + 5; id++) {
+            Task task = new Task();
+            task.setId(id);
+            task.setTitle("Task " + id);
+            task.setPriority(Priority.MEDIUM);
+            task.setUser(user);
+            suggester.onTaskChanged(TaskChangedEvent.saved(task));
+        }
+        //act
+        suggester.onTaskChanged(TaskChangedEvent.deleted(124));
+        List<Integer> ids = suggestedIds(3, "task", 100);
+        //assert
+        //removing the newest one pulls the next best up from below the cut
+        assertEquals(TaskTitleSuggester.MAX_SUGGESTIONS, ids.size());
+        assertEquals(123, ids.get(0));
+        assertEquals(104, ids.get(ids.size() - 1));
+    }
+}
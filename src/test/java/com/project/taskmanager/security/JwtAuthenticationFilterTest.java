@@ -1,6 +1,9 @@
 package com.project.taskmanager.security;
 
+import com.project.taskmanager.enums.Role;
 import com.project.taskmanager.service.impl.ApiUserDetailsService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,6 +18,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Date;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -23,6 +27,8 @@ class JwtAuthenticationFilterTest {
 
     private JwtProvider jwtProvider;
     private ApiUserDetailsService userDetailsService;
+    private TokenRevocationRegistry revocationRegistry;
+    private VerifiedTokenCache tokenCache;
     private JwtAuthenticationFilter filter;
 
     private HttpServletRequest request;
@@ -33,7 +39,9 @@ class JwtAuthenticationFilterTest {
     void setUp() {
         jwtProvider = mock(JwtProvider.class);
         userDetailsService = mock(ApiUserDetailsService.class);
-        filter = new JwtAuthenticationFilter(jwtProvider, userDetailsService);
+        revocationRegistry = mock(TokenRevocationRegistry.class);
+        tokenCache = mock(VerifiedTokenCache.class);
+        filter = new JwtAuthenticationFilter(jwtProvider, userDetailsService, revocationRegistry, tokenCache, false);
 
         request = mock(HttpServletRequest.class);
         response = mock(HttpServletResponse.class);
@@ -47,6 +55,15 @@ class JwtAuthenticationFilterTest {
         SecurityContextHolder.clearContext();
     }
 
+    private VerifiedToken verifiedToken(String username, Integer userId, Role role, Date issuedAt) {
+        Claims claims = Jwts.claims().setSubject(username).setIssuedAt(issuedAt);
+        if (userId != null) {
+            claims.put(JwtProvider.USER_ID_CLAIM, userId);
+            claims.put(JwtProvider.ROLE_CLAIM, role.name());
+        }
+        return new VerifiedToken(claims);
+    }
+
     @Test
     void shouldSetAuthenticationWhenTokenIsValidAndUserNotLoggedIn() throws ServletException, IOException {
         // Arrange
@@ -55,9 +72,8 @@ class JwtAuthenticationFilterTest {
         UserDetails userDetails = new User(username, "password", Collections.emptyList());
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtProvider.getUsernameFromToken(token)).thenReturn(username);
+        when(jwtProvider.verifyToken(token)).thenReturn(verifiedToken(username, null, null, new Date()));
         when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
-        when(jwtProvider.validateToken(token, userDetails)).thenReturn(true);
 
         // Act
         filter.doFilterInternal(request, response, filterChain);
@@ -66,6 +82,7 @@ class JwtAuthenticationFilterTest {
         assertNotNull(SecurityContextHolder.getContext().getAuthentication());
         assertEquals(userDetails,
                 SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        verify(jwtProvider, times(1)).verifyToken(token);
         verify(filterChain, times(1)).doFilter(request, response);
     }
 
@@ -86,13 +103,28 @@ class JwtAuthenticationFilterTest {
     void shouldNotSetAuthenticationWhenTokenIsInvalid() throws ServletException, IOException {
         // Arrange
         String token = "fake-token";
-        String username = "testuser";
-        UserDetails userDetails = new User(username, "password", Collections.emptyList());
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtProvider.getUsernameFromToken(token)).thenReturn(username);
-        when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
-        when(jwtProvider.validateToken(token, userDetails)).thenReturn(false);
+        when(jwtProvider.verifyToken(token)).thenReturn(null);
+
+        // Act
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+        verify(filterChain, times(1)).doFilter(request, response);
+    }
+
+    @Test
+    void shouldNotSetAuthenticationWhenUsernameDoesNotMatch() throws ServletException, IOException {
+        // Arrange
+        String token = "fake-token";
+        UserDetails userDetails = new User("otheruser", "password", Collections.emptyList());
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtProvider.verifyToken(token)).thenReturn(verifiedToken("testuser", null, null, new Date()));
+        when(userDetailsService.loadUserByUsername("testuser")).thenReturn(userDetails);
 
         // Act
         filter.doFilterInternal(request, response, filterChain);
@@ -113,7 +145,7 @@ class JwtAuthenticationFilterTest {
         SecurityContextHolder.getContext().setAuthentication(existingAuth);
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtProvider.getUsernameFromToken(token)).thenReturn(username);
+        when(jwtProvider.verifyToken(token)).thenReturn(verifiedToken(username, null, null, new Date()));
 
         // Act
         filter.doFilterInternal(request, response, filterChain);
@@ -134,4 +166,98 @@ class JwtAuthenticationFilterTest {
         // Assert
         verify(filterChain, times(1)).doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldBuildPrincipalFromClaimsWithoutDatabaseWhenStateless() throws ServletException, IOException {
+        // Arrange
+        filter = new JwtAuthenticationFilter(jwtProvider, userDetailsService, revocationRegistry, tokenCache, true);
+        String token = "fake-token";
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtProvider.verifyToken(token)).thenReturn(verifiedToken("testuser", 1, Role.USER, new Date()));
+
+        // Act
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        ApiUserDetails principal = (ApiUserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        assertEquals(1, principal.getId());
+        assertEquals("testuser", principal.getUsername());
+        assertEquals(Role.USER, principal.getRole());
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+        verify(filterChain, times(1)).doFilter(request, response);
+    }
+
+    @Test
+    void shouldFallBackToDatabaseWhenStatelessTokenHasNoClaims() throws ServletException, IOException {
+        // Arrange
+        filter = new JwtAuthenticationFilter(jwtProvider, userDetailsService, revocationRegistry, tokenCache, true);
+        String token = "fake-token";
+        UserDetails userDetails = new User("testuser", "password", Collections.emptyList());
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtProvider.verifyToken(token)).thenReturn(verifiedToken("testuser", null, null, new Date()));
+        when(userDetailsService.loadUserByUsername("testuser")).thenReturn(userDetails);
+
+        // Act
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        assertEquals(userDetails, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        verify(userDetailsService, times(1)).loadUserByUsername("testuser");
+    }
+
+    @Test
+    void shouldNotSetAuthenticationWhenTokenIsRevoked() throws ServletException, IOException {
+        // Arrange
+        filter = new JwtAuthenticationFilter(jwtProvider, userDetailsService, revocationRegistry, tokenCache, true);
+        String token = "fake-token";
+        VerifiedToken verifiedToken = verifiedToken("testuser", 1, Role.ADMIN, new Date());
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtProvider.verifyToken(token)).thenReturn(verifiedToken);
+        when(revocationRegistry.isRevoked(1, verifiedToken)).thenReturn(true);
+
+        // Act
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(filterChain, times(1)).doFilter(request, response);
+    }
+
+    @Test
+    void shouldUseCachedPrincipalWithoutVerifyingToken() throws ServletException, IOException {
+        // Arrange
+        String token = "fake-token";
+        ApiUserDetails cached = new ApiUserDetails(1, "testuser", null, Role.USER);
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(tokenCache.get(token)).thenReturn(cached);
+
+        // Act
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        assertEquals(cached, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        verify(jwtProvider, never()).verifyToken(anyString());
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void shouldCacheVerifiedPrincipalUntilTokenExpiry() throws ServletException, IOException {
+        // Arrange
+        filter = new JwtAuthenticationFilter(jwtProvider, userDetailsService, revocationRegistry, tokenCache, true);
+        String token = "fake-token";
+        VerifiedToken verifiedToken = verifiedToken("testuser", 1, Role.USER, new Date());
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtProvider.verifyToken(token)).thenReturn(verifiedToken);
+
+        // Act
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(tokenCache, times(1)).put(eq(token), any(ApiUserDetails.class), eq(verifiedToken.getExpiration()));
+    }
+}
@@ -0,0 +1,65 @@
+package com.project.taskmanager.security;
+
+import com.project.taskmanager.enums.Role;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+//Per-request cost of token validation in JwtAuthenticationFilter.
+//legacyThreeParses mirrors the old filter path: a fresh parser and a full HMAC check for
+//getUsernameFromToken, validateToken and isTokenExpired. singleParse is the current verifyToken path.
+//Run with: mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java "-Dexec.args=-cp %classpath com.project.taskmanager.security.JwtProviderBenchmark"
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtProviderBenchmark {
+
+    private static final String SECRET = "testsecret123456789012345678901234567890";
+
+    private JwtProvider jwtProvider;
+    private Key key;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtProvider = new JwtProvider();
+        jwtProvider.setJwtSecret(SECRET);
+        jwtProvider.setExpirationMs(3600000);
+        jwtProvider.init();
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        token = jwtProvider.generateToken(new ApiUserDetails(1, "alice", null, Role.USER));
+    }
+
+    @Benchmark
+    public boolean legacyThreeParses() {
+        String username = Jwts.parserBuilder().setSigningKey(key).build()
+                .parseClaimsJws(token).getBody().getSubject();
+        String validatedUsername = Jwts.parserBuilder().setSigningKey(key).build()
+                .parseClaimsJws(token).getBody().getSubject();
+        Date expiration = Jwts.parserBuilder().setSigningKey(key).build()
+                .parseClaimsJws(token).getBody().getExpiration();
+        return username.equals(validatedUsername) && !expiration.before(new Date());
+    }
+
+    @Benchmark
+    public ApiUserDetails singleParse() {
+        return jwtProvider.verifyToken(token).toUserDetails();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtProviderBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -1,5 +1,6 @@
 package com.project.taskmanager.security;
 
+import com.project.taskmanager.enums.Role;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -107,4 +108,63 @@ class JwtProviderTest {
         // Assert
         assertFalse(isValid);
     }
-}
\ No newline at end of file
+
+    @Test
+    void verifyToken_shouldReturnSubjectExpiryAndClaimsFromOneParse() {
+        // Arrange
+        ApiUserDetails apiUserDetails = new ApiUserDetails(7, "testuser", "hashed", Role.ADMIN);
+        String token = jwtProvider.generateToken(apiUserDetails);
+
+        // Act
+        VerifiedToken verifiedToken = jwtProvider.verifyToken(token);
+
+        // Assert
+        assertNotNull(verifiedToken);
+        assertEquals("testuser", verifiedToken.getUsername());
+        assertEquals(7, verifiedToken.getUserId());
+        assertEquals(Role.ADMIN, verifiedToken.getRole());
+        assertTrue(verifiedToken.getExpiration().after(verifiedToken.getIssuedAt()));
+        assertEquals(verifiedToken.getIssuedAt().getTime() / 1000, verifiedToken.getIssuedAtMillis() / 1000);
+    }
+
+    @Test
+    void verifyToken_shouldReturnNullForMalformedOrExpiredToken() throws InterruptedException {
+        // Arrange
+        jwtProvider.setExpirationMs(10);
+        jwtProvider.init();
+        String token = jwtProvider.generateToken(userDetails);
+        Thread.sleep(20);
+
+        // Act & Assert
+        assertNull(jwtProvider.verifyToken("this.is.not.a.jwt"));
+        assertNull(jwtProvider.verifyToken(token));
+    }
+
+    @Test
+    void toUserDetails_shouldRestoreIdAndRoleClaims() {
+        // Arrange
+        ApiUserDetails apiUserDetails = new ApiUserDetails(7, "testuser", "hashed", Role.ADMIN);
+        String token = jwtProvider.generateToken(apiUserDetails);
+
+        // Act
+        ApiUserDetails restored = jwtProvider.verifyToken(token).toUserDetails();
+
+        // Assert
+        assertEquals(7, restored.getId());
+        assertEquals("testuser", restored.getUsername());
+        assertEquals(Role.ADMIN, restored.getRole());
+        assertNull(restored.getPassword());
+    }
+
+    @Test
+    void toUserDetails_shouldReturnNullWhenClaimsMissing() {
+        // Arrange
+        String token = jwtProvider.generateToken(userDetails);
+
+        // Act
+        ApiUserDetails restored = jwtProvider.verifyToken(token).toUserDetails();
+
+        // Assert
+        assertNull(restored);
+    }
+}
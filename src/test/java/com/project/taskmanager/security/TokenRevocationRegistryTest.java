@@ -0,0 +1,76 @@
+package com.project.taskmanager.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenRevocationRegistryTest {
+
+    private TokenRevocationRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new TokenRevocationRegistry(3600000);
+    }
+
+    private VerifiedToken issuedAt(long millis) {
+        Claims claims = Jwts.claims().setIssuedAt(new Date(millis));
+        claims.put(JwtProvider.ISSUED_AT_MS_CLAIM, millis);
+        return new VerifiedToken(claims);
+    }
+
+    @Test
+    void shouldNotRevokeTokensOfUnknownUser() {
+        assertFalse(registry.isRevoked(1, issuedAt(System.currentTimeMillis())));
+    }
+
+    @Test
+    void shouldRevokeTokensIssuedBeforeRevocation() {
+        //arrange
+        VerifiedToken token = issuedAt(System.currentTimeMillis() - 1000);
+        //act
+        registry.revokeUser(1);
+        //assert
+        assertTrue(registry.isRevoked(1, token));
+        assertFalse(registry.isRevoked(2, token));
+    }
+
+    @Test
+    void shouldAcceptTokensIssuedAfterRevocation() {
+        //arrange
+        registry.revokeUser(1);
+        //act
+        VerifiedToken token = issuedAt(System.currentTimeMillis() + 1000);
+        //assert
+        assertFalse(registry.isRevoked(1, token));
+    }
+
+    @Test
+    void shouldAcceptTokenIssuedInSameSecondAfterRevocation() {
+        //arrange
+        registry.revokeUser(1);
+        long now = System.currentTimeMillis();
+        //act
+        //iat alone would be truncated to a second that starts before the revocation
+        VerifiedToken token = issuedAt(now);
+        //assert
+        assertTrue(token.getIssuedAt().getTime() / 1000 * 1000 <= now);
+        assertFalse(registry.isRevoked(1, token));
+    }
+
+    @Test
+    void shouldRevokeOlderTokenWithoutMillisecondClaimFromSameSecond() {
+        //arrange
+        long second = System.currentTimeMillis() / 1000 * 1000;
+        VerifiedToken token = new VerifiedToken(Jwts.claims().setIssuedAt(new Date(second)));
+        //act
+        registry.revokeUser(1);
+        //assert
+        assertTrue(registry.isRevoked(1, token));
+    }
+}
@@ -0,0 +1,112 @@
+package com.project.taskmanager.security;
+
+import com.project.taskmanager.enums.Role;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    private static final Date IN_ONE_HOUR = new Date(System.currentTimeMillis() + 3600000);
+    private static final Duration MAX_TTL = Duration.ofHours(1);
+
+    private ApiUserDetails user(Integer id) {
+        return new ApiUserDetails(id, "user" + id, "hashed", Role.USER);
+    }
+
+    @Test
+    void shouldReturnCachedPrincipalWithoutPassword() {
+        //arrange
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 10, MAX_TTL);
+        cache.put("token-1", user(1), IN_ONE_HOUR);
+        //act
+        ApiUserDetails cached = cache.get("token-1");
+        //assert
+        assertEquals(1, cached.getId());
+        assertEquals("user1", cached.getUsername());
+        assertNull(cached.getPassword());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    void shouldMissForUnknownOrExpiredToken() {
+        //arrange
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 10, MAX_TTL);
+        cache.put("expired", user(1), new Date(System.currentTimeMillis() - 1000));
+        //act
+        //assert
+        assertNull(cache.get("unknown"));
+        assertNull(cache.get("expired"));
+        assertEquals(2, cache.getMissCount());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldEvictWhenFull() {
+        //arrange
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 2, MAX_TTL);
+        cache.put("token-1", user(1), IN_ONE_HOUR);
+        cache.put("token-2", user(2), IN_ONE_HOUR);
+        //act
+        cache.put("token-3", user(3), IN_ONE_HOUR);
+        cache.cleanUp();
+        //assert
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    void shouldExpireEntryWithToken() throws InterruptedException {
+        //arrange
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 10, MAX_TTL);
+        cache.put("token-1", user(1), new Date(System.currentTimeMillis() + 50));
+        //act
+        Thread.sleep(100);
+        //assert
+        assertNull(cache.get("token-1"));
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void shouldExpireEntryAfterMaxTtlEvenIfTokenIsStillValid() throws InterruptedException {
+        //arrange
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 10, Duration.ofMillis(50));
+        cache.put("token-1", user(1), IN_ONE_HOUR);
+        //act
+        Thread.sleep(100);
+        //assert
+        assertNull(cache.get("token-1"));
+    }
+
+    @Test
+    void shouldEvictAllTokensOfUser() {
+        //arrange
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 10, MAX_TTL);
+        cache.put("token-1", user(1), IN_ONE_HOUR);
+        cache.put("token-2", user(1), IN_ONE_HOUR);
+        cache.put("token-3", user(2), IN_ONE_HOUR);
+        //act
+        cache.evictUser(1);
+        //assert
+        assertNull(cache.get("token-1"));
+        assertNull(cache.get("token-2"));
+        assertNotNull(cache.get("token-3"));
+        cache.cleanUp();
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void shouldNotCacheWhenDisabled() {
+        //arrange
+        VerifiedTokenCache cache = new VerifiedTokenCache(false, 10, MAX_TTL);
+        //act
+        cache.put("token-1", user(1), IN_ONE_HOUR);
+        //assert
+        assertNull(cache.get("token-1"));
+        assertEquals(0, cache.size());
+    }
+}
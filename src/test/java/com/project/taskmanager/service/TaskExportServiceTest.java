@@ -0,0 +1,130 @@
+package com.project.taskmanager.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.taskmanager.enums.Priority;
+import com.project.taskmanager.enums.Role;
+import com.project.taskmanager.enums.Status;
+import com.project.taskmanager.enums.TaskFileFormat;
+import com.project.taskmanager.exception.UserNotFoundException;
+import com.project.taskmanager.model.Task;
+import com.project.taskmanager.model.User;
+import com.project.taskmanager.repository.TaskRepository;
+import com.project.taskmanager.repository.UserRepository;
+import com.project.taskmanager.service.impl.TaskExportServiceImpl;
+import com.project.taskmanager.utils.UserUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class TaskExportServiceTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private TaskExportService taskExportService;
+    private User user;
+
+    private User createUser(String username) {
+        User created = new User();
+        created.setUsername(username);
+        created.setPassword("password");
+        created.setEmail(username + "@example.com");
+        created.setRole(Role.USER);
+        return entityManager.persist(created);
+    }
+
+    private Task createTask(User owner, String title, String description) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setPriority(Priority.HIGH);
+        task.setStatus(Status.NOT_STARTED);
+        task.setUser(owner);
+        return entityManager.persist(task);
+    }
+
+    private String export(Integer userId, TaskFileFormat format) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        taskExportService.exportTasks(userId, format).writeTo(outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    @BeforeEach
+    void setUp() {
+        taskExportService = new TaskExportServiceImpl(taskRepository, new UserUtils(userRepository), objectMapper,
+                transactionManager);
+        user = createUser("owner");
+    }
+
+    @Test
+    void shouldExportOneJsonObjectPerLineInIdOrder() throws Exception {
+        //arrange
+        Task first = createTask(user, "First", "one");
+        Task second = createTask(user, "Second", "line\nbreak");
+        createTask(createUser("other"), "Hidden", "not mine");
+        entityManager.flush();
+        //act
+        String body = export(user.getId(), TaskFileFormat.NDJSON);
+        //assert
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(body.endsWith("\n"));
+        JsonNode firstLine = objectMapper.readTree(lines[0]);
+        JsonNode secondLine = objectMapper.readTree(lines[1]);
+        assertEquals(first.getId(), firstLine.get("id").asInt());
+        assertEquals("First", firstLine.get("title").asText());
+        assertEquals("HIGH", firstLine.get("priority").asText());
+        assertEquals(second.getId(), secondLine.get("id").asInt());
+        assertEquals("line\nbreak", secondLine.get("description").asText());
+    }
+
+    @Test
+    void shouldQuoteCsvFieldsThatNeedIt() throws Exception {
+        //arrange
+        Task task = createTask(user, "Buy milk, eggs", "say \"hi\"");
+        entityManager.flush();
+        //act
+        String body = export(user.getId(), TaskFileFormat.CSV);
+        //assert
+        assertEquals("id,title,description,priority,status\r\n"
+                + task.getId() + ",\"Buy milk, eggs\",\"say \"\"hi\"\"\",HIGH,NOT_STARTED\r\n", body);
+    }
+
+    @Test
+    void shouldWriteOnlyTheHeaderWhenUserHasNoTasks() throws Exception {
+        //act
+        String body = export(user.getId(), TaskFileFormat.CSV);
+        //assert
+        assertEquals("id,title,description,priority,status\r\n", body);
+    }
+
+    @Test
+    void shouldRejectUnknownUserBeforeStreaming() {
+        //act
+        //assert
+        assertThrows(UserNotFoundException.class, () -> taskExportService.exportTasks(9999, TaskFileFormat.NDJSON));
+    }
+}
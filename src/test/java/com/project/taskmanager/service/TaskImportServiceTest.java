@@ -0,0 +1,222 @@
+package com.project.taskmanager.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.taskmanager.cache.TaskPageCache;
+import com.project.taskmanager.dto.ImportReport;
+import com.project.taskmanager.enums.JobState;
+import com.project.taskmanager.enums.Priority;
+import com.project.taskmanager.enums.Role;
+import com.project.taskmanager.enums.Status;
+import com.project.taskmanager.enums.TaskFileFormat;
+import com.project.taskmanager.event.TaskChangedEvent;
+import com.project.taskmanager.exception.UserNotFoundException;
+import com.project.taskmanager.model.Task;
+import com.project.taskmanager.model.User;
+import com.project.taskmanager.repository.TaskRepository;
+import com.project.taskmanager.repository.UserRepository;
+import com.project.taskmanager.service.impl.TaskImportServiceImpl;
+import com.project.taskmanager.utils.UserUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validation;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+//each batch commits on its own, so the test runs outside the usual rolled-back test transaction and cleans up after itself
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskImportServiceTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    private TaskImportService taskImportService;
+    private User user;
+
+    private static ByteArrayInputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String ndjsonLine(String title) {
+        return "{\"title\":\"" + title + "\",\"description\":\"d\",\"priority\":\"LOW\",\"status\":\"NOT_STARTED\"}\n";
+    }
+
+    @BeforeEach
+    void setUp() {
+        taskImportService = new TaskImportServiceImpl(taskRepository, new UserUtils(userRepository), new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), mock(TaskPageCache.class), eventPublisher,
+                transactionManager, entityManager);
+        User created = new User();
+        created.setUsername("importer");
+        created.setPassword("password");
+        created.setEmail("importer@example.com");
+        created.setRole(Role.USER);
+        user = userRepository.save(created);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldImportNdjsonInBatchesAndReportBadLines() {
+        //arrange
+        StringBuilder content = new StringBuilder();
+        for (int i = 1; i <= 1200; i++) {
+            content.append(i == 7 ? "{not json}\n" : i == 8 ? ndjsonLine("") : ndjsonLine("task " + i));
+        }
+        //act
+        ImportReport report = taskImportService.importTasks(user.getId(), TaskFileFormat.NDJSON, body(content.toString()), 0);
+        //assert
+        assertEquals(JobState.COMPLETED, report.getState());
+        assertEquals(1200, report.getRecordsRead());
+        assertEquals(1198, report.getImported());
+        assertEquals(2, report.getRejected());
+        assertEquals(1200, report.getCheckpoint());
+        assertEquals(7, report.getErrors().get(0).getRecord());
+        assertTrue(report.getErrors().get(0).getErrors().get(0).startsWith("Malformed JSON"));
+        assertEquals(List.of("title: Title is required"), report.getErrors().get(1).getErrors());
+        assertEquals(1198, taskRepository.countByUserId(user.getId()));
+        verify(eventPublisher, times(1198)).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    @Test
+    void shouldRejectOverlongNdjsonLineAndKeepReading() {
+        //arrange
+        String content = ndjsonLine("first") + ndjsonLine("x".repeat(70 * 1024)) + ndjsonLine("third");
+        //act
+        ImportReport report = taskImportService.importTasks(user.getId(), TaskFileFormat.NDJSON, body(content), 0);
+        //assert
+        assertEquals(JobState.COMPLETED, report.getState());
+        assertEquals(3, report.getRecordsRead());
+        assertEquals(2, report.getImported());
+        assertEquals(2, report.getErrors().get(0).getRecord());
+        assertEquals(List.of("Line is longer than 65536 characters."), report.getErrors().get(0).getErrors());
+    }
+
+    @Test
+    void shouldNotKeepWrittenBatchesInOpenInViewPersistenceContext() {
+        //arrange
+        //bound to the thread like OpenEntityManagerInViewInterceptor does, so every batch joins it
+        EntityManager requestEntityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(requestEntityManager));
+        StringBuilder content = new StringBuilder();
+        for (int i = 1; i <= 1200; i++) {
+            content.append(ndjsonLine("task " + i));
+        }
+        try {
+            //act
+            ImportReport report = taskImportService.importTasks(user.getId(), TaskFileFormat.NDJSON, body(content.toString()), 0);
+            //assert
+            assertEquals(1200, report.getImported());
+            //at most one batch of 500 may ever be managed at once
+            assertTrue(requestEntityManager.unwrap(Session.class).getStatistics().getEntityCount() <= 500);
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            requestEntityManager.close();
+        }
+    }
+
+    @Test
+    void shouldMapCsvColumnsByHeaderAndIgnoreExtraOnes() {
+        //arrange
+        String content = "id,status,priority,title,description\r\n"
+                + "5,IN_PROGRESS,high,\"Buy milk, eggs\",\"say \"\"hi\"\"\"\r\n"
+                + "6,COMPLETED,URGENT,Bad,priority\r\n";
+        //act
+        ImportReport report = taskImportService.importTasks(user.getId(), TaskFileFormat.CSV, body(content), 0);
+        //assert
+        assertEquals(1, report.getImported());
+        assertEquals(2, report.getErrors().get(0).getRecord());
+        assertEquals(List.of("priority: Unknown value 'URGENT'"), report.getErrors().get(0).getErrors());
+        Task task = taskRepository.findAll().get(0);
+        assertEquals("Buy milk, eggs", task.getTitle());
+        assertEquals("say \"hi\"", task.getDescription());
+        assertEquals(Priority.HIGH, task.getPriority());
+        assertEquals(Status.IN_PROGRESS, task.getStatus());
+    }
+
+    @Test
+    void shouldSkipRecordsUpToTheCheckpoint() {
+        //arrange
+        String content = ndjsonLine("one") + ndjsonLine("two") + ndjsonLine("three");
+        //act
+        ImportReport report = taskImportService.importTasks(user.getId(), TaskFileFormat.NDJSON, body(content), 2);
+        //assert
+        assertEquals(2, report.getSkipped());
+        assertEquals(1, report.getImported());
+        assertEquals("three", taskRepository.findAll().get(0).getTitle());
+    }
+
+    @Test
+    void shouldStopAtFailedBatchAndReportLastCommittedRecord() {
+        //arrange
+        StringBuilder content = new StringBuilder();
+        for (int i = 1; i <= 1200; i++) {
+            content.append(ndjsonLine("task " + i));
+        }
+        //the second batch blows up when its first event is published, which rolls its transaction back
+        AtomicInteger published = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (published.incrementAndGet() == 501) {
+                throw new IllegalStateException("boom");
+            }
+            return null;
+        }).when(eventPublisher).publishEvent(any(TaskChangedEvent.class));
+        //act
+        ImportReport report = taskImportService.importTasks(user.getId(), TaskFileFormat.NDJSON, body(content.toString()), 0);
+        //assert
+        assertEquals(JobState.FAILED, report.getState());
+        assertEquals(500, report.getImported());
+        assertEquals(500, report.getCheckpoint());
+        assertEquals(500, taskRepository.countByUserId(user.getId()));
+        assertTrue(report.getError().contains("boom"));
+    }
+
+    @Test
+    void shouldRejectCsvWithoutRequiredColumns() {
+        //act
+        //assert
+        assertThrows(IllegalArgumentException.class,
+                () -> taskImportService.importTasks(user.getId(), TaskFileFormat.CSV, body("title,description\n"), 0));
+        assertThrows(UserNotFoundException.class,
+                () -> taskImportService.importTasks(9999, TaskFileFormat.NDJSON, body(""), 0));
+    }
+}
@@ -0,0 +1,170 @@
+package com.project.taskmanager.service;
+
+import com.project.taskmanager.cache.TaskPageCache;
+import com.project.taskmanager.dto.TaskRequest;
+import com.project.taskmanager.dto.TaskResponse;
+import com.project.taskmanager.enums.Priority;
+import com.project.taskmanager.enums.Role;
+import com.project.taskmanager.enums.Status;
+import com.project.taskmanager.exception.TaskVersionConflictException;
+import com.project.taskmanager.model.Task;
+import com.project.taskmanager.model.User;
+import com.project.taskmanager.repository.TaskCountEstimator;
+import com.project.taskmanager.repository.TaskRepository;
+import com.project.taskmanager.repository.UserRepository;
+import com.project.taskmanager.search.TaskSearchEngine;
+import com.project.taskmanager.search.TaskTitleSearch;
+import com.project.taskmanager.search.TaskTitleSuggester;
+import com.project.taskmanager.service.impl.TaskServiceImpl;
+import com.project.taskmanager.utils.UserUtils;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+//many threads read-modify-write the same tasks; each write commits on its own, so no test transaction wraps them
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskOptimisticLockingTest {
+
+    private static final int THREADS = 8;
+    private static final int INCREMENTS_PER_THREAD = 10;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TaskService taskService;
+    private TransactionTemplate transactionTemplate;
+    private List<Integer> taskIds;
+
+    @BeforeEach
+    void setUp() {
+        taskService = new TaskServiceImpl(taskRepository, new UserUtils(userRepository),
+                mock(TaskCountEstimator.class), mock(TaskSearchEngine.class), mock(TaskTitleSearch.class),
+                mock(TaskTitleSuggester.class), mock(TaskPageCache.class), mock(ApplicationEventPublisher.class),
+                mock(Validator.class));
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        User user = new User();
+        user.setUsername("kanban");
+        user.setPassword("password");
+        user.setEmail("kanban@example.com");
+        user.setRole(Role.USER);
+        user = userRepository.save(user);
+        taskIds = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            Task task = new Task();
+            task.setTitle("card " + i);
+            //the description holds a counter that every worker increments
+            task.setDescription("0");
+            task.setPriority(Priority.LOW);
+            task.setStatus(Status.NOT_STARTED);
+            task.setUser(user);
+            taskIds.add(taskRepository.save(task).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private TaskRequest incremented(TaskResponse task) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle(task.getTitle());
+        request.setDescription(String.valueOf(Integer.parseInt(task.getDescription()) + 1));
+        request.setPriority(task.getPriority());
+        request.setStatus(task.getStatus());
+        return request;
+    }
+
+    //read, change and write back with the version that was read, re-reading after every conflict
+    private void incrementUntilApplied(Integer id, LongAdder conflicts) {
+        while (true) {
+            TaskResponse current = transactionTemplate.execute(status -> taskService.getTask(id, null));
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        taskService.updateTask(incremented(current), id, null, current.getVersion()));
+                return;
+            } catch (TaskVersionConflictException e) {
+                conflicts.increment();
+            }
+        }
+    }
+
+    @Test
+    void shouldNotLoseUpdatesUnderConcurrentEdits() throws Exception {
+        //arrange
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        LongAdder conflicts = new LongAdder();
+        List<Future<?>> workers = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < INCREMENTS_PER_THREAD; i++) {
+                    for (Integer id : taskIds) {
+                        incrementUntilApplied(id, conflicts);
+                    }
+                }
+                return null;
+            }));
+        }
+        //act
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        //assert
+        int expected = THREADS * INCREMENTS_PER_THREAD;
+        for (Integer id : taskIds) {
+            TaskResponse task = transactionTemplate.execute(status -> taskService.getTask(id, null));
+            //conflicts only ever cost a re-read and a retry, never a lost write
+            assertEquals(String.valueOf(expected), task.getDescription(),
+                    "every increment must survive; " + conflicts.sum() + " conflicts were retried");
+            assertEquals(expected, task.getVersion(), "one version per applied write");
+        }
+    }
+
+    @Test
+    void shouldRejectWriteBasedOnStaleVersion() {
+        //arrange
+        Integer id = taskIds.get(0);
+        TaskResponse read = transactionTemplate.execute(status -> taskService.getTask(id, null));
+        transactionTemplate.executeWithoutResult(status ->
+                taskService.updateTask(incremented(read), id, null, read.getVersion()));
+        //act
+        //assert
+        assertThrows(TaskVersionConflictException.class, () -> transactionTemplate.executeWithoutResult(status ->
+                taskService.updateTask(incremented(read), id, null, read.getVersion())));
+        assertEquals("1", transactionTemplate.execute(status -> taskService.getTask(id, null)).getDescription());
+    }
+}
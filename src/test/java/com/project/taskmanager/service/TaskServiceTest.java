@@ -1,26 +1,66 @@
 package com.project.taskmanager.service;
 
+import com.project.taskmanager.cache.TaskPageCache;
+import com.project.taskmanager.dto.BatchCreateResponse;
+import com.project.taskmanager.dto.BulkUpdateRequest;
+import com.project.taskmanager.dto.BulkUpdateResponse;
+import com.project.taskmanager.dto.TaskFilter;
+import com.project.taskmanager.dto.CursorPage;
+import com.project.taskmanager.dto.SlicePage;
+import com.project.taskmanager.dto.TaskLookupResult;
+import com.project.taskmanager.dto.TaskPatchRequest;
 import com.project.taskmanager.dto.TaskRequest;
 import com.project.taskmanager.dto.TaskResponse;
+import com.project.taskmanager.enums.LookupStatus;
 import com.project.taskmanager.enums.Priority;
 import com.project.taskmanager.enums.Status;
+import com.project.taskmanager.enums.TotalMode;
+import com.project.taskmanager.event.TaskChangedEvent;
 import com.project.taskmanager.exception.TaskNotFoundException;
+import com.project.taskmanager.exception.TaskVersionConflictException;
 import com.project.taskmanager.model.Task;
 import com.project.taskmanager.model.User;
+import com.project.taskmanager.repository.TaskCountEstimator;
+import com.project.taskmanager.repository.TaskIndexView;
 import com.project.taskmanager.repository.TaskRepository;
+import com.project.taskmanager.repository.TaskVersionView;
+import com.project.taskmanager.search.TaskSearchEngine;
+import com.project.taskmanager.search.TaskTitleSearch;
+import com.project.taskmanager.search.TaskTitleSuggester;
 import com.project.taskmanager.service.impl.TaskServiceImpl;
+import com.project.taskmanager.utils.CursorUtils;
+import com.project.taskmanager.utils.ETagUtils;
 import com.project.taskmanager.utils.UserUtils;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,6 +77,27 @@ class TaskServiceTest {
     @Mock
     private UserUtils userUtils;
 
+    @Mock
+    private TaskCountEstimator taskCountEstimator;
+
+    @Mock
+    private TaskSearchEngine taskSearchEngine;
+
+    @Mock
+    private TaskTitleSearch taskTitleSearch;
+
+    @Mock
+    private TaskTitleSuggester taskTitleSuggester;
+
+    @Spy
+    private TaskPageCache taskPageCache = new TaskPageCache(true, 100, Duration.ofMinutes(1));
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
 
     @Test
     void shouldReturnTaskWhenExists() {
@@ -44,25 +105,36 @@ class TaskServiceTest {
         Task task = new Task();
         task.setId(1);
         task.setTitle("test");
-        when(taskRepository.findById(1)).thenReturn(Optional.of(task));
+        when(taskRepository.findByIdAndOwner(1, 1)).thenReturn(Optional.of(task));
 
         //act
-        TaskResponse result = taskService.getTask(1);
+        TaskResponse result = taskService.getTask(1, 1);
 
         //assert
         assertEquals(1, result.getId(), "Task ID should match the requested ID");
         assertEquals("test", result.getTitle(), "Task title should match the expected title");
-        verify(taskRepository,times(1)).findById(1);
+        verify(taskRepository,times(1)).findByIdAndOwner(1, 1);
+        verify(taskRepository,never()).existsById(anyInt());
     }
 
     @Test
     void shouldThrowTaskNotFoundExceptionWhenNotFound(){
         //arrange
-        when(taskRepository.findById(999)).thenReturn(Optional.empty());
+        when(taskRepository.findByIdAndOwner(999, null)).thenReturn(Optional.empty());
         //act
         //assert
-        assertThrows(TaskNotFoundException.class, () -> taskService.getTask(999));
-        verify(taskRepository,times(1)).findById(999);
+        assertThrows(TaskNotFoundException.class, () -> taskService.getTask(999, null));
+        verify(taskRepository,times(1)).findByIdAndOwner(999, null);
+    }
+
+    @Test
+    void shouldThrowAccessDeniedWhenTaskBelongsToAnotherUser(){
+        //arrange
+        when(taskRepository.findByIdAndOwner(1, 2)).thenReturn(Optional.empty());
+        when(taskRepository.existsById(1)).thenReturn(true);
+        //act
+        //assert
+        assertThrows(AccessDeniedException.class, () -> taskService.getTask(1, 2));
     }
 
     @Test
@@ -91,13 +163,23 @@ class TaskServiceTest {
     @Test
     void shouldDeleteTask(){
         //arrange
-        Task task = new Task();
-        task.setId(1);
-        when(taskRepository.findById(1)).thenReturn(Optional.of(task));
+        when(taskRepository.deleteByIdAndOwner(1, 1)).thenReturn(1);
         //act
-        taskService.deleteTaskById(1);
+        taskService.deleteTaskById(1, 1);
         //assert
-        verify(taskRepository,times(1)).delete(task);
+        verify(taskRepository,times(1)).deleteByIdAndOwner(1, 1);
+        verify(taskRepository,never()).existsById(anyInt());
+        verify(eventPublisher,times(1)).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    @Test
+    void shouldThrowTaskNotFoundExceptionWhenDeletingMissingTask(){
+        //arrange
+        when(taskRepository.deleteByIdAndOwner(999, 1)).thenReturn(0);
+        when(taskRepository.existsById(999)).thenReturn(false);
+        //act
+        //assert
+        assertThrows(TaskNotFoundException.class, () -> taskService.deleteTaskById(999, 1));
     }
 
     @Test
@@ -119,6 +201,7 @@ class TaskServiceTest {
         assertEquals(1, response.getId(),"Task ID should match the requested ID");
         assertEquals("test", response.getTitle(),"Task title should match the expected title");
         verify(taskRepository,times(1)).save(any(Task.class));
+        verify(eventPublisher,times(1)).publishEvent(any(TaskChangedEvent.class));
     }
 
     @Test
@@ -129,21 +212,61 @@ class TaskServiceTest {
         request.setDescription("test desc");
         request.setStatus(Status.IN_PROGRESS);
         request.setPriority(Priority.MEDIUM);
-        Task task = new Task();
-        task.setId(1);
-        task.setTitle("test");
-        when(taskRepository.findById(1)).thenReturn(Optional.of(task));
-        //get the first argument passed to save method
-        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(taskRepository.updateByIdAndOwner(1, null, "test2", "test desc", Priority.MEDIUM, Status.IN_PROGRESS, null))
+                .thenReturn(1);
         //act
-        TaskResponse response = taskService.updateTask(request,1);
+        TaskResponse response = taskService.updateTask(request,1,null,null);
         //assert
         assertEquals(1, response.getId(),"Task ID should match the requested ID");
         assertEquals("test2", response.getTitle(),"Task title should match the expected title");
         assertEquals("test desc", response.getDescription(),"Task description should match the expected description");
         assertEquals(Status.IN_PROGRESS, response.getStatus(),"Task status should match the expected status");
         assertEquals(Priority.MEDIUM, response.getPriority(),"Task priority should match the expected priority");
-        verify(taskRepository,times(1)).save(any(Task.class));
+        verify(taskRepository,never()).findById(anyInt());
+        verify(taskRepository,never()).save(any(Task.class));
+    }
+
+    @Test
+    void shouldThrowAccessDeniedWhenUpdatingAnotherUsersTask(){
+        //arrange
+        TaskRequest request= new TaskRequest();
+        request.setTitle("test2");
+        when(taskRepository.updateByIdAndOwner(eq(1), eq(2), any(), any(), any(), any(), any())).thenReturn(0);
+        when(taskRepository.existsById(1)).thenReturn(true);
+        //act
+        //assert
+        assertThrows(AccessDeniedException.class, () -> taskService.updateTask(request,1,2,null));
+    }
+
+    @Test
+    void shouldUpdateExpectedVersionInOneStatementWithoutReadingItBack(){
+        //arrange
+        TaskRequest request = new TaskRequest();
+        request.setTitle("moved");
+        request.setStatus(Status.COMPLETED);
+        when(taskRepository.updateByIdAndOwner(1, 5, "moved", null, null, Status.COMPLETED, 3L)).thenReturn(1);
+        //act
+        TaskResponse response = taskService.updateTask(request, 1, 5, 3L);
+        //assert
+        assertEquals(4L, response.getVersion());
+        verify(taskRepository, never()).findVersionByIdAndOwner(anyInt(), any());
+    }
+
+    @Test
+    void shouldReportVersionConflictWhenTaskChangedSinceRead(){
+        //arrange
+        TaskRequest request = new TaskRequest();
+        request.setTitle("moved");
+        when(taskRepository.updateByIdAndOwner(eq(1), eq(5), any(), any(), any(), any(), eq(3L))).thenReturn(0);
+        when(taskRepository.patchByIdAndOwner(1, 5, null, null, null, Status.COMPLETED, 3L)).thenReturn(0);
+        when(taskRepository.findVersionByIdAndOwner(1, 5)).thenReturn(Optional.of(4L));
+        TaskPatchRequest patch = new TaskPatchRequest();
+        patch.setStatus(Status.COMPLETED);
+        //act
+        //assert
+        assertThrows(TaskVersionConflictException.class, () -> taskService.updateTask(request, 1, 5, 3L));
+        assertThrows(TaskVersionConflictException.class, () -> taskService.patchTask(patch, 1, 5, 3L));
+        verify(taskPageCache, never()).tasksChanged(any(), any());
     }
 
     @Test
@@ -195,6 +318,83 @@ class TaskServiceTest {
 
     }
 
+    @Test
+    void shouldServeRepeatedStatusPageFromCacheUntilTaskAdded(){
+        //arrange
+        Task task = new Task();
+        task.setId(1);
+        task.setTitle("test1");
+        task.setStatus(Status.IN_PROGRESS);
+        when(taskRepository.findByStatus(eq(Status.IN_PROGRESS),any(Pageable.class))).thenReturn(new PageImpl<>(List.of(task)));
+        when(taskRepository.save(any(Task.class))).thenReturn(task);
+        TaskRequest taskRequest = new TaskRequest();
+        taskRequest.setStatus(Status.IN_PROGRESS);
+        //act
+        taskService.getTasksByStatus(1, 5, "id", Status.IN_PROGRESS);
+        taskService.getTasksByStatus(1, 5, "id", Status.IN_PROGRESS);
+        taskService.addTask(taskRequest, 1);
+        taskService.getTasksByStatus(1, 5, "id", Status.IN_PROGRESS);
+        //assert
+        verify(taskRepository,times(2)).findByStatus(eq(Status.IN_PROGRESS),any(Pageable.class));
+        assertEquals(1, taskPageCache.getHitCount());
+    }
+
+    @Test
+    void shouldKeepOtherStatusPagesCachedWhenTaskAdded(){
+        //arrange
+        Task task = new Task();
+        task.setId(1);
+        task.setStatus(Status.COMPLETED);
+        when(taskRepository.findByStatus(eq(Status.IN_PROGRESS),any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+        when(taskRepository.save(any(Task.class))).thenReturn(task);
+        TaskRequest taskRequest = new TaskRequest();
+        taskRequest.setStatus(Status.COMPLETED);
+        //act
+        taskService.getTasksByStatus(1, 5, "id", Status.IN_PROGRESS);
+        taskService.addTask(taskRequest, 1);
+        taskService.getTasksByStatus(1, 5, "id", Status.IN_PROGRESS);
+        //assert
+        verify(taskRepository,times(1)).findByStatus(eq(Status.IN_PROGRESS),any(Pageable.class));
+    }
+
+    @Test
+    void shouldTagCachedPageWithoutVersionQuery(){
+        //arrange
+        Task task = new Task();
+        task.setId(1);
+        task.setVersion(3L);
+        task.setStatus(Status.IN_PROGRESS);
+        when(taskRepository.findByStatus(eq(Status.IN_PROGRESS),any(Pageable.class))).thenReturn(new PageImpl<>(List.of(task)));
+        Page<TaskResponse> page = taskService.getTasksByStatus(1, 5, "id", Status.IN_PROGRESS);
+        //act
+        String etag = taskService.getTaskPageETag(1, 5, "id", null, Status.IN_PROGRESS);
+        //assert
+        assertEquals(ETagUtils.forPage(page), etag);
+        verify(taskRepository,never()).findVersionsByStatus(any(), any(Pageable.class));
+    }
+
+    @Test
+    void shouldTagUncachedPageFromVersionQuery(){
+        //arrange
+        TaskVersionView version = new TaskVersionView() {
+            @Override
+            public Integer getId() {
+                return 1;
+            }
+
+            @Override
+            public Long getVersion() {
+                return 3L;
+            }
+        };
+        when(taskRepository.findVersionsByStatus(eq(Status.IN_PROGRESS),any(Pageable.class))).thenReturn(new PageImpl<>(List.of(version)));
+        //act
+        String etag = taskService.getTaskPageETag(1, 5, "id", null, Status.IN_PROGRESS);
+        //assert
+        assertEquals(ETagUtils.forPage(List.of(1), List.of(3L), 1), etag);
+        verify(taskRepository,never()).findByStatus(any(), any(Pageable.class));
+    }
+
     @Test
     void shouldReturnTaskByIdAndStatus(){
         //arrange
@@ -228,14 +428,318 @@ class TaskServiceTest {
         task2.setId(2);
         task2.setTitle("test2");
         Page<Task> pageOfTasks = new PageImpl<>(List.of(task2));
-        when(taskRepository.findByTitleContainingIgnoreCase(eq("test2"),any(Pageable.class))).thenReturn(pageOfTasks);
+        when(taskTitleSearch.findByTitle(eq("test2"),any(Pageable.class))).thenReturn(pageOfTasks);
         //act
         Page<TaskResponse> tasks = taskService.getTasksByTitle(1, 5, "id", "test2");
         //assert
         assertEquals(1,tasks.getTotalElements());
         assertEquals(1,tasks.getNumberOfElements());
         assertEquals("test2",tasks.getContent().get(0).getTitle());
-        verify(taskRepository,times(1)).findByTitleContainingIgnoreCase(eq("test2"),any(Pageable.class));
+        verify(taskTitleSearch,times(1)).findByTitle(eq("test2"),any(Pageable.class));
+    }
+
+    @Test
+    void shouldReturnNextCursorWhenMoreTasksFollow(){
+        //arrange
+        Task task1 = new Task();
+        task1.setId(1);
+        task1.setTitle("a");
+        Task task2 = new Task();
+        task2.setId(2);
+        task2.setTitle("b");
+        Window<Task> window = Window.from(List.of(task1, task2),
+                index -> ScrollPosition.forward(Map.of("title", index == 0 ? "a" : "b", "id", index + 1)), true);
+        when(taskRepository.findByStatus(eq(Status.IN_PROGRESS), any(ScrollPosition.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(window);
+        //act
+        CursorPage<TaskResponse> page = taskService.scrollTasksByStatus("", 2, "title,desc", Status.IN_PROGRESS);
+        //assert
+        assertEquals(2, page.getContent().size());
+        assertTrue(page.isHasNext());
+        CursorUtils.Cursor cursor = CursorUtils.decode(page.getNextCursor(), Map.of("title", String.class, "id", Integer.class));
+        assertEquals("title,desc", cursor.getSort());
+        assertEquals(Map.of("title", "b", "id", 2), cursor.getKeys());
+        verify(taskRepository,times(1)).findByStatus(Status.IN_PROGRESS, ScrollPosition.keyset(),
+                Sort.by(Sort.Direction.DESC, "title"), Limit.of(2));
+    }
+
+    @Test
+    void shouldContinueFromCursorWithItsOwnSort(){
+        //arrange
+        String cursor = CursorUtils.encode("priority,asc", Map.of("priority", "HIGH", "id", 7));
+        when(taskRepository.findAllBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(Window.from(List.of(), index -> ScrollPosition.keyset()));
+        //act
+        CursorPage<TaskResponse> page = taskService.scrollTasks(cursor, 10, "id,desc");
+        //assert
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+        KeysetScrollPosition expectedPosition = ScrollPosition.forward(Map.of("priority", Priority.HIGH, "id", 7));
+        verify(taskRepository,times(1)).findAllBy(expectedPosition, Sort.by(Sort.Direction.ASC, "priority"), Limit.of(10));
+    }
+
+    @Test
+    void shouldRejectCursorWhoseKeysDoNotMatchItsSort(){
+        //arrange
+        String cursor = CursorUtils.encode("title,asc", Map.of("status", "COMPLETED", "id", 7));
+        //act
+        //assert
+        assertThrows(IllegalArgumentException.class, () -> taskService.scrollTasks(cursor, 10, "id,asc"));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void shouldReturnSliceWithoutTotal(){
+        //arrange
+        Task task = new Task();
+        task.setId(1);
+        task.setTitle("test1");
+        when(taskRepository.findSliceByUserId(eq(1), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(task), Pageable.ofSize(1), true));
+        //act
+        SlicePage<TaskResponse> slice = taskService.sliceTasksByUserId(0, 1, "id", 1, TotalMode.NONE);
+        //assert
+        assertEquals(1, slice.getContent().size());
+        assertTrue(slice.isHasNext());
+        assertNull(slice.getApproximateTotal());
+        verify(taskRepository, never()).findByUserId(anyInt(), any(Pageable.class));
+        verifyNoInteractions(taskCountEstimator);
+    }
+
+    @Test
+    void shouldReturnSliceWithEstimatedTotal(){
+        //arrange
+        when(taskRepository.findSliceByStatus(eq(Status.COMPLETED), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(), Pageable.ofSize(10), false));
+        when(taskCountEstimator.estimateByStatus(Status.COMPLETED)).thenReturn(1200L);
+        //act
+        SlicePage<TaskResponse> slice = taskService.sliceTasksByStatus(0, 10, "id", Status.COMPLETED, TotalMode.ESTIMATE);
+        //assert
+        assertFalse(slice.isHasNext());
+        assertEquals(1200L, slice.getApproximateTotal());
+    }
+
+    @Test
+    void shouldSearchTasksThroughSearchEngine(){
+        //arrange
+        Task task = new Task();
+        task.setId(1);
+        task.setTitle("report");
+        when(taskSearchEngine.search(eq("report"), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(task)));
+        //act
+        Page<TaskResponse> tasks = taskService.searchTasks(0, 10, " report ");
+        //assert
+        assertEquals(1, tasks.getTotalElements());
+        assertEquals("report", tasks.getContent().get(0).getTitle());
+    }
+
+    @Test
+    void shouldRejectBlankSearchQuery(){
+        //act
+        //assert
+        assertThrows(IllegalArgumentException.class, () -> taskService.searchTasks(0, 10, " "));
+        verifyNoInteractions(taskSearchEngine);
+    }
+
+    @Test
+    void shouldRejectBlankPrefixAndOutOfRangeLimit(){
+        //act
+        //assert
+        assertThrows(IllegalArgumentException.class, () -> taskService.suggestTitles(1, "  ", 5));
+        assertThrows(IllegalArgumentException.class, () -> taskService.suggestTitles(1, "rep", 0));
+        assertThrows(IllegalArgumentException.class, () -> taskService.suggestTitles(1, "rep", 21));
+        verifyNoInteractions(taskTitleSuggester);
+    }
+
+    @Test
+    void shouldRefuseSuggestionsWhenSuggesterIsDisabled(){
+        //arrange
+        when(taskTitleSuggester.isEnabled()).thenReturn(false);
+        //act
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> taskService.suggestTitles(1, "rep", 5));
+        //assert
+        assertEquals(HttpStatus.NOT_IMPLEMENTED, exception.getStatusCode());
+        verify(taskTitleSuggester, never()).suggest(any(), any(), anyInt());
+    }
+
+    @Test
+    void shouldCreateValidItemsAndReportRejectedOnesInOrder(){
+        //arrange
+        User user = new User();
+        user.setId(1);
+        TaskRequest valid = new TaskRequest();
+        valid.setTitle("valid");
+        valid.setDescription("description");
+        valid.setPriority(Priority.HIGH);
+        valid.setStatus(Status.NOT_STARTED);
+        TaskRequest invalid = new TaskRequest();
+        invalid.setDescription("description");
+        invalid.setStatus(Status.NOT_STARTED);
+        when(userUtils.findUserById(1)).thenReturn(user);
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Task> tasks = invocation.getArgument(0);
+            for (int i = 0; i < tasks.size(); i++) {
+                tasks.get(i).setId(10 + i);
+            }
+            return tasks;
+        });
+        //act
+        BatchCreateResponse response = taskService.addTasks(Arrays.asList(valid, invalid, null, valid), 1);
+        //assert
+        assertEquals(2, response.getCreated());
+        assertEquals(2, response.getFailed());
+        assertEquals(10, response.getResults().get(0).getTask().getId());
+        assertEquals(List.of("priority: Priority is required", "title: Title is required"), response.getResults().get(1).getErrors());
+        assertEquals(List.of("Task must not be null."), response.getResults().get(2).getErrors());
+        assertEquals(11, response.getResults().get(3).getTask().getId());
+        verify(userUtils, times(1)).findUserById(1);
+        verify(taskRepository, times(1)).saveAll(anyList());
+        verify(eventPublisher, times(2)).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    @Test
+    void shouldRejectEmptyOrOversizedBatch(){
+        //act
+        //assert
+        assertThrows(IllegalArgumentException.class, () -> taskService.addTasks(List.of(), 1));
+        assertThrows(IllegalArgumentException.class, () -> taskService.addTasks(
+                Collections.nCopies(TaskServiceImpl.MAX_BATCH_SIZE + 1, new TaskRequest()), 1));
+        verifyNoInteractions(userUtils, taskRepository);
+    }
+
+    @Test
+    void shouldBulkUpdateByFilterWithoutFollowUpReadForStatusOnly(){
+        //arrange
+        BulkUpdateRequest request = new BulkUpdateRequest();
+        request.setFilter(new TaskFilter(1, Status.IN_PROGRESS, null));
+        request.setStatus(Status.COMPLETED);
+        when(taskRepository.bulkUpdateByFilter(1, 1, Status.IN_PROGRESS, null, Status.COMPLETED, null)).thenReturn(7);
+        //act
+        BulkUpdateResponse response = taskService.bulkUpdateTasks(request, 1);
+        //assert
+        assertEquals(7, response.getAffected());
+        verify(taskRepository, never()).streamIndexViewsByFilter(any(), any(), any(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void shouldRepublishTasksWhosePriorityChanged(){
+        //arrange
+        BulkUpdateRequest request = new BulkUpdateRequest();
+        request.setIds(List.of(1, 2));
+        request.setPriority(Priority.HIGH);
+        TaskIndexView view = mock(TaskIndexView.class);
+        when(view.getId()).thenReturn(1);
+        when(taskRepository.bulkUpdateByIds(List.of(1, 2), 5, null, Priority.HIGH)).thenReturn(1);
+        when(taskRepository.streamIndexViewsByIds(List.of(1, 2), 5)).thenReturn(Stream.of(view));
+        //act
+        BulkUpdateResponse response = taskService.bulkUpdateTasks(request, 5);
+        //assert
+        assertEquals(1, response.getAffected());
+        verify(eventPublisher, times(1)).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    @Test
+    void shouldRejectBulkUpdateWithoutSelectionOrValues(){
+        //arrange
+        BulkUpdateRequest noSelection = new BulkUpdateRequest();
+        noSelection.setFilter(new TaskFilter());
+        noSelection.setStatus(Status.COMPLETED);
+        BulkUpdateRequest both = new BulkUpdateRequest();
+        both.setIds(List.of(1));
+        both.setFilter(new TaskFilter(1, null, null));
+        both.setStatus(Status.COMPLETED);
+        BulkUpdateRequest noValues = new BulkUpdateRequest();
+        noValues.setIds(List.of(1));
+        //act
+        //assert
+        assertThrows(IllegalArgumentException.class, () -> taskService.bulkUpdateTasks(noSelection, null));
+        assertThrows(IllegalArgumentException.class, () -> taskService.bulkUpdateTasks(both, null));
+        assertThrows(IllegalArgumentException.class, () -> taskService.bulkUpdateTasks(noValues, null));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void shouldPatchStatusWithoutReadingTheTask(){
+        //arrange
+        TaskPatchRequest patch = new TaskPatchRequest();
+        patch.setStatus(Status.COMPLETED);
+        when(taskRepository.patchByIdAndOwner(1, 5, null, null, null, Status.COMPLETED, null)).thenReturn(1);
+        //act
+        taskService.patchTask(patch, 1, 5, null);
+        //assert
+        verify(taskRepository, never()).findByIdAndOwner(anyInt(), any());
+        verify(taskRepository, never()).streamIndexViewsByIds(anyList(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void shouldReindexPatchedTitle(){
+        //arrange
+        TaskPatchRequest patch = new TaskPatchRequest();
+        patch.setTitle("renamed");
+        TaskIndexView view = mock(TaskIndexView.class);
+        when(taskRepository.patchByIdAndOwner(1, null, "renamed", null, null, null, null)).thenReturn(1);
+        when(taskRepository.streamIndexViewsByIds(List.of(1), null)).thenReturn(Stream.of(view));
+        //act
+        taskService.patchTask(patch, 1, null, null);
+        //assert
+        verify(eventPublisher, times(1)).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    @Test
+    void shouldDenyPatchOfAnotherUsersTask(){
+        //arrange
+        TaskPatchRequest patch = new TaskPatchRequest();
+        patch.setStatus(Status.COMPLETED);
+        when(taskRepository.patchByIdAndOwner(1, 5, null, null, null, Status.COMPLETED, null)).thenReturn(0);
+        when(taskRepository.existsById(1)).thenReturn(true);
+        //act
+        //assert
+        assertThrows(AccessDeniedException.class, () -> taskService.patchTask(patch, 1, 5, null));
+        assertThrows(IllegalArgumentException.class, () -> taskService.patchTask(new TaskPatchRequest(), 1, 5, null));
+    }
+
+    @Test
+    void shouldReturnTasksInRequestOrderWithPerItemStatus(){
+        //arrange
+        Task task1 = new Task();
+        task1.setId(1);
+        Task task3 = new Task();
+        task3.setId(3);
+        when(taskRepository.findAllByIdInAndOwner(Set.of(3, 1, 2, 4), 5)).thenReturn(List.of(task1, task3));
+        when(taskRepository.findExistingIds(Set.of(2, 4))).thenReturn(List.of(2));
+        //act
+        List<TaskLookupResult> results = taskService.getTasksByIds(List.of(3, 1, 2, 4), 5);
+        //assert
+        assertEquals(List.of(3, 1, 2, 4), results.stream().map(TaskLookupResult::getId).toList());
+        assertEquals(List.of(LookupStatus.FOUND, LookupStatus.FOUND, LookupStatus.FORBIDDEN, LookupStatus.NOT_FOUND),
+                results.stream().map(TaskLookupResult::getStatus).toList());
+        assertEquals(3, results.get(0).getTask().getId());
+        assertNull(results.get(2).getTask());
+    }
+
+    @Test
+    void shouldSkipExistenceCheckWhenEveryIdIsFound(){
+        //arrange
+        Task task1 = new Task();
+        task1.setId(1);
+        when(taskRepository.findAllByIdInAndOwner(Set.of(1), null)).thenReturn(List.of(task1));
+        //act
+        List<TaskLookupResult> results = taskService.getTasksByIds(List.of(1, 1), null);
+        //assert
+        assertEquals(2, results.size());
+        verify(taskRepository, never()).findExistingIds(any());
+    }
+
+    @Test
+    void shouldRejectEmptyOrOversizedIdList(){
+        //act
+        //assert
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTasksByIds(List.of(), null));
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTasksByIds(
+                Collections.nCopies(TaskServiceImpl.MAX_BATCH_SIZE + 1, 1), null));
+        verifyNoInteractions(taskRepository);
     }
 
 }
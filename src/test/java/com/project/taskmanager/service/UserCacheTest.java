@@ -0,0 +1,130 @@
+package com.project.taskmanager.service;
+
+import com.project.taskmanager.cache.TaskPageCache;
+import com.project.taskmanager.dto.UserRequest;
+import com.project.taskmanager.enums.Role;
+import com.project.taskmanager.exception.UserNotFoundException;
+import com.project.taskmanager.model.User;
+import com.project.taskmanager.repository.TaskRepository;
+import com.project.taskmanager.repository.UserRepository;
+import com.project.taskmanager.security.TokenRevocationRegistry;
+import com.project.taskmanager.security.VerifiedTokenCache;
+import com.project.taskmanager.service.impl.UserDeletionServiceImpl;
+import com.project.taskmanager.service.impl.UserServiceImpl;
+import com.project.taskmanager.utils.UserUtils;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+//the cache is only written on commit, so the test runs without the usual rolled-back test transaction
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UserUtils userUtils;
+    private UserService userService;
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userUtils = new UserUtils(userRepository);
+        UserDeletionService userDeletionService = new UserDeletionServiceImpl(taskRepository, userRepository,
+                mock(TokenRevocationRegistry.class), mock(VerifiedTokenCache.class),
+                mock(TaskPageCache.class), mock(ApplicationEventPublisher.class), transactionManager, Runnable::run,
+                Duration.ofHours(1));
+        userService = new UserServiceImpl(userRepository, userUtils, mock(PasswordEncoder.class),
+                mock(TokenRevocationRegistry.class), mock(VerifiedTokenCache.class), userDeletionService);
+        User created = new User();
+        created.setUsername("cached");
+        created.setPassword("password");
+        created.setEmail("cached@example.com");
+        created.setRole(Role.USER);
+        user = userRepository.save(created);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    private CacheRegionStatistics usersRegion() {
+        return statistics.getDomainDataRegionStatistics("users");
+    }
+
+    @Test
+    void shouldServeRepeatedUserLookupsFromCache() {
+        //act
+        userUtils.findUserById(user.getId());
+        userUtils.findUserById(user.getId());
+        assertTrue(userService.isUser(user.getId(), "cached"));
+        //assert
+        assertEquals(2, usersRegion().getHitCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldSeeUpdatedUserAfterUpdate() {
+        //arrange
+        UserRequest userRequest = new UserRequest();
+        userRequest.setEmail("changed@example.com");
+        //act
+        userService.updateUser(userRequest, user.getId());
+        statistics.clear();
+        User reloaded = userUtils.findUserById(user.getId());
+        //assert
+        assertEquals("changed@example.com", reloaded.getEmail());
+        assertEquals(1, usersRegion().getHitCount());
+    }
+
+    @Test
+    void shouldNotFindDeletedUserInCache() {
+        //arrange
+        userUtils.findUserById(user.getId());
+        //act
+        userService.deleteUserById(user.getId());
+        //assert
+        assertThrows(UserNotFoundException.class, () -> userUtils.findUserById(user.getId()));
+    }
+
+    @Test
+    void shouldCacheLookupByUsernameUntilUsersChange() {
+        //act
+        userRepository.findByUsername("cached");
+        userRepository.findByUsername("cached");
+        //assert
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+}
@@ -0,0 +1,146 @@
+package com.project.taskmanager.service;
+
+import com.project.taskmanager.cache.TaskPageCache;
+import com.project.taskmanager.dto.UserDeletionStatus;
+import com.project.taskmanager.enums.JobState;
+import com.project.taskmanager.enums.Priority;
+import com.project.taskmanager.enums.Role;
+import com.project.taskmanager.enums.Status;
+import com.project.taskmanager.event.TaskChangedEvent;
+import com.project.taskmanager.event.UserTasksDeletedEvent;
+import com.project.taskmanager.exception.UserNotFoundException;
+import com.project.taskmanager.model.Task;
+import com.project.taskmanager.model.User;
+import com.project.taskmanager.repository.TaskRepository;
+import com.project.taskmanager.repository.UserRepository;
+import com.project.taskmanager.security.TokenRevocationRegistry;
+import com.project.taskmanager.security.VerifiedTokenCache;
+import com.project.taskmanager.service.impl.UserDeletionServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class UserDeletionServiceTest {
+
+    private static final int TASKS = 2500;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final TokenRevocationRegistry tokenRevocationRegistry = mock(TokenRevocationRegistry.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    private UserDeletionService userDeletionService;
+    private User user;
+    private User otherUser;
+
+    private User createUser(String username) {
+        User created = new User();
+        created.setUsername(username);
+        created.setPassword("password");
+        created.setEmail(username + "@example.com");
+        created.setRole(Role.USER);
+        return entityManager.persist(created);
+    }
+
+    private void createTask(User owner) {
+        Task task = new Task();
+        task.setTitle("task");
+        task.setDescription("description");
+        task.setPriority(Priority.LOW);
+        task.setStatus(Status.NOT_STARTED);
+        task.setUser(owner);
+        entityManager.persist(task);
+    }
+
+    @BeforeEach
+    void setUp() {
+        //runs background work on the calling thread so the test sees the finished job
+        userDeletionService = new UserDeletionServiceImpl(taskRepository, userRepository, tokenRevocationRegistry,
+                mock(VerifiedTokenCache.class), mock(TaskPageCache.class), eventPublisher, transactionManager, Runnable::run,
+                Duration.ofHours(1));
+        user = createUser("owner");
+        otherUser = createUser("other");
+        for (int i = 0; i < TASKS; i++) {
+            createTask(user);
+        }
+        createTask(otherUser);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void shouldDeleteUserAndTasksInChunks() {
+        //act
+        long deleted = userDeletionService.deleteUser(user.getId());
+        entityManager.clear();
+        //assert
+        assertEquals(TASKS, deleted);
+        assertFalse(userRepository.existsById(user.getId()));
+        assertEquals(0, taskRepository.countByUserId(user.getId()));
+        assertEquals(1, taskRepository.countByUserId(otherUser.getId()));
+        //once before the chunks, once more after the user row is gone
+        verify(tokenRevocationRegistry, times(2)).revokeUser(user.getId());
+        //one event per chunk of 1000, none per task
+        verify(eventPublisher, times(3)).publishEvent(any(UserTasksDeletedEvent.class));
+        verify(eventPublisher, never()).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    @Test
+    void shouldReportProgressOfBackgroundDeletion() {
+        //act
+        UserDeletionStatus started = userDeletionService.startUserDeletion(user.getId());
+        UserDeletionStatus finished = userDeletionService.getDeletionStatus(started.getJobId());
+        //assert
+        assertEquals(TASKS, started.getTasksTotal());
+        assertEquals(JobState.COMPLETED, finished.getState());
+        assertEquals(TASKS, finished.getTasksDeleted());
+        assertFalse(userRepository.existsById(user.getId()));
+    }
+
+    @Test
+    void shouldForgetFinishedJobAfterRetention() {
+        //arrange
+        userDeletionService = new UserDeletionServiceImpl(taskRepository, userRepository, tokenRevocationRegistry,
+                mock(VerifiedTokenCache.class), mock(TaskPageCache.class), eventPublisher, transactionManager, Runnable::run,
+                Duration.ZERO);
+        //act
+        UserDeletionStatus started = userDeletionService.startUserDeletion(user.getId());
+        //assert
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> userDeletionService.getDeletionStatus(started.getJobId()));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+    }
+
+    @Test
+    void shouldRejectUnknownUserBeforeStarting() {
+        //act
+        //assert
+        assertThrows(UserNotFoundException.class, () -> userDeletionService.startUserDeletion(-1));
+        verifyNoInteractions(tokenRevocationRegistry);
+    }
+}
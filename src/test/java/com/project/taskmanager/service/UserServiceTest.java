@@ -3,8 +3,12 @@ package com.project.taskmanager.service;
 import com.project.taskmanager.dto.RegisterRequest;
 import com.project.taskmanager.dto.UserRequest;
 import com.project.taskmanager.dto.UserResponse;
+import com.project.taskmanager.enums.Role;
 import com.project.taskmanager.model.User;
 import com.project.taskmanager.repository.UserRepository;
+import com.project.taskmanager.security.TokenRevocationRegistry;
+import com.project.taskmanager.security.VerifiedTokenCache;
+import com.project.taskmanager.service.UserDeletionService;
 import com.project.taskmanager.service.impl.UserServiceImpl;
 import com.project.taskmanager.utils.UserUtils;
 import org.junit.jupiter.api.Test;
@@ -16,6 +20,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 
@@ -37,6 +43,15 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Mock
+    private UserDeletionService userDeletionService;
+
     @Test
     void shouldReturnUserByIdWhenExists(){
         //arrange
@@ -121,16 +136,13 @@ class UserServiceTest {
     }
 
     @Test
-    void shouldDeleteUser(){
-        //arrange
-        User user = new User();
-        user.setId(1);
-        when(userUtils.findUserById(1)).thenReturn(user);
+    void shouldDeleteUserWithoutLoadingIt(){
         //act
         userService.deleteUserById(1);
         //assert
-        verify(userUtils,times(1)).findUserById(1);
-        verify(userRepository,times(1)).delete(any(User.class));
+        verify(userDeletionService,times(1)).deleteUser(1);
+        verify(userUtils,never()).findUserById(anyInt());
+        verify(userRepository,never()).delete(any(User.class));
     }
 
     @Test
@@ -202,4 +214,65 @@ class UserServiceTest {
         verify(userRepository, never()).save(any());
     }
 
+    @Test
+    void shouldRevokeTokensWhenRoleChanges(){
+        //arrange
+        UserRequest request = new UserRequest();
+        request.setRole(Role.ADMIN);
+        User existingUser = new User();
+        existingUser.setId(1);
+        existingUser.setRole(Role.USER);
+        when(userUtils.findUserById(1)).thenReturn(existingUser);
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        //act
+        userService.updateUser(request,1);
+        //assert
+        verify(tokenRevocationRegistry,times(1)).revokeUser(1);
+    }
+
+    @Test
+    void shouldRevokeTokensOnlyAfterCommit(){
+        //arrange
+        UserRequest request = new UserRequest();
+        request.setRole(Role.ADMIN);
+        User existingUser = new User();
+        existingUser.setId(1);
+        existingUser.setRole(Role.USER);
+        when(userUtils.findUserById(1)).thenReturn(existingUser);
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            //act
+            userService.updateUser(request,1);
+            //a login landing here still reads the old, committed role, so nothing may be revoked yet
+            verify(tokenRevocationRegistry, never()).revokeUser(anyInt());
+            verify(verifiedTokenCache, never()).evictUser(anyInt());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        //assert
+        verify(tokenRevocationRegistry, times(1)).revokeUser(1);
+        verify(verifiedTokenCache, times(1)).evictUser(1);
+    }
+
+    @Test
+    void shouldNotRevokeTokensWhenOnlyEmailChanges(){
+        //arrange
+        UserRequest request = new UserRequest();
+        request.setEmail("email2@email");
+        User existingUser = new User();
+        existingUser.setId(1);
+        existingUser.setEmail("email1@email");
+        existingUser.setRole(Role.USER);
+        when(userUtils.findUserById(1)).thenReturn(existingUser);
+        when(userRepository.existsByEmail(request.getEmail())).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        //act
+        userService.updateUser(request,1);
+        //assert
+        verify(tokenRevocationRegistry, never()).revokeUser(anyInt());
+        verify(verifiedTokenCache, times(1)).evictUser(1);
+    }
+
 }
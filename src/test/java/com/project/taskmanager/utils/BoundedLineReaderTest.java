@@ -0,0 +1,39 @@
+package com.project.taskmanager.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedLineReaderTest {
+
+    @Test
+    void shouldReadLinesWithAnyLineEnding() throws IOException {
+        //arrange
+        BoundedLineReader reader = new BoundedLineReader(new StringReader("a\r\nb\rc\n\nd"), 10);
+        //act
+        //assert
+        assertEquals("a", reader.next());
+        assertEquals("b", reader.next());
+        assertEquals("c", reader.next());
+        assertEquals("", reader.next());
+        assertEquals("d", reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void shouldRejectOverlongLineAndCarryOnWithTheNextOne() throws IOException {
+        //arrange
+        BoundedLineReader reader = new BoundedLineReader(new StringReader("short\n" + "x".repeat(50) + "\r\nnext\n"), 10);
+        //act
+        String first = reader.next();
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, reader::next);
+        //assert
+        assertEquals("short", first);
+        assertEquals("Line is longer than 10 characters.", exception.getMessage());
+        assertEquals("next", reader.next());
+        assertNull(reader.next());
+    }
+}
@@ -0,0 +1,63 @@
+package com.project.taskmanager.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void shouldReadPlainRecordsWithEitherLineEnding() throws IOException {
+        //arrange
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("a,b\r\nc,d\ne,"), 100);
+        //act
+        //assert
+        assertEquals(List.of("a", "b"), reader.next());
+        assertEquals(List.of("c", "d"), reader.next());
+        assertEquals(List.of("e", ""), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void shouldUnquoteSeparatorsQuotesAndLineBreaks() throws IOException {
+        //arrange
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("\"a,b\",\"say \"\"hi\"\"\",\"two\r\nlines\"\r\n"), 100);
+        //act
+        List<String> fields = reader.next();
+        //assert
+        assertEquals(List.of("a,b", "say \"hi\"", "two\r\nlines"), fields);
+        assertNull(reader.next());
+    }
+
+    @Test
+    void shouldRejectUnterminatedQuote() throws IOException {
+        //arrange
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("ok\n\"never closed"), 100);
+        //act
+        reader.next();
+        //assert
+        assertThrows(IllegalArgumentException.class, reader::next);
+    }
+
+    @Test
+    void shouldRejectTextAfterClosingQuote() {
+        //arrange
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("\"a\"b,c\n"), 100);
+        //act
+        //assert
+        assertThrows(IllegalArgumentException.class, reader::next);
+    }
+
+    @Test
+    void shouldRejectRecordsOverTheLengthLimit() {
+        //arrange
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("x".repeat(50) + "\n"), 10);
+        //act
+        //assert
+        assertThrows(IllegalArgumentException.class, reader::next);
+    }
+}
@@ -0,0 +1,52 @@
+package com.project.taskmanager.utils;
+
+import com.project.taskmanager.enums.Status;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorUtilsTest {
+
+    private static final Map<String, Class<?>> KEY_TYPES = Map.of("id", Integer.class, "status", Status.class);
+
+    @Test
+    void shouldDecodeWhatWasEncoded() {
+        //arrange
+        String cursor = CursorUtils.encode("status,desc", Map.of("status", Status.COMPLETED, "id", 42));
+        //act
+        CursorUtils.Cursor decoded = CursorUtils.decode(cursor, KEY_TYPES);
+        //assert
+        assertEquals("status,desc", decoded.getSort());
+        assertEquals(Status.COMPLETED, decoded.getKeys().get("status"));
+        assertEquals(42, decoded.getKeys().get("id"));
+    }
+
+    @Test
+    void shouldRejectCursorThatIsNotBase64() {
+        //act
+        //assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> CursorUtils.decode("not a cursor!", KEY_TYPES));
+        assertEquals("Invalid cursor.", exception.getMessage());
+    }
+
+    @Test
+    void shouldRejectCursorWithUnknownKey() {
+        //arrange
+        String cursor = CursorUtils.encode("title,asc", Map.of("title", "a", "id", 1));
+        //act
+        //assert
+        assertThrows(IllegalArgumentException.class, () -> CursorUtils.decode(cursor, KEY_TYPES));
+    }
+
+    @Test
+    void shouldRejectCursorWithValueOfWrongType() {
+        //arrange
+        String cursor = CursorUtils.encode("status,asc", Map.of("status", "NOT_A_STATUS", "id", 1));
+        //act
+        //assert
+        assertThrows(IllegalArgumentException.class, () -> CursorUtils.decode(cursor, KEY_TYPES));
+    }
+}
@@ -0,0 +1,36 @@
+package com.project.taskmanager.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ETagUtilsTest {
+
+    @Test
+    void shouldChangePageTagWhenAnyVersionOrTheTotalChanges() {
+        //arrange
+        String etag = ETagUtils.forPage(List.of(1, 2), List.of(0L, 3L), 2);
+        //act
+        //assert
+        assertEquals(etag, ETagUtils.forPage(List.of(1, 2), List.of(0L, 3L), 2));
+        assertNotEquals(etag, ETagUtils.forPage(List.of(1, 2), List.of(0L, 4L), 2));
+        assertNotEquals(etag, ETagUtils.forPage(List.of(2, 1), List.of(3L, 0L), 2));
+        assertNotEquals(etag, ETagUtils.forPage(List.of(1, 2), List.of(0L, 3L), 3));
+        assertTrue(etag.startsWith("\"page-") && etag.endsWith("\""));
+    }
+
+    @Test
+    void shouldMatchIfNoneMatchLists() {
+        //arrange
+        String etag = ETagUtils.forTask(7, 2L);
+        //act
+        //assert
+        assertTrue(ETagUtils.matches("\"task-7-2\"", etag));
+        assertTrue(ETagUtils.matches("\"task-7-1\", W/\"task-7-2\"", etag));
+        assertTrue(ETagUtils.matches("*", etag));
+        assertFalse(ETagUtils.matches("\"task-7-1\"", etag));
+        assertFalse(ETagUtils.matches(null, etag));
+    }
+}
@@ -0,0 +1,58 @@
+package com.project.taskmanager.utils;
+
+import com.project.taskmanager.enums.Role;
+import com.project.taskmanager.security.ApiUserDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecurityUtilsTest {
+
+    private void authenticate(ApiUserDetails userDetails) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldScopeUserToOwnId() {
+        //arrange
+        authenticate(new ApiUserDetails(5, "user", null, Role.USER));
+        //act
+        //assert
+        assertEquals(5, SecurityUtils.currentOwnerScope());
+    }
+
+    @Test
+    void shouldNotScopeAdmin() {
+        //arrange
+        authenticate(new ApiUserDetails(1, "admin", null, Role.ADMIN));
+        //act
+        //assert
+        assertNull(SecurityUtils.currentOwnerScope());
+    }
+
+    @Test
+    void shouldDenyWhenNotAuthenticated() {
+        //act
+        //assert
+        assertThrows(AccessDeniedException.class, SecurityUtils::currentOwnerScope);
+    }
+
+    @Test
+    void shouldReturnOwnIdForAdminAsCurrentUser() {
+        //arrange
+        authenticate(new ApiUserDetails(1, "admin", null, Role.ADMIN));
+        //act
+        //assert
+        assertEquals(1, SecurityUtils.currentUserId());
+    }
+}